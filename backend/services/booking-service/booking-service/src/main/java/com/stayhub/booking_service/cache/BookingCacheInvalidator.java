@@ -0,0 +1,45 @@
+package com.stayhub.booking_service.cache;
+
+import com.stayhub.booking_service.entity.Booking;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * JPA listener on {@link Booking} that evicts it from the {@link BookingReadCache} whenever a
+ * change is flushed, whichever code path made it. Eviction happens once the transaction has
+ * finished, so readers cannot cache the state from before the commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCacheInvalidator {
+
+    private final BookingReadCache bookingReadCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Booking booking) {
+        if (booking.getId() == null) {
+            return;
+        }
+        UUID bookingId = booking.getId();
+        String confirmationCode = booking.getConfirmationCode();
+
+        // Now, so loads that start before the commit are not stored, and again after completion
+        bookingReadCache.invalidate(bookingId, confirmationCode);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                bookingReadCache.invalidate(bookingId, confirmationCode);
+            }
+        });
+    }
+}
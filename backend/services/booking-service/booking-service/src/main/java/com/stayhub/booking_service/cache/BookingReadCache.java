@@ -0,0 +1,229 @@
+package com.stayhub.booking_service.cache;
+
+import com.stayhub.booking_service.dto.BookingResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of booking reads, by id and by confirmation code.
+ * <p>
+ * Entries live in an LRU map with a TTL. When the cache is full a new entry only replaces the
+ * LRU victim if the {@link FrequencySketch} has seen it more often (TinyLFU admission), so a
+ * burst of one-off lookups cannot flush bookings that are being polled.
+ * <p>
+ * {@link BookingCacheInvalidator} drops an entry after every committed change. A load that
+ * raced with an invalidation is not stored: loaders record the invalidation stamp of their key
+ * before reading the database and the put is skipped if it moved.
+ */
+@Component
+public class BookingReadCache {
+
+    private static final int STAMP_STRIPES = 256;
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, UUID> idsByCode = new HashMap<>();
+    private final FrequencySketch sketch;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @Autowired
+    public BookingReadCache(MeterRegistry meterRegistry,
+                            @Value("${booking.cache.max-size:10000}") int maximumSize,
+                            @Value("${booking.cache.ttl-seconds:30}") long ttlSeconds) {
+        this(maximumSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+
+        Tags tags = Tags.of("cache", "bookings");
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tags(tags).tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tags(tags).tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum).tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.admission.rejections", rejections, LongAdder::sum).tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, BookingReadCache::size).tags(tags)
+                .register(meterRegistry);
+    }
+
+    BookingReadCache(int maximumSize, long ttlNanos, LongSupplier nanoClock) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public BookingResponse get(UUID bookingId, Function<UUID, BookingResponse> loader) {
+        lock.lock();
+        try {
+            sketch.increment(hash(bookingId));
+            BookingResponse cached = lookup(bookingId);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        int stripe = stripe(bookingId.hashCode());
+        long stamp = stamps.get(stripe);
+        BookingResponse loaded = loader.apply(bookingId);
+        put(loaded, stripe, stamp, false);
+        return loaded;
+    }
+
+    public BookingResponse getByConfirmationCode(String confirmationCode, Function<String, BookingResponse> loader) {
+        lock.lock();
+        try {
+            UUID bookingId = idsByCode.get(confirmationCode);
+            if (bookingId != null) {
+                sketch.increment(hash(bookingId));
+                BookingResponse cached = lookup(bookingId);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        int stripe = stripe(confirmationCode.hashCode());
+        long stamp = stamps.get(stripe);
+        BookingResponse loaded = loader.apply(confirmationCode);
+        put(loaded, stripe, stamp, true);
+        return loaded;
+    }
+
+    /**
+     * Drop a booking under both of its keys and fail any load of it still in flight
+     */
+    public void invalidate(UUID bookingId, String confirmationCode) {
+        stamps.incrementAndGet(stripe(bookingId.hashCode()));
+        if (confirmationCode != null) {
+            stamps.incrementAndGet(stripe(confirmationCode.hashCode()));
+        }
+        lock.lock();
+        try {
+            remove(bookingId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private BookingResponse lookup(UUID bookingId) {
+        Entry entry = entries.get(bookingId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.loadedAt > ttlNanos) {
+            remove(bookingId);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    private void put(BookingResponse response, int stripe, long stamp, boolean countAccess) {
+        if (response == null || response.getId() == null) {
+            return;
+        }
+        UUID bookingId = response.getId();
+        lock.lock();
+        try {
+            if (stamps.get(stripe) != stamp) {
+                return;
+            }
+            long hash = hash(bookingId);
+            if (countAccess) {
+                sketch.increment(hash);
+            }
+            if (!entries.containsKey(bookingId) && entries.size() >= maximumSize) {
+                Iterator<Map.Entry<UUID, Entry>> eldest = entries.entrySet().iterator();
+                UUID victim = eldest.next().getKey();
+                if (sketch.frequency(hash) <= sketch.frequency(hash(victim))) {
+                    rejections.increment();
+                    return;
+                }
+                remove(victim);
+                evictions.increment();
+            }
+            Entry previous = entries.put(bookingId, new Entry(response, nanoClock.getAsLong()));
+            if (previous != null && previous.response.getConfirmationCode() != null) {
+                idsByCode.remove(previous.response.getConfirmationCode());
+            }
+            if (response.getConfirmationCode() != null) {
+                idsByCode.put(response.getConfirmationCode(), bookingId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(UUID bookingId) {
+        Entry removed = entries.remove(bookingId);
+        if (removed != null && removed.response.getConfirmationCode() != null) {
+            idsByCode.remove(removed.response.getConfirmationCode());
+        }
+    }
+
+    private static int stripe(int hashCode) {
+        return (hashCode ^ (hashCode >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private static long hash(UUID bookingId) {
+        long h = (bookingId.getMostSignificantBits() ^ bookingId.getLeastSignificantBits()) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private record Entry(BookingResponse response, long loadedAt) {
+    }
+}
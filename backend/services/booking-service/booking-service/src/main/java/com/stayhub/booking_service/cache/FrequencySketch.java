@@ -0,0 +1,67 @@
+package com.stayhub.booking_service.cache;
+
+/**
+ * Count-min sketch of 4-bit counters used as the TinyLFU admission filter.
+ * Each key updates one counter in each of four rows; its estimate is the smallest of the four.
+ * After {@code 10 * maximumSize} increments every counter is halved, so the sketch tracks recent
+ * popularity rather than all-time counts. Not thread-safe, callers hold the cache lock.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_COUNT = 15;
+
+    // 16 counters per long
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    int frequency(long hash) {
+        int start = (int) (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < 4; row++) {
+            int shift = (start + row) << 2;
+            frequency = Math.min(frequency, (int) ((table[index(hash, row)] >>> shift) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(long hash) {
+        int start = (int) (hash & 3) << 2;
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            int index = index(hash, row);
+            int shift = (start + row) << 2;
+            if (((table[index] >>> shift) & 0xF) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int index(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,81 @@
+package com.stayhub.booking_service.config;
+
+import com.stayhub.booking_service.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A fixed worker pool with a bounded queue for one class of endpoints.
+ * <p>
+ * Work submitted here runs off the Tomcat threads, and because each worker holds at most one
+ * database connection at a time the pool size is also the share of the connection pool this
+ * class of work can take. When workers and queue are full the request is rejected straight away
+ * with {@link BulkheadFullException} rather than waiting for threads or connections.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final ThreadPoolExecutor workers;
+    private final BlockingQueue<Runnable> queue;
+    private final Counter rejections;
+    private final Timer queueWait;
+
+    public Bulkhead(String name, int workerCount, int queueCapacity, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, name + "-bulkhead-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Tags tags = Tags.of("bulkhead", name);
+        Gauge.builder("bulkhead.queue.depth", queue, BlockingQueue::size).tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.active", workers, ThreadPoolExecutor::getActiveCount).tags(tags)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("bulkhead.rejections").tags(tags)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("bulkhead.queue.wait").tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code task} on a worker of this bulkhead
+     *
+     * @throws BulkheadFullException if every worker is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, workers);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Bulkhead {} is full ({} queued), rejecting request", name, queue.size());
+            throw new BulkheadFullException("Too many " + name + " requests, please retry shortly");
+        }
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,34 @@
+package com.stayhub.booking_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulkheads for endpoint classes that must not compete with booking writes for Tomcat threads
+ * and database connections
+ */
+@Configuration
+public class BulkheadConfig {
+
+    /**
+     * Owner dashboards: /api/analytics/** and /monitoring/stats
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead analyticsBulkhead(MeterRegistry meterRegistry,
+                                      @Value("${booking.bulkhead.analytics.workers:2}") int workers,
+                                      @Value("${booking.bulkhead.analytics.queue-capacity:20}") int queueCapacity) {
+        return new Bulkhead("analytics", workers, queueCapacity, meterRegistry);
+    }
+
+    /**
+     * Pricing backtests: each run keeps a worker for minutes, so only a few are accepted at once
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead backtestBulkhead(MeterRegistry meterRegistry,
+                                     @Value("${booking.bulkhead.backtest.workers:1}") int workers,
+                                     @Value("${booking.bulkhead.backtest.queue-capacity:2}") int queueCapacity) {
+        return new Bulkhead("backtest", workers, queueCapacity, meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.stayhub.booking_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime.
+ * <p>
+ * Spring Boot itself moves Tomcat, the {@code @Async} executor and the scheduler onto virtual
+ * threads. The connection pool stays at its configured size, so the DataSource is wrapped in a
+ * {@link ConnectionGateDataSource} that queues borrowers beyond that size.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        int permits = environment.getProperty("booking.db.gate.permits", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = environment.getProperty("booking.db.gate.timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionGateDataSource)) {
+                    log.info("Gating DataSource {} to {} concurrent connections for virtual threads", beanName, permits);
+                    return new ConnectionGateDataSource(dataSource, permits, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionGateMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionGateDataSource gate) {
+                Gauge.builder("booking.db.gate.active", gate, ConnectionGateDataSource::getActive)
+                        .register(registry);
+                Gauge.builder("booking.db.gate.waiting", gate, ConnectionGateDataSource::getWaiting)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -1,6 +1,8 @@
 package com.stayhub.booking_service.controller;
 
 import com.stayhub.booking_service.dto.AvailabilityResponse;
+import com.stayhub.booking_service.dto.BulkAvailabilityRequest;
+import com.stayhub.booking_service.dto.BulkAvailabilityResponse;
 import com.stayhub.booking_service.service.AvailabilityService;
 import com.stayhub.booking_service.service.BookingService;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +11,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -49,4 +52,16 @@ public class AvailabilityController {
         
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * Availability and nightly price for many properties at once (search result pages)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkAvailabilityResponse> checkAvailabilityBulk(
+            @Valid @RequestBody BulkAvailabilityRequest request) {
+        
+        BulkAvailabilityResponse response = bookingService.checkAvailabilityBulk(request);
+        
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
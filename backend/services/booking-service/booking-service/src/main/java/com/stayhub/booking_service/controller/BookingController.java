@@ -1,6 +1,9 @@
 package com.stayhub.booking_service.controller;
 
 import com.stayhub.booking_service.dto.*;
+import com.stayhub.booking_service.service.AsyncBookingIntakeService;
+import com.stayhub.booking_service.service.BatchQuoteService;
+import com.stayhub.booking_service.service.BookingIntakeService;
 import com.stayhub.booking_service.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +15,9 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -23,14 +28,70 @@ import java.util.UUID;
 public class BookingController {
     
     private final BookingService bookingService;
+    private final BookingIntakeService bookingIntakeService;
+    private final AsyncBookingIntakeService asyncBookingIntakeService;
+    private final BatchQuoteService batchQuoteService;
     
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request) {
         log.info("Received booking request for property: {}", request.getPropertyId());
-        BookingResponse response = bookingService.createBooking(request);
+        BookingResponse response = bookingIntakeService.createBooking(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Accept a booking for asynchronous processing; poll the returned token for the outcome
+     */
+    @PostMapping("/async")
+    public ResponseEntity<BookingIntakeResponse> submitBooking(@Valid @RequestBody BookingRequest request) {
+        log.info("Received async booking request for property: {}", request.getPropertyId());
+        BookingIntakeResponse response = asyncBookingIntakeService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/bookings/requests/" + response.getToken()))
+                .body(response);
+    }
+    
+    /**
+     * Status of an async booking request; with waitMs > 0 the call returns as soon as it finishes
+     */
+    @GetMapping("/requests/{token}")
+    public DeferredResult<BookingIntakeResponse> getBookingRequestStatus(
+            @PathVariable UUID token,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        return asyncBookingIntakeService.poll(token, waitMs);
+    }
+    
+    /**
+     * Book several properties and room types in one all-or-nothing transaction
+     */
+    @PostMapping("/cart")
+    public ResponseEntity<CartBookingResponse> createCartBooking(@Valid @RequestBody CartBookingRequest request) {
+        log.info("Received cart booking request with {} lines", request.getLines().size());
+        CartBookingResponse response = bookingService.createCartBooking(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Hold rooms as PENDING while the guest pays; released automatically unless confirmed
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<BookingResponse> createHold(@Valid @RequestBody BookingRequest request) {
+        log.info("Received hold request for property: {}", request.getPropertyId());
+        BookingResponse response = bookingIntakeService.createHold(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Confirm a held booking
+     */
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String paymentId) {
+        BookingResponse response = bookingService.confirmHold(id, paymentId);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get price preview before booking
      */
@@ -41,6 +102,16 @@ public class BookingController {
         return ResponseEntity.ok(preview);
     }
     
+    /**
+     * Price many stays at once (search result pages); results come back in request order, with
+     * an error entry for each item that could not be quoted
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<BatchQuoteResponse> getBatchQuotes(@Valid @RequestBody BatchQuoteRequest request) {
+        log.info("Batch quote request for {} items", request.getItems().size());
+        return ResponseEntity.ok(batchQuoteService.quote(request));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponse> getBooking(@PathVariable UUID id) {
         BookingResponse response = bookingService.getBooking(id);
@@ -61,6 +132,19 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
     
+    /**
+     * Cursor-paged booking history, selected by passing {@code limit}.
+     * Follow {@code nextCursor} for later pages; offset paging above stays for existing clients.
+     */
+    @GetMapping(value = "/user/{userId}", params = "limit")
+    public ResponseEntity<BookingHistoryResponse> getUserBookingHistory(
+            @PathVariable UUID userId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        BookingHistoryResponse history = bookingService.getUserBookingHistory(userId, cursor, limit);
+        return ResponseEntity.ok(history);
+    }
+    
     /**
      * Cancel a booking
      */
@@ -115,25 +199,8 @@ public class BookingController {
     public ResponseEntity<BookingResponse> modifyBooking(
             @PathVariable UUID id,
             @Valid @RequestBody BookingModificationRequest request) {
-        BookingResponse response = null;
-        
-        // Apply modifications in order
-        if (request.getNewCheckOut() != null) {
-            response = bookingService.extendBooking(id, request.getNewCheckOut());
-        }
-        
-        if (request.getNewRoomCount() != null) {
-            response = bookingService.modifyRoomCount(id, request.getNewRoomCount());
-        }
-        
-        if (request.getNewGuestCount() != null) {
-            response = bookingService.modifyGuestCount(id, request.getNewGuestCount());
-        }
-        
-        if (response == null) {
-            response = bookingService.getBooking(id);
-        }
-        
+        log.info("Modifying booking {}", id);
+        BookingResponse response = bookingService.modifyBooking(id, request);
         return ResponseEntity.ok(response);
     }
     
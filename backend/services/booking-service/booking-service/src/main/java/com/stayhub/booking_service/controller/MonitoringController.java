@@ -1,5 +1,6 @@
 package com.stayhub.booking_service.controller;
 
+import com.stayhub.booking_service.config.Bulkhead;
 import com.stayhub.booking_service.entity.BookingStatus;
 import com.stayhub.booking_service.repository.BookingRepository;
 import com.stayhub.booking_service.repository.AvailabilityRepository;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,9 +27,17 @@ public class MonitoringController {
     private final BookingRepository bookingRepository;
     private final AvailabilityRepository availabilityRepository;
     private final RoomTypeRepository roomTypeRepository;
+    private final Bulkhead analyticsBulkhead;
     
+    /**
+     * Runs on the analytics bulkhead: it scans whole tables
+     */
     @GetMapping("/stats")
-    public Map<String, Object> getServiceStats() {
+    public CompletableFuture<Map<String, Object>> getServiceStats() {
+        return analyticsBulkhead.submit(this::collectServiceStats);
+    }
+    
+    private Map<String, Object> collectServiceStats() {
         Map<String, Object> stats = new HashMap<>();
         
         // Booking statistics
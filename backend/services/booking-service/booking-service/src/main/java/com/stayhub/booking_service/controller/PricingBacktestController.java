@@ -0,0 +1,48 @@
+package com.stayhub.booking_service.controller;
+
+import com.stayhub.booking_service.dto.BacktestJobResponse;
+import com.stayhub.booking_service.dto.BacktestRequest;
+import com.stayhub.booking_service.service.PricingBacktestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Replays of past bookings under candidate pricing strategies
+ */
+@RestController
+@RequestMapping("/api/v1/pricing/backtests")
+@RequiredArgsConstructor
+@Slf4j
+public class PricingBacktestController {
+    
+    private final PricingBacktestService pricingBacktestService;
+    
+    /**
+     * Start a backtest: revenue and occupancy per property for each strategy, with deltas against
+     * current pricing. A window of years over thousands of properties takes minutes, so the run is
+     * acknowledged with 202 and polled at the returned location; 503 while too many are running.
+     */
+    @PostMapping
+    public ResponseEntity<BacktestJobResponse> startBacktest(@Valid @RequestBody BacktestRequest request) {
+        log.info("Backtest of {} strategies over {} to {}",
+                request.getStrategies().size(), request.getFrom(), request.getTo());
+        BacktestJobResponse response = pricingBacktestService.start(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/pricing/backtests/" + response.getId()))
+                .body(response);
+    }
+    
+    /**
+     * Status of a backtest, with its result once completed
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BacktestJobResponse> getBacktest(@PathVariable UUID id) {
+        return ResponseEntity.ok(pricingBacktestService.getJob(id));
+    }
+}
@@ -0,0 +1,44 @@
+package com.stayhub.booking_service.controller;
+
+import com.stayhub.booking_service.dto.PricingRuleRequest;
+import com.stayhub.booking_service.entity.PricingRule;
+import com.stayhub.booking_service.service.PricingRuleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Owner seasonal pricing rules of a property
+ */
+@RestController
+@RequestMapping("/api/v1/properties/{propertyId}/pricing-rules")
+@RequiredArgsConstructor
+@Slf4j
+public class PricingRuleController {
+    
+    private final PricingRuleService pricingRuleService;
+    
+    @GetMapping
+    public List<PricingRule> getRules(@PathVariable UUID propertyId) {
+        return pricingRuleService.getRules(propertyId);
+    }
+    
+    @PostMapping
+    public ResponseEntity<PricingRule> createRule(@PathVariable UUID propertyId,
+                                                  @Valid @RequestBody PricingRuleRequest request) {
+        log.info("Creating pricing rule '{}' for property: {}", request.getName(), propertyId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(pricingRuleService.createRule(propertyId, request));
+    }
+    
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(@PathVariable UUID propertyId, @PathVariable UUID ruleId) {
+        pricingRuleService.deleteRule(propertyId, ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.stayhub.booking_service.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stayhub.booking_service.dto.NightlyRateGrid;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.ResourceNotFoundException;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import com.stayhub.booking_service.service.DynamicPricingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Price grid of a room type: one GET for a year of nights instead of one preview per night
+ */
+@RestController
+@RequestMapping("/api/v1/room-types/{roomTypeId}/rates")
+@Slf4j
+public class RateCalendarController {
+
+    private final RoomTypeRepository roomTypeRepository;
+    private final DynamicPricingService dynamicPricingService;
+    private final ObjectMapper objectMapper;
+    private final int maxNights;
+    private final CacheControl cacheControl;
+
+    public RateCalendarController(RoomTypeRepository roomTypeRepository,
+                                  DynamicPricingService dynamicPricingService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${booking.pricing.calendar.max-nights:366}") int maxNights,
+                                  @Value("${booking.pricing.calendar.max-age-seconds:60}") long maxAgeSeconds) {
+        this.roomTypeRepository = roomTypeRepository;
+        this.dynamicPricingService = dynamicPricingService;
+        this.objectMapper = objectMapper;
+        this.maxNights = maxNights;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Nightly rates, one-night prices and rooms left for every night of [from, to), by default the
+     * next 365 nights. Answers 304 when If-None-Match carries the current ETag.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getNightlyRates(
+            @PathVariable UUID roomTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(365);
+        long nights = ChronoUnit.DAYS.between(start, end);
+        if (nights < 1 || nights > maxNights) {
+            throw new ValidationException(
+                    String.format("Date range must cover between 1 and %d nights", maxNights));
+        }
+
+        RoomType roomType = roomTypeRepository.findById(roomTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
+        NightlyRateGrid grid = dynamicPricingService.getNightlyRateGrid(roomType, start, end);
+
+        if (request.checkNotModified(grid.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(grid.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(grid.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                        writeGrid(json, grid, end);
+                    }
+                });
+    }
+
+    /**
+     * Column arrays, one entry per night: far smaller than an object per night
+     */
+    private static void writeGrid(JsonGenerator json, NightlyRateGrid grid, LocalDate to) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("roomTypeId", grid.getRoomTypeId().toString());
+        json.writeStringField("propertyId", grid.getPropertyId().toString());
+        json.writeStringField("from", grid.getFrom().toString());
+        json.writeStringField("to", to.toString());
+        json.writeStringField("currency", grid.getCurrency());
+        writeAmounts(json, "rates", grid.getRates());
+        writeAmounts(json, "prices", grid.getPrices());
+        json.writeArrayFieldStart("available");
+        for (int rooms : grid.getAvailable()) {
+            if (rooms < 0) {
+                json.writeNull();
+            } else {
+                json.writeNumber(rooms);
+            }
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void writeAmounts(JsonGenerator json, String field, long[] cents) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (long amount : cents) {
+            json.writeNumber(BigDecimal.valueOf(amount, 2));
+        }
+        json.writeEndArray();
+    }
+}
@@ -1,6 +1,7 @@
 package com.stayhub.booking_service.controller;
 
 import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.pricing.PricingRules;
 import com.stayhub.booking_service.repository.RoomTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,11 +20,14 @@ import java.util.UUID;
 public class RoomTypeController {
     
     private final RoomTypeRepository roomTypeRepository;
+    private final PricingRules pricingRules;
     
     @PostMapping
     public ResponseEntity<RoomType> createRoomType(@Valid @RequestBody RoomType roomType) {
         log.info("Creating room type: {} for property: {}", roomType.getName(), roomType.getPropertyId());
         RoomType saved = roomTypeRepository.save(roomType);
+        // Property-wide pricing rules cover the new room type too
+        pricingRules.reloadProperty(saved.getPropertyId());
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
     
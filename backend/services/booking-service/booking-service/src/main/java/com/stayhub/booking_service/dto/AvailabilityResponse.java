@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -21,4 +22,5 @@ public class AvailabilityResponse {
     private Integer availableRooms;
     private Integer totalRooms;
     private BigDecimal pricePerNight;
+    private List<LocalDate> blockingDates;
 }
\ No newline at end of file
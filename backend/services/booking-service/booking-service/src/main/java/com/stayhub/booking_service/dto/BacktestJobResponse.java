@@ -0,0 +1,26 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestJobResponse {
+    private UUID id;
+    private Status status;
+    // Present once the backtest has completed
+    private BacktestResponse result;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
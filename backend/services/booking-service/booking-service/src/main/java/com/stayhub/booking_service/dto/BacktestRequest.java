@@ -0,0 +1,84 @@
+package com.stayhub.booking_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestRequest {
+    
+    // Stays checking in within [from, to) are replayed
+    @NotNull(message = "From date is required")
+    private LocalDate from;
+    
+    @NotNull(message = "To date is required")
+    private LocalDate to;
+    
+    // Optional; every property with room types when empty
+    private List<UUID> propertyIds;
+    
+    // Each is compared with the current pricing, which is always evaluated
+    @NotEmpty(message = "At least one strategy is required")
+    @Size(max = 20, message = "Cannot backtest more than 20 strategies at once")
+    @Valid
+    private List<Strategy> strategies;
+    
+    // How strongly guests turn away from a higher price: booking weight (price / paid)^-elasticity
+    @NotNull
+    @DecimalMin(value = "0.0", message = "Elasticity cannot be negative")
+    @DecimalMax(value = "10.0", message = "Elasticity cannot exceed 10")
+    @Builder.Default
+    private BigDecimal elasticity = BigDecimal.ONE;
+    
+    // Largest booking weight for a cheaper price; 1 means discounts never win extra guests
+    @NotNull
+    @DecimalMin(value = "1.0", message = "Max uplift must be at least 1")
+    @DecimalMax(value = "5.0", message = "Max uplift cannot exceed 5")
+    @Builder.Default
+    private BigDecimal maxUplift = BigDecimal.ONE;
+    
+    /**
+     * Multipliers such as 1.25 with at most two decimals; unset fields keep the current value
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Strategy {
+        @NotBlank(message = "Strategy name is required")
+        @Size(max = 100, message = "Strategy name cannot exceed 100 characters")
+        private String name;
+        
+        // January to December
+        @Size(min = 12, max = 12, message = "Seasonal multipliers need one entry per month")
+        private List<BigDecimal> seasonalByMonth;
+        private BigDecimal weekend;
+        private BigDecimal holiday;
+        private BigDecimal highDemand;
+        @Min(0) @Max(100)
+        private Integer highOccupancyPercent;
+        private BigDecimal lowDemand;
+        @Min(0) @Max(100)
+        private Integer lowOccupancyPercent;
+        private BigDecimal lastMinuteDiscount;
+        @Min(0)
+        private Integer lastMinuteDays;
+        private BigDecimal earlyBirdDiscount;
+        @Min(0)
+        private Integer earlyBirdDays;
+        private BigDecimal monthlyStayDiscount;
+        private BigDecimal weeklyStayDiscount;
+        private BigDecimal shortStayDiscount;
+    }
+}
@@ -0,0 +1,58 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResponse {
+    private LocalDate from;
+    private LocalDate to;
+    // "current" first, then the requested strategies in request order
+    private List<String> strategies;
+    private int properties;
+    private long stays;
+    private long elapsedMs;
+    // Over all properties
+    private List<StrategyResult> totals;
+    private List<PropertyResult> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PropertyResult {
+        private UUID propertyId;
+        // Stays that were not cancelled, with what their guests paid
+        private int stays;
+        private BigDecimal bookedRevenue;
+        private BigDecimal bookedOccupancy;
+        private List<StrategyResult> strategies;
+    }
+    
+    /**
+     * Replayed revenue and occupancy (percent of room nights), with deltas against "current"
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StrategyResult {
+        private String name;
+        private BigDecimal revenue;
+        private BigDecimal occupancy;
+        private BigDecimal revenueDelta;
+        private BigDecimal revenueDeltaPercent;
+        // Percentage points
+        private BigDecimal occupancyDelta;
+    }
+}
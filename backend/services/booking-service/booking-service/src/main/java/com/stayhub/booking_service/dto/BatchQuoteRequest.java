@@ -0,0 +1,36 @@
+package com.stayhub.booking_service.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuoteRequest {
+    
+    // Items are checked one by one so a bad item fails alone, not the whole batch
+    @NotEmpty(message = "At least one quote item is required")
+    @Size(max = 200, message = "Cannot quote more than 200 items at once")
+    private List<Item> items;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private UUID propertyId;
+        private UUID roomTypeId;
+        private LocalDate checkIn;
+        private LocalDate checkOut;
+        @Builder.Default
+        private Integer numberOfRooms = 1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuoteResponse {
+    // One per request item, in request order
+    private List<Quote> quotes;
+    private int succeeded;
+    private int failed;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quote {
+        private int index;
+        private UUID propertyId;
+        private UUID roomTypeId;
+        private LocalDate checkIn;
+        private LocalDate checkOut;
+        private Integer numberOfRooms;
+        // Set when the item succeeded
+        private Integer availableRooms;
+        private Boolean available;
+        private BigDecimal pricePerNight;
+        private BigDecimal totalPrice;
+        private String currency;
+        // Set when the item failed: NOT_FOUND or VALIDATION
+        private String errorCode;
+        private String errorMessage;
+    }
+}
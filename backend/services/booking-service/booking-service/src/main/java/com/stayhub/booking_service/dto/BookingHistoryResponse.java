@@ -0,0 +1,20 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryResponse {
+    // Newest first
+    private List<BookingResponse> bookings;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
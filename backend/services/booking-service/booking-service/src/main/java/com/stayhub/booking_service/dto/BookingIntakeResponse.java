@@ -0,0 +1,24 @@
+package com.stayhub.booking_service.dto;
+
+import com.stayhub.booking_service.entity.IntakeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingIntakeResponse {
+    private UUID token;
+    private IntakeStatus status;
+    private UUID bookingId;
+    // Present once the request has completed
+    private BookingResponse booking;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+}
@@ -14,6 +14,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class BookingModificationRequest {
     
+    @FutureOrPresent(message = "New check-in date cannot be in the past")
+    private LocalDate newCheckIn;
+    
     @Future(message = "New checkout date must be in the future")
     private LocalDate newCheckOut;
     
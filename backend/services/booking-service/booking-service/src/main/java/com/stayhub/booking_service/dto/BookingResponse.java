@@ -28,5 +28,6 @@ public class BookingResponse {
     private BookingStatus status;
     private String confirmationCode;
     private LocalDateTime createdAt;
+    private LocalDateTime holdExpiresAt;
     private String errorMessage;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.stayhub.booking_service.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAvailabilityRequest {
+    
+    @NotEmpty(message = "At least one property ID is required")
+    @Size(max = 100, message = "Cannot check more than 100 properties at once")
+    private List<UUID> propertyIds;
+    
+    // Optional filter; all room types of the properties are returned when empty
+    private List<UUID> roomTypeIds;
+    
+    @NotNull(message = "Check-in date is required")
+    private LocalDate checkIn;
+    
+    @NotNull(message = "Check-out date is required")
+    private LocalDate checkOut;
+    
+    @Min(value = 1, message = "At least one room is required")
+    @Max(value = 10, message = "Cannot book more than 10 rooms")
+    @Builder.Default
+    private Integer numberOfRooms = 1;
+}
@@ -0,0 +1,37 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAvailabilityResponse {
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Integer numberOfRooms;
+    private List<RoomTypeAvailability> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomTypeAvailability {
+        private UUID propertyId;
+        private UUID roomTypeId;
+        private String roomTypeName;
+        private Integer availableRooms;
+        private Integer totalRooms;
+        private boolean available;
+        private BigDecimal pricePerNight;
+        private BigDecimal totalPrice;
+    }
+}
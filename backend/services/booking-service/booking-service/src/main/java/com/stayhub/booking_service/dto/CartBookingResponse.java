@@ -0,0 +1,20 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartBookingResponse {
+    // One booking per cart line, in request order
+    private List<BookingResponse> bookings;
+    private BigDecimal totalAmount;
+    private String currency;
+}
@@ -0,0 +1,28 @@
+package com.stayhub.booking_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Nightly rates, one-night prices and rooms left of a room type, one entry per night from
+ * {@code from}; amounts in cents, availability -1 where unknown
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NightlyRateGrid {
+    private UUID roomTypeId;
+    private UUID propertyId;
+    private LocalDate from;
+    private String currency;
+    private long[] rates;
+    private long[] prices;
+    private int[] available;
+    private String etag;
+}
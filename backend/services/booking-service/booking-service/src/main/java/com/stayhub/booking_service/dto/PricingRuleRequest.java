@@ -0,0 +1,48 @@
+package com.stayhub.booking_service.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingRuleRequest {
+    
+    @NotBlank(message = "Rule name is required")
+    @Size(max = 100, message = "Rule name cannot exceed 100 characters")
+    private String name;
+    
+    // Optional; the rule applies to every room type of the property when empty
+    private UUID roomTypeId;
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    // Inclusive
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+    
+    // Optional; every day of the week when empty
+    private Set<DayOfWeek> daysOfWeek;
+    
+    @NotNull(message = "Multiplier is required")
+    @DecimalMin(value = "0.10", message = "Multiplier must be at least 0.10")
+    @DecimalMax(value = "5.00", message = "Multiplier cannot exceed 5.00")
+    @Digits(integer = 1, fraction = 2, message = "Multiplier can have at most two decimals")
+    private BigDecimal multiplier;
+    
+    @Min(value = 0, message = "Priority cannot be negative")
+    @Max(value = 100, message = "Priority cannot exceed 100")
+    @Builder.Default
+    private Integer priority = 0;
+}
@@ -23,8 +23,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Availability {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.stayhub.booking_service.id.TimeOrderedUuidGenerator")
     private UUID id;
     
     @Column(name = "property_id", nullable = false)
@@ -1,5 +1,7 @@
 package com.stayhub.booking_service.entity;
 
+import com.stayhub.booking_service.cache.BookingCacheInvalidator;
+import com.stayhub.booking_service.id.Ids;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,12 +15,15 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(BookingCacheInvalidator.class)
 @Table(name = "bookings", indexes = {
     @Index(name = "idx_user_id", columnList = "user_id"),
+    @Index(name = "idx_user_created_id", columnList = "user_id, created_at, id"),
     @Index(name = "idx_property_id", columnList = "property_id"),
     @Index(name = "idx_check_in_date", columnList = "check_in_date"),
     @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_idempotency_key", columnList = "idempotency_key", unique = true)
+    @Index(name = "idx_idempotency_key", columnList = "idempotency_key", unique = true),
+    @Index(name = "idx_status_hold_expires_at", columnList = "status, hold_expires_at")
 })
 @Data
 @Builder
@@ -26,8 +31,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.stayhub.booking_service.id.TimeOrderedUuidGenerator")
     private UUID id;
     
     @Column(name = "property_id", nullable = false)
@@ -88,6 +93,10 @@ public class Booking {
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
     
+    // Set while the booking is a PENDING checkout hold
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+    
     @Version
     private Long version;
     
@@ -96,7 +105,7 @@ public class Booking {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         if (confirmationCode == null) {
-            confirmationCode = generateConfirmationCode();
+            confirmationCode = Ids.nextConfirmationCode();
         }
     }
     
@@ -104,8 +113,4 @@ public class Booking {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-    
-    private String generateConfirmationCode() {
-        return "BK" + System.currentTimeMillis() + (int)(Math.random() * 1000);
-    }
 }
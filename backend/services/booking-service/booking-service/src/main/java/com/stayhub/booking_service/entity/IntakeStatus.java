@@ -0,0 +1,12 @@
+package com.stayhub.booking_service.entity;
+
+public enum IntakeStatus {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED;
+    
+    public boolean isFinal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,67 @@
+package com.stayhub.booking_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event written in the same transaction as the change it describes, sent to the
+ * broker afterwards by the outbox relay. An event the broker keeps rejecting is parked
+ * with {@code deadAt} set after {@code booking.outbox.max-attempts} sends and left for an operator.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_published_id", columnList = "published_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    // Sequence ids with a pooled allocator keep multi-event inserts batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "event_key", nullable = false)
+    private String eventKey;
+    
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+    
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    // Failed sends so far
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    private Integer attempts;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    // Set when the relay gives up; parked rows are no longer sent
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (attempts == null) {
+            attempts = 0;
+        }
+    }
+}
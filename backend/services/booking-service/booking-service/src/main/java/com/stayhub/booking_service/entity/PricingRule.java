@@ -0,0 +1,77 @@
+package com.stayhub.booking_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An owner-defined season: the nightly rate of a property's room types, or of one room type,
+ * is multiplied by {@code multiplier} instead of the default seasonal factor on the weekdays of
+ * {@code weekdayMask} from {@code startDate} to {@code endDate} inclusive
+ */
+@Entity
+@Table(name = "pricing_rules", indexes = {
+    @Index(name = "idx_pricing_rules_property", columnList = "property_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingRule {
+    @Id
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.stayhub.booking_service.id.TimeOrderedUuidGenerator")
+    private UUID id;
+    
+    @Column(name = "property_id", nullable = false)
+    private UUID propertyId;
+    
+    // Null for every room type of the property
+    @Column(name = "room_type_id")
+    private UUID roomTypeId;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    // Monday in bit 0 through Sunday in bit 6
+    @Column(name = "weekday_mask", nullable = false)
+    private Integer weekdayMask;
+    
+    @Column(precision = 4, scale = 2, nullable = false)
+    private BigDecimal multiplier;
+    
+    // Higher wins where rules overlap
+    @Column(nullable = false)
+    private Integer priority;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,60 +1,90 @@
 package com.stayhub.booking_service.event;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.entity.OutboxEvent;
+import com.stayhub.booking_service.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records booking events in the outbox as part of the caller's transaction.
+ * {@link OutboxRelay} sends them once committed, so broker latency never extends the
+ * booking transaction and rolled back bookings never produce events.
+ */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class BookingEventPublisher {
     
-    @Autowired(required = false)
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    static final String BOOKING_EVENTS_TOPIC = "booking-events";
+    static final String BOOKING_CREATED = "BookingCreated";
+    static final String BOOKING_CANCELLED = "BookingCancelled";
     
-    private static final String BOOKING_EVENTS_TOPIC = "booking-events";
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
     
     public void publishBookingCreated(Booking booking) {
-        if (kafkaTemplate == null) {
-            log.debug("Kafka is disabled, skipping event publishing for booking: {}", booking.getId());
-            return;
+        outboxEventRepository.save(toOutboxEvent(BOOKING_CREATED, booking, toCreatedEvent(booking)));
+        log.debug("Recorded booking created event for booking: {}", booking.getId());
+    }
+    
+    /**
+     * Record the created events of a multi-booking transaction with one batched insert
+     */
+    public void publishBookingsCreated(List<Booking> bookings) {
+        List<OutboxEvent> events = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            events.add(toOutboxEvent(BOOKING_CREATED, booking, toCreatedEvent(booking)));
         }
-        
-        BookingCreatedEvent event = BookingCreatedEvent.builder()
+        outboxEventRepository.saveAll(events);
+        log.debug("Recorded booking created events for {} bookings", bookings.size());
+    }
+    
+    public void publishBookingCancelled(Booking booking) {
+        BookingCancelledEvent event = BookingCancelledEvent.builder()
                 .bookingId(booking.getId())
                 .propertyId(booking.getPropertyId())
-                .userId(booking.getUserId())
                 .roomTypeId(booking.getRoomTypeId())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
                 .numberOfRooms(booking.getNumberOfRooms())
-                .status(booking.getStatus().toString())
+                .cancellationReason(booking.getCancellationReason())
+                .refundAmount(booking.getRefundAmount())
                 .build();
         
-        kafkaTemplate.send(BOOKING_EVENTS_TOPIC, event.getBookingId().toString(), event);
-        log.info("Published booking created event for booking: {}", booking.getId());
+        outboxEventRepository.save(toOutboxEvent(BOOKING_CANCELLED, booking, event));
+        log.debug("Recorded booking cancelled event for booking: {}", booking.getId());
     }
     
-    public void publishBookingCancelled(Booking booking) {
-        if (kafkaTemplate == null) {
-            log.debug("Kafka is disabled, skipping event publishing for booking: {}", booking.getId());
-            return;
+    private OutboxEvent toOutboxEvent(String eventType, Booking booking, Object event) {
+        try {
+            return OutboxEvent.builder()
+                    .topic(BOOKING_EVENTS_TOPIC)
+                    .eventKey(booking.getId().toString())
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " event", e);
         }
-        
-        BookingCancelledEvent event = BookingCancelledEvent.builder()
+    }
+    
+    private BookingCreatedEvent toCreatedEvent(Booking booking) {
+        return BookingCreatedEvent.builder()
                 .bookingId(booking.getId())
                 .propertyId(booking.getPropertyId())
+                .userId(booking.getUserId())
                 .roomTypeId(booking.getRoomTypeId())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
                 .numberOfRooms(booking.getNumberOfRooms())
-                .cancellationReason(booking.getCancellationReason())
-                .refundAmount(booking.getRefundAmount())
+                .status(booking.getStatus().toString())
                 .build();
-        
-        kafkaTemplate.send(BOOKING_EVENTS_TOPIC, event.getBookingId().toString(), event);
-        log.info("Published booking cancelled event for booking: {}", booking.getId());
     }
-}
\ No newline at end of file
+}
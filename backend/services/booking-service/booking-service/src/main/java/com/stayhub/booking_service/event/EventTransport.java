@@ -0,0 +1,20 @@
+package com.stayhub.booking_service.event;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where the outbox relay delivers events.
+ * Selected with {@code booking.outbox.transport}.
+ */
+public interface EventTransport {
+
+    /**
+     * Start sending one event; the future completes once the broker has acknowledged it
+     */
+    CompletableFuture<?> send(String topic, String key, Object event);
+
+    /**
+     * Push out anything the transport is still buffering
+     */
+    void flush();
+}
@@ -0,0 +1,74 @@
+package com.stayhub.booking_service.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stand-in transport for tests and for running without a broker.
+ * Keeps the most recent events in memory instead of sending them anywhere.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.outbox.transport", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEventTransport implements EventTransport {
+
+    private static final int DEFAULT_CAPACITY = 1000;
+
+    private final int capacity;
+    private final Deque<SentEvent> events = new ArrayDeque<>();
+    // Not synchronized: a monitor would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public InMemoryEventTransport() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryEventTransport(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public CompletableFuture<?> send(String topic, String key, Object event) {
+        lock.lock();
+        try {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(new SentEvent(topic, key, event));
+        } finally {
+            lock.unlock();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    public List<SentEvent> getEvents() {
+        lock.lock();
+        try {
+            return new ArrayList<>(events);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            events.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record SentEvent(String topic, String key, Object event) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.stayhub.booking_service.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends through the Kafka producer; batching and compression come from spring.kafka.producer
+ */
+@Component
+@ConditionalOnProperty(name = "booking.outbox.transport", havingValue = "kafka")
+public class KafkaEventTransport implements EventTransport {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public KafkaEventTransport(KafkaTemplate<String, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    @Override
+    public CompletableFuture<?> send(String topic, String key, Object event) {
+        return kafkaTemplate.send(topic, key, event);
+    }
+
+    @Override
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+}
@@ -0,0 +1,201 @@
+package com.stayhub.booking_service.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stayhub.booking_service.entity.OutboxEvent;
+import com.stayhub.booking_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches. The next event of every key in a batch is handed to the transport
+ * before waiting for any acknowledgement, so the producer can batch and compress them together.
+ * Sent rows are marked rather than tracked by a high-water mark: sequence ids can commit out
+ * of order, and a mark would skip the late ones.
+ * <p>
+ * Events with the same key are sent one at a time, in id order: a failed send stops only that key,
+ * and its later events are not sent until it goes through, so one bad row cannot stall the outbox
+ * or reorder a booking's events. After {@code booking.outbox.max-attempts} failures the row is
+ * parked and the events queued behind it go out.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            BookingEventPublisher.BOOKING_CREATED, BookingCreatedEvent.class,
+            BookingEventPublisher.BOOKING_CANCELLED, BookingCancelledEvent.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventTransport transport;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMillis;
+    private final int maxAttempts;
+    private final long retentionHours;
+
+    private final AtomicLong lastSentId = new AtomicLong();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventTransport transport,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.outbox.batch-size:200}") int batchSize,
+                       @Value("${booking.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${booking.outbox.send-timeout-ms:10000}") long sendTimeoutMillis,
+                       @Value("${booking.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${booking.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+
+        this.sent = Counter.builder("booking.outbox.sent").register(meterRegistry);
+        this.failed = Counter.builder("booking.outbox.failed").register(meterRegistry);
+        this.dead = Counter.builder("booking.outbox.dead").register(meterRegistry);
+        Gauge.builder("booking.outbox.last.sent.id", lastSentId, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-ms:500}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer count = transactionTemplate.execute(status -> relayBatch());
+            if (count == null || count < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${booking.outbox.cleanup-cron:0 15 * * * *}")
+    public void deletePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Deleted {} published outbox events", deleted);
+        }
+    }
+
+    /**
+     * Send one batch and mark what the broker acknowledged.
+     * The row locks keep other relay instances off this batch until it is marked.
+     *
+     * @return number of rows read, so the caller knows whether more are waiting
+     */
+    int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, ArrayDeque<OutboxEvent>> byKey = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byKey.computeIfAbsent(event.getEventKey(), k -> new ArrayDeque<>()).add(event);
+        }
+
+        // Each round sends the next event of every key still going and waits for all of them, so a
+        // key never has two events in flight and a failure stops that key before its later events
+        List<Long> published = new ArrayList<>(events.size());
+        boolean complete = true;
+        rounds:
+        while (!byKey.isEmpty()) {
+            List<OutboxEvent> round = new ArrayList<>(byKey.size());
+            List<CompletableFuture<?>> acks = new ArrayList<>(byKey.size());
+            for (ArrayDeque<OutboxEvent> queue : byKey.values()) {
+                round.add(queue.peekFirst());
+                acks.add(send(queue.peekFirst()));
+            }
+            transport.flush();
+
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEvent event = round.get(i);
+                try {
+                    acks.get(i).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    recordFailure(event, e instanceof ExecutionException ? e.getCause() : e);
+                    byKey.remove(event.getEventKey());
+                    complete = false;
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    complete = false;
+                    break rounds;
+                }
+                published.add(event.getId());
+                ArrayDeque<OutboxEvent> queue = byKey.get(event.getEventKey());
+                queue.removeFirst();
+                if (queue.isEmpty()) {
+                    byKey.remove(event.getEventKey());
+                }
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.markPublished(published, LocalDateTime.now());
+            sent.increment(published.size());
+            lastSentId.accumulateAndGet(Collections.max(published), Math::max);
+        }
+        log.debug("Relayed {} of {} outbox events", published.size(), events.size());
+        return complete ? events.size() : 0;
+    }
+
+    private void recordFailure(OutboxEvent event, Throwable error) {
+        failed.increment();
+        String message = String.valueOf(error);
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            dead.increment();
+            log.error("Parking outbox event {} after {} failed sends: {}", event.getId(), attempts, message);
+            outboxEventRepository.recordFailure(event.getId(), message, LocalDateTime.now());
+        } else {
+            log.warn("Failed to relay outbox event {}, will retry: {}", event.getId(), message);
+            outboxEventRepository.recordFailure(event.getId(), message, null);
+        }
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        Class<?> type = EVENT_TYPES.get(event.getEventType());
+        if (type == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Unknown event type " + event.getEventType()));
+        }
+        try {
+            return transport.send(event.getTopic(), event.getEventKey(), objectMapper.readValue(event.getPayload(), type));
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
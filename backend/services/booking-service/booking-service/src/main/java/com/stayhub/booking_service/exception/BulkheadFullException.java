@@ -0,0 +1,7 @@
+package com.stayhub.booking_service.exception;
+
+public class BulkheadFullException extends BookingException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.stayhub.booking_service.id;
+
+/**
+ * Short booking references derived from {@link SnowflakeIdGenerator} ids.
+ * The id is scrambled with a bijection on 63 bits, so codes stay unique but do not reveal
+ * creation order or booking volume, then written in Crockford base32 (no I, L, O or U).
+ */
+public final class ConfirmationCodes {
+
+    public static final String PREFIX = "BK";
+    // 63 bits in 5-bit digits
+    public static final int DIGITS = 13;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long MASK_63 = Long.MAX_VALUE;
+    // Any odd constant works; this one spreads bits well
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private ConfirmationCodes() {
+    }
+
+    public static String fromId(long id) {
+        long value = scramble(id);
+        char[] code = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+        for (int i = code.length - 1; i >= PREFIX.length(); i--) {
+            code[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(code);
+    }
+
+    /**
+     * Odd multiplication and xorshift are both invertible modulo 2^63, so distinct ids never
+     * share a code
+     */
+    static long scramble(long id) {
+        long x = (id * MULTIPLIER) & MASK_63;
+        x ^= x >>> 29;
+        x = (x * MULTIPLIER) & MASK_63;
+        return x ^ (x >>> 32);
+    }
+}
@@ -0,0 +1,53 @@
+package com.stayhub.booking_service.id;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Process-wide {@link SnowflakeIdGenerator}. Hibernate creates id generators itself, so the
+ * instance is static rather than a bean. The node id comes from the NODE_ID environment variable
+ * (or the booking.id.node-id system property); give each replica its own value. Without one a
+ * random node id is used, which is only acceptable for a single local instance, so
+ * {@link NodeIdCheck} refuses to start outside a dev profile.
+ */
+@Slf4j
+public final class Ids {
+
+    private static final String CONFIGURED_NODE_ID =
+            System.getProperty("booking.id.node-id", System.getenv("NODE_ID"));
+
+    private static final SnowflakeIdGenerator GENERATOR = new SnowflakeIdGenerator(resolveNodeId());
+
+    private Ids() {
+    }
+
+    public static long nextId() {
+        return GENERATOR.nextId();
+    }
+
+    public static UUID nextUuid() {
+        return GENERATOR.nextUuid();
+    }
+
+    public static String nextConfirmationCode() {
+        return ConfirmationCodes.fromId(GENERATOR.nextId());
+    }
+
+    /**
+     * Whether the node id was configured rather than picked at random
+     */
+    public static boolean isNodeIdConfigured() {
+        return CONFIGURED_NODE_ID != null && !CONFIGURED_NODE_ID.isBlank();
+    }
+
+    private static int resolveNodeId() {
+        if (isNodeIdConfigured()) {
+            return Integer.parseInt(CONFIGURED_NODE_ID.trim());
+        }
+        int nodeId = ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        log.warn("NODE_ID is not set, using random node id {} for booking ids", nodeId);
+        return nodeId;
+    }
+}
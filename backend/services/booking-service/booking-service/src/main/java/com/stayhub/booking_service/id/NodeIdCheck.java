@@ -0,0 +1,32 @@
+package com.stayhub.booking_service.id;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails startup when NODE_ID is missing outside a dev profile. Replicas that pick a random node id
+ * can collide, and a collision hands out duplicate booking ids and confirmation codes.
+ */
+@Component
+@RequiredArgsConstructor
+public class NodeIdCheck {
+
+    static final Profiles RANDOM_NODE_ID_PROFILES = Profiles.of("default", "dev", "local", "test");
+
+    private final Environment environment;
+
+    @PostConstruct
+    void verify() {
+        verify(Ids.isNodeIdConfigured());
+    }
+
+    void verify(boolean nodeIdConfigured) {
+        if (!nodeIdConfigured && !environment.acceptsProfiles(RANDOM_NODE_ID_PROFILES)) {
+            throw new IllegalStateException("NODE_ID must be set to a value between 0 and "
+                    + SnowflakeIdGenerator.MAX_NODE_ID + " that is unique per replica");
+        }
+    }
+}
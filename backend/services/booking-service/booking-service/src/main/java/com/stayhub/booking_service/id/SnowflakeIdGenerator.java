@@ -0,0 +1,96 @@
+package com.stayhub.booking_service.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 63-bit ids without coordination between nodes:
+ * 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of node id and a 12-bit sequence.
+ * <p>
+ * Clock and sequence live in one {@link AtomicLong}, so generating an id is a CAS and never
+ * blocks or allocates. When the sequence of a millisecond is used up the clock is borrowed from
+ * the next millisecond instead of spinning, and a clock that moves backwards is ignored, so ids
+ * from one generator are strictly increasing.
+ */
+public final class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long UUID_VERSION_7 = 0x7000L;
+    private static final long UUID_VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_52_BITS = (1L << 52) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public int getNodeId() {
+        return (int) nodeId;
+    }
+
+    public long nextId() {
+        long next = nextState();
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                | nodeId << SEQUENCE_BITS
+                | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Version 7 layout UUID from the same clock: unix milliseconds and sequence in the high half,
+     * node id and random bits in the low half. Sorts by creation time in Postgres, so inserts
+     * append to the primary key index instead of splitting random pages.
+     */
+    public UUID nextUuid() {
+        long next = nextState();
+        long unixMillis = (next >>> SEQUENCE_BITS) + EPOCH_MILLIS;
+        long mostSigBits = unixMillis << 16 | UUID_VERSION_7 | (next & SEQUENCE_MASK);
+        long leastSigBits = UUID_VARIANT
+                | nodeId << 52
+                | (ThreadLocalRandom.current().nextLong() & RANDOM_52_BITS);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Milliseconds since the Unix epoch at which {@code id} was generated
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    private long nextState() {
+        while (true) {
+            long current = state.get();
+            long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            long next = now > current ? now : current + 1;
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.stayhub.booking_service.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate id generator for UUID keys that sort by creation time, see {@link SnowflakeIdGenerator#nextUuid()}
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return Ids.nextUuid();
+    }
+}
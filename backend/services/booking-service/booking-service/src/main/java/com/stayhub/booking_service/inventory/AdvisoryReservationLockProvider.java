@@ -0,0 +1,73 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Cluster-wide locks using Postgres transaction-scoped advisory locks.
+ * The lock is released by the database when the surrounding transaction ends,
+ * so {@link ReservationLock#close()} is a no-op.
+ * <p>
+ * An uncontended lock is taken with one non-blocking try. Only when that fails is lock_timeout
+ * set for the blocking wait, and it is reset to the session default as soon as the lock is held
+ * so that row locks taken later in the transaction are not cut short by it.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.lock.provider", havingValue = "advisory")
+@Slf4j
+public class AdvisoryReservationLockProvider implements ReservationLockProvider {
+
+    private static final ReservationLock RELEASED_AT_COMMIT = () -> { };
+
+    static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+    static final String RESET_LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout TO DEFAULT";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lockTimeoutSql;
+    private final ReservationLockMetrics metrics;
+
+    public AdvisoryReservationLockProvider(JdbcTemplate jdbcTemplate,
+                                           @Value("${booking.reservation.lock.timeout-ms:10000}") long timeoutMillis,
+                                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockTimeoutSql = "SET LOCAL lock_timeout = '" + timeoutMillis + "ms'";
+        this.metrics = new ReservationLockMetrics(meterRegistry, "advisory");
+    }
+
+    @Override
+    public ReservationLock acquire(UUID propertyId, UUID roomTypeId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory reservation locks require an active transaction");
+        }
+
+        long key = ReservationLockProvider.lockKey(propertyId, roomTypeId);
+        long start = System.nanoTime();
+        try {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, key))) {
+                jdbcTemplate.execute(lockTimeoutSql);
+                jdbcTemplate.query(LOCK_SQL, rs -> null, key);
+                jdbcTemplate.execute(RESET_LOCK_TIMEOUT_SQL);
+            }
+        } catch (PessimisticLockingFailureException e) {
+            // lock_timeout expired (SQLSTATE 55P03)
+            metrics.recordTimeout(start);
+            throw new ConcurrentBookingException("Could not acquire booking lock");
+        } catch (DataAccessException e) {
+            log.warn("Advisory lock failed for property {} room type {}: {}", propertyId, roomTypeId, e.getMessage());
+            throw e;
+        }
+        metrics.recordWait(start);
+        return RELEASED_AT_COMMIT;
+    }
+}
@@ -0,0 +1,58 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Reserves with a single guarded UPDATE. Row locks are taken inside one statement instead of a
+ * SELECT ... FOR UPDATE round trip, and no JVM lock is needed because the database
+ * serializes concurrent updates of the same night. The statement updates every night or none,
+ * so a shortfall leaves nothing to undo and the caller's transaction stays usable.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.strategy", havingValue = "atomic")
+@Slf4j
+@RequiredArgsConstructor
+public class AtomicReservationStrategy implements ReservationStrategy {
+
+    private final AvailabilityRepository availabilityRepository;
+
+    @Override
+    public boolean reserve(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                           LocalDate checkOut, int numberOfRooms) {
+        LocalDate lastNight = checkOut.minusDays(1);
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+
+        // Existing rows are skipped without being locked
+        int created = availabilityRepository.insertMissingAvailability(propertyId, roomTypeId, checkIn, lastNight);
+        if (created > 0) {
+            log.info("Initialized {} days of availability for property {} room type {}",
+                    created, propertyId, roomTypeId);
+        }
+
+        int updated = availabilityRepository.decrementAvailabilityAllNights(
+                propertyId, roomTypeId, checkIn, lastNight, nights, numberOfRooms);
+        if (updated != nights) {
+            log.info("Rooms not available for property {} from {} to {}", propertyId, checkIn, lastNight);
+            return false;
+        }
+
+        log.info("Successfully reserved {} rooms for property {} from {} to {}",
+                numberOfRooms, propertyId, checkIn, lastNight);
+        return true;
+    }
+
+    @Override
+    public int release(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                       LocalDate checkOut, int numberOfRooms) {
+        return availabilityRepository.incrementAvailability(
+                propertyId, roomTypeId, checkIn, checkOut.minusDays(1), numberOfRooms);
+    }
+}
@@ -0,0 +1,61 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps a rolling window of availability rows ahead of today for every room type,
+ * so reservations rarely have to create rows on the booking path
+ */
+@Component
+@ConditionalOnProperty(name = "booking.availability.horizon.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AvailabilityHorizonJob {
+
+    private final RoomTypeRepository roomTypeRepository;
+    private final AvailabilityInitializer availabilityInitializer;
+    private final int horizonDays;
+    private final int chunkSize;
+
+    public AvailabilityHorizonJob(RoomTypeRepository roomTypeRepository,
+                                  AvailabilityInitializer availabilityInitializer,
+                                  @Value("${booking.availability.horizon.days:365}") int horizonDays,
+                                  @Value("${booking.availability.horizon.chunk-size:200}") int chunkSize) {
+        this.roomTypeRepository = roomTypeRepository;
+        this.availabilityInitializer = availabilityInitializer;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${booking.availability.horizon.cron:0 30 2 * * *}")
+    public void rollForward() {
+        LocalDate start = LocalDate.now();
+        // Both ends are inclusive, so today and the next horizonDays - 1 nights
+        LocalDate end = start.plusDays(horizonDays - 1);
+        long startedAt = System.currentTimeMillis();
+
+        List<UUID> roomTypeIds = roomTypeRepository.findAllIds();
+        int created = 0;
+        // One short transaction per chunk keeps lock and WAL bursts bounded
+        for (int i = 0; i < roomTypeIds.size(); i += chunkSize) {
+            List<UUID> chunk = roomTypeIds.subList(i, Math.min(i + chunkSize, roomTypeIds.size()));
+            try {
+                created += availabilityInitializer.initializeRoomTypes(chunk, start, end);
+            } catch (RuntimeException e) {
+                log.error("Failed to roll availability horizon for {} room types starting at {}",
+                        chunk.size(), chunk.get(0), e);
+            }
+        }
+
+        log.info("Rolled availability horizon to {} for {} room types: {} rows created in {} ms",
+                end, roomTypeIds.size(), created, System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,60 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates availability rows for dates that have not been initialized yet.
+ * Rows are generated server-side with one INSERT ... ON CONFLICT DO NOTHING per call,
+ * so existing dates cost an index probe instead of a SELECT round trip each.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AvailabilityInitializer {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final RoomTypeRepository roomTypeRepository;
+
+    /**
+     * Initialize every missing date in [startDate, endDate] with the room type's full inventory
+     *
+     * @return number of rows created
+     * @throws IllegalArgumentException if the room type does not belong to the property
+     */
+    @Transactional
+    public int initialize(UUID propertyId, UUID roomTypeId, LocalDate startDate, LocalDate endDate) {
+        // The insert selects from room_types by both ids, so a mismatch would silently create nothing
+        if (!roomTypeRepository.existsByIdAndPropertyId(roomTypeId, propertyId)) {
+            throw new IllegalArgumentException("Room type " + roomTypeId + " not found for property " + propertyId);
+        }
+
+        int created = availabilityRepository.insertMissingAvailability(propertyId, roomTypeId, startDate, endDate);
+        if (created > 0) {
+            log.info("Initialized {} days of availability for property {} room type {}",
+                    created, propertyId, roomTypeId);
+        }
+        return created;
+    }
+
+    /**
+     * Initialize every missing date in [startDate, endDate] for a batch of room types
+     *
+     * @return number of rows created
+     */
+    @Transactional
+    public int initializeRoomTypes(List<UUID> roomTypeIds, LocalDate startDate, LocalDate endDate) {
+        if (roomTypeIds.isEmpty()) {
+            return 0;
+        }
+        return availabilityRepository.insertMissingAvailabilityForRoomTypes(roomTypeIds, startDate, endDate);
+    }
+}
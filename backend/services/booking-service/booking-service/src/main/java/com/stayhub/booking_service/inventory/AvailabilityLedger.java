@@ -0,0 +1,233 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.entity.Availability;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authoritative in-memory view of the availabilities table, one {@link RoomTypeCalendar}
+ * per (property, room type). Calendars are loaded lazily, one date range at a time.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AvailabilityLedger {
+
+    private final AvailabilityRepository availabilityRepository;
+
+    private final ConcurrentHashMap<CalendarKey, RoomTypeCalendar> calendars = new ConcurrentHashMap<>();
+
+    // Reads are only served from memory when every write goes through the ledger
+    @Value("#{'${booking.reservation.strategy:pessimistic}' == 'ledger'}")
+    private boolean authoritative;
+
+    /**
+     * Get the calendar for a room type and lock it, loading [checkIn, checkOut) first if needed
+     * and creating rows for nights that were never initialized.
+     * The caller must unlock the returned calendar.
+     */
+    public RoomTypeCalendar lockLoaded(UUID propertyId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        return lock(propertyId, roomTypeId, checkIn, checkOut, true);
+    }
+
+    /**
+     * Minimum available rooms over [checkIn, checkOut) from the ledger, or null if the ledger is not
+     * the source of truth or some nights have no row yet
+     */
+    public Integer getMinimumAvailability(UUID propertyId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        if (!authoritative) {
+            return null;
+        }
+        RoomTypeCalendar calendar = lock(propertyId, roomTypeId, checkIn, checkOut, false);
+        if (calendar == null) {
+            return null;
+        }
+        try {
+            return calendar.minAvailable(RoomTypeCalendar.epochDay(checkIn), RoomTypeCalendar.epochDay(checkOut));
+        } finally {
+            calendar.lock().unlock();
+        }
+    }
+
+    /**
+     * Nights in [checkIn, checkOut) with fewer than {@code rooms} available, or null if the ledger
+     * cannot answer (see {@link #getMinimumAvailability})
+     */
+    public List<LocalDate> getBlockingDates(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                                            LocalDate checkOut, int rooms) {
+        if (!authoritative) {
+            return null;
+        }
+        RoomTypeCalendar calendar = lock(propertyId, roomTypeId, checkIn, checkOut, false);
+        if (calendar == null) {
+            return null;
+        }
+        try {
+            List<Integer> days = calendar.shortfalls(
+                    RoomTypeCalendar.epochDay(checkIn), RoomTypeCalendar.epochDay(checkOut), rooms);
+            List<LocalDate> dates = new ArrayList<>(days.size());
+            for (int day : days) {
+                dates.add(LocalDate.ofEpochDay(day));
+            }
+            return dates;
+        } finally {
+            calendar.lock().unlock();
+        }
+    }
+
+    /**
+     * Lock the calendar with [checkIn, checkOut) loaded. Rows are read, and missing ones created,
+     * without holding the lock so reservations on the room type never wait behind a query; the
+     * result is installed under the lock. A release that commits while the rows are read is skipped
+     * by the calendar for nights still unknown, so the rows are read again if one was.
+     * Nights before today, and before the requested range, are trimmed on the way.
+     *
+     * @return null if some nights have no row and {@code createMissing} is off
+     */
+    private RoomTypeCalendar lock(UUID propertyId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut,
+                                  boolean createMissing) {
+        CalendarKey key = new CalendarKey(propertyId, roomTypeId);
+        int from = RoomTypeCalendar.epochDay(checkIn);
+        int to = RoomTypeCalendar.epochDay(checkOut);
+        List<Availability> rows = null;
+        RoomTypeCalendar readFor = null;
+        long readAfterSkipped = 0;
+        while (true) {
+            RoomTypeCalendar calendar = calendars.computeIfAbsent(key, k -> new RoomTypeCalendar());
+            calendar.lock().lock();
+            if (calendar.isRetired()) {
+                // Invalidated while we were waiting, pick up the replacement
+                calendar.lock().unlock();
+                continue;
+            }
+            calendar.trimBefore(Math.min(from, RoomTypeCalendar.epochDay(LocalDate.now())));
+            if (calendar.isLoaded(from, to)) {
+                return calendar;
+            }
+            // Rows read for a calendar that was invalidated since, or before a release the calendar
+            // could not apply, may predate the change
+            if (rows == null || readFor != calendar || readAfterSkipped != calendar.skippedReleases()) {
+                readAfterSkipped = calendar.skippedReleases();
+                calendar.lock().unlock();
+                rows = read(propertyId, roomTypeId, checkIn, checkOut, createMissing);
+                readFor = calendar;
+                continue;
+            }
+            install(calendar, rows);
+            if (calendar.isLoaded(from, to)) {
+                return calendar;
+            }
+            calendar.lock().unlock();
+            return null;
+        }
+    }
+
+    /**
+     * Rows of [checkIn, checkOut), creating the missing ones first if asked. Creation uses the same
+     * INSERT ... ON CONFLICT DO NOTHING as {@link AvailabilityInitializer}, so it cannot fail on rows
+     * another transaction or instance created meanwhile.
+     */
+    private List<Availability> read(UUID propertyId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut,
+                                    boolean createMissing) {
+        LocalDate lastNight = checkOut.minusDays(1);
+        int nights = RoomTypeCalendar.epochDay(checkOut) - RoomTypeCalendar.epochDay(checkIn);
+        List<Availability> rows = availabilityRepository.findByPropertyIdAndRoomTypeIdAndDateBetween(
+                propertyId, roomTypeId, checkIn, lastNight);
+        if (rows.size() == nights || !createMissing) {
+            return rows;
+        }
+
+        int created = availabilityRepository.insertMissingAvailability(propertyId, roomTypeId, checkIn, lastNight);
+        rows = availabilityRepository.findByPropertyIdAndRoomTypeIdAndDateBetween(
+                propertyId, roomTypeId, checkIn, lastNight);
+        if (rows.size() != nights) {
+            // The insert matches nothing when the room type does not exist or belongs to another property
+            throw new IllegalArgumentException("Room type not found");
+        }
+        if (created > 0) {
+            invalidateOnRollback(propertyId, roomTypeId);
+            log.info("Initialized {} days of availability into ledger for property {} room type {}",
+                    created, propertyId, roomTypeId);
+        }
+        return rows;
+    }
+
+    private void install(RoomTypeCalendar calendar, List<Availability> rows) {
+        for (Availability row : rows) {
+            int day = RoomTypeCalendar.epochDay(row.getDate());
+            // Nights already in memory may be ahead of the committed row, keep them
+            if (!calendar.isLoaded(day, day + 1)) {
+                calendar.put(day, row.getTotalRooms(), row.getAvailableRooms(), row.getBookedRooms());
+            }
+        }
+    }
+
+    /**
+     * Get the calendar for a room type if it has already been loaded
+     */
+    public RoomTypeCalendar find(UUID propertyId, UUID roomTypeId) {
+        return calendars.get(new CalendarKey(propertyId, roomTypeId));
+    }
+
+    /**
+     * Drop the in-memory calendar so the next access reloads it from the database
+     */
+    public void invalidate(UUID propertyId, UUID roomTypeId) {
+        RoomTypeCalendar calendar = calendars.remove(new CalendarKey(propertyId, roomTypeId));
+        if (calendar != null) {
+            calendar.retire();
+            log.debug("Invalidated availability ledger for property {} room type {}", propertyId, roomTypeId);
+        }
+    }
+
+    /**
+     * Drop the calendar if the current transaction rolls back, since it may hold uncommitted state
+     */
+    public void invalidateOnRollback(UUID propertyId, UUID roomTypeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidate(propertyId, roomTypeId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop the calendar once the current transaction finishes, for direct edits of the table
+     */
+    public void invalidateAfterTransaction(UUID propertyId, UUID roomTypeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(propertyId, roomTypeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(propertyId, roomTypeId);
+            }
+        });
+    }
+
+    public int size() {
+        return calendars.size();
+    }
+
+    private record CalendarKey(UUID propertyId, UUID roomTypeId) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.stayhub.booking_service.inventory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel for PENDING hold deadlines.
+ * Each bucket covers one tick; a hold lands in bucket {@code deadlineTick & mask} and fires on the
+ * first {@link #advance} at or after its deadline. Schedule and cancel are O(1), and an advance
+ * only visits the buckets for the ticks that have passed, never the full set of holds.
+ */
+@Component
+public class HoldTimingWheel {
+
+    private final long tickMillis;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final Map<UUID, Timeout> timeouts = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Last tick whose bucket has been processed
+    private long lastTick;
+
+    public HoldTimingWheel(@Value("${booking.hold.tick-ms:1000}") long tickMillis,
+                           @Value("${booking.hold.wheel-size:512}") int wheelSize) {
+        this(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    HoldTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Fire {@code bookingId} at {@code deadlineMillis}, replacing any earlier deadline for it.
+     * Deadlines already in the past fire on the next advance.
+     */
+    public void schedule(UUID bookingId, long deadlineMillis) {
+        lock.lock();
+        try {
+            Timeout existing = timeouts.remove(bookingId);
+            if (existing != null) {
+                unlink(existing);
+            }
+            long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), lastTick + 1);
+            Timeout timeout = new Timeout(bookingId, deadlineTick);
+            timeouts.put(bookingId, timeout);
+            link(timeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void schedule(UUID bookingId, LocalDateTime deadline) {
+        schedule(bookingId, deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * @return true if the hold was still scheduled
+     */
+    public boolean cancel(UUID bookingId) {
+        lock.lock();
+        try {
+            Timeout timeout = timeouts.remove(bookingId);
+            if (timeout == null) {
+                return false;
+            }
+            unlink(timeout);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move the wheel to {@code nowMillis} and remove every hold whose deadline has passed
+     */
+    public List<UUID> advance(long nowMillis) {
+        List<UUID> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long nowTick = nowMillis / tickMillis;
+            // After a long pause one lap of the wheel is enough to see every bucket
+            long end = Math.min(nowTick, lastTick + buckets.length);
+            for (long tick = lastTick + 1; tick <= end; tick++) {
+                Timeout timeout = buckets[(int) (tick & mask)];
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    if (timeout.deadlineTick <= nowTick) {
+                        unlink(timeout);
+                        timeouts.remove(timeout.bookingId);
+                        expired.add(timeout.bookingId);
+                    }
+                    timeout = next;
+                }
+            }
+            lastTick = Math.max(lastTick, nowTick);
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return timeouts.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void link(Timeout timeout) {
+        int index = (int) (timeout.deadlineTick & mask);
+        timeout.next = buckets[index];
+        if (buckets[index] != null) {
+            buckets[index].prev = timeout;
+        }
+        buckets[index] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private static final class Timeout {
+        private final UUID bookingId;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(UUID bookingId, long deadlineTick) {
+            this.bookingId = bookingId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
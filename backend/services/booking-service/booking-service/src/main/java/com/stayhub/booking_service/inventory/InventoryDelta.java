@@ -0,0 +1,77 @@
+package com.stayhub.booking_service.inventory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Per-night change in rooms held when a stay of {@code oldRooms} over [oldCheckIn, oldCheckOut)
+ * becomes {@code newRooms} over [newCheckIn, newCheckOut). Nights are grouped into runs of equal
+ * change, so a shifted or resized stay needs at most three range updates instead of a full
+ * release and re-reserve.
+ */
+public final class InventoryDelta {
+
+    private final List<Run> runs;
+
+    private InventoryDelta(List<Run> runs) {
+        this.runs = runs;
+    }
+
+    public static InventoryDelta between(LocalDate oldCheckIn, LocalDate oldCheckOut, int oldRooms,
+                                         LocalDate newCheckIn, LocalDate newCheckOut, int newRooms) {
+        TreeSet<LocalDate> boundaries = new TreeSet<>(List.of(oldCheckIn, oldCheckOut, newCheckIn, newCheckOut));
+        List<Run> runs = new ArrayList<>(3);
+
+        LocalDate start = null;
+        for (LocalDate end : boundaries) {
+            if (start != null) {
+                int change = held(start, newCheckIn, newCheckOut, newRooms) - held(start, oldCheckIn, oldCheckOut, oldRooms);
+                Run last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+                if (last != null && last.end().equals(start) && last.rooms() == change) {
+                    runs.set(runs.size() - 1, new Run(last.start(), end, change));
+                } else if (change != 0) {
+                    runs.add(new Run(start, end, change));
+                }
+            }
+            start = end;
+        }
+        return new InventoryDelta(List.copyOf(runs));
+    }
+
+    /**
+     * Ranges with more rooms held than before, with the number of extra rooms
+     */
+    public List<Run> reservations() {
+        return runs.stream().filter(run -> run.rooms() > 0).toList();
+    }
+
+    /**
+     * Ranges with fewer rooms held than before, with the number of rooms to return
+     */
+    public List<Run> releases() {
+        return runs.stream()
+                .filter(run -> run.rooms() < 0)
+                .map(run -> new Run(run.start(), run.end(), -run.rooms()))
+                .toList();
+    }
+
+    public List<Run> runs() {
+        return runs;
+    }
+
+    public boolean isEmpty() {
+        return runs.isEmpty();
+    }
+
+    private static int held(LocalDate night, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        return !night.isBefore(checkIn) && night.isBefore(checkOut) ? rooms : 0;
+    }
+
+    /**
+     * Signed change in rooms for every night in [start, end)
+     */
+    public record Run(LocalDate start, LocalDate end, int rooms) {
+    }
+}
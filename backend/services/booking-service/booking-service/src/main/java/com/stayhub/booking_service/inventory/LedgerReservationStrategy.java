@@ -0,0 +1,94 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Decides reservations against the in-memory {@link AvailabilityLedger} and writes the result
+ * through to the availabilities table with one guarded UPDATE. Rejections never touch the database.
+ * Only valid while a single booking-service instance owns the inventory.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.strategy", havingValue = "ledger")
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerReservationStrategy implements ReservationStrategy {
+
+    private final AvailabilityLedger ledger;
+    private final AvailabilityRepository availabilityRepository;
+
+    @Override
+    public boolean reserve(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                           LocalDate checkOut, int numberOfRooms) {
+        int from = RoomTypeCalendar.epochDay(checkIn);
+        int to = RoomTypeCalendar.epochDay(checkOut);
+
+        RoomTypeCalendar calendar = ledger.lockLoaded(propertyId, roomTypeId, checkIn, checkOut);
+        try {
+            int shortfall = calendar.firstShortfall(from, to, numberOfRooms);
+            if (shortfall >= 0) {
+                log.info("Rooms not available on {} (ledger)", LocalDate.ofEpochDay(shortfall));
+                return false;
+            }
+            calendar.reserve(from, to, numberOfRooms);
+            // A rollback from here on leaves the calendar ahead of the table, so drop it
+            ledger.invalidateOnRollback(propertyId, roomTypeId);
+        } finally {
+            calendar.lock().unlock();
+        }
+
+        int updated = availabilityRepository.decrementAvailability(
+                propertyId, roomTypeId, checkIn, checkOut.minusDays(1), numberOfRooms);
+        if (updated != to - from) {
+            // The table disagrees with the ledger; the rollback drops the calendar
+            log.warn("Ledger out of sync for property {} room type {}: expected {} rows, updated {}",
+                    propertyId, roomTypeId, to - from, updated);
+            throw new ConcurrentBookingException("Availability changed, please retry");
+        }
+
+        log.info("Successfully reserved {} rooms for property {} from {} to {}",
+                numberOfRooms, propertyId, checkIn, checkOut.minusDays(1));
+        return true;
+    }
+
+    @Override
+    public int release(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                       LocalDate checkOut, int numberOfRooms) {
+        int updated = availabilityRepository.incrementAvailability(
+                propertyId, roomTypeId, checkIn, checkOut.minusDays(1), numberOfRooms);
+
+        // Only hand the rooms back in memory once the release is durable
+        Runnable applyRelease = () -> {
+            RoomTypeCalendar calendar = ledger.find(propertyId, roomTypeId);
+            if (calendar != null) {
+                calendar.lock().lock();
+                try {
+                    calendar.release(RoomTypeCalendar.epochDay(checkIn), RoomTypeCalendar.epochDay(checkOut),
+                            numberOfRooms);
+                } finally {
+                    calendar.lock().unlock();
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRelease.run();
+                }
+            });
+        } else {
+            applyRelease.run();
+        }
+        return updated;
+    }
+}
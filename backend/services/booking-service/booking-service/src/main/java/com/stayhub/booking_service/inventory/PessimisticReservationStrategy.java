@@ -0,0 +1,92 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.entity.Availability;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Default strategy: reservation lock plus SELECT ... FOR UPDATE on every night, checked and saved in Java
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.strategy", havingValue = "pessimistic", matchIfMissing = true)
+@Slf4j
+@RequiredArgsConstructor
+public class PessimisticReservationStrategy implements ReservationStrategy {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityInitializer availabilityInitializer;
+    private final ReservationLockProvider lockProvider;
+
+    @Override
+    public boolean reserve(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                           LocalDate checkOut, int numberOfRooms) {
+        try (ReservationLockProvider.ReservationLock lock = lockProvider.acquire(propertyId, roomTypeId)) {
+            // Fetch availabilities with pessimistic lock
+            List<Availability> availabilities = availabilityRepository
+                    .findByPropertyIdAndRoomTypeIdAndDateBetweenWithLock(
+                            propertyId, roomTypeId, checkIn, checkOut.minusDays(1));
+
+            // Check if we have availability records for all dates
+            long expectedDays = ChronoUnit.DAYS.between(checkIn, checkOut);
+            if (availabilities.size() != expectedDays) {
+                log.warn("Missing availability records. Expected: {}, Found: {}", expectedDays, availabilities.size());
+                // Initialize missing dates
+                availabilityInitializer.initialize(propertyId, roomTypeId, checkIn, checkOut);
+                // Re-fetch after initialization
+                availabilities = availabilityRepository
+                        .findByPropertyIdAndRoomTypeIdAndDateBetweenWithLock(
+                                propertyId, roomTypeId, checkIn, checkOut.minusDays(1));
+            }
+
+            // Check availability for all dates
+            boolean allAvailable = availabilities.stream()
+                    .allMatch(a -> a.getAvailableRooms() >= numberOfRooms);
+
+            if (!allAvailable) {
+                // Find which dates are not available
+                List<LocalDate> unavailableDates = availabilities.stream()
+                        .filter(a -> a.getAvailableRooms() < numberOfRooms)
+                        .map(Availability::getDate)
+                        .collect(Collectors.toList());
+
+                log.info("Rooms not available for dates: {}", unavailableDates);
+                return false;
+            }
+
+            // Update availability for each date
+            for (Availability availability : availabilities) {
+                availability.setAvailableRooms(availability.getAvailableRooms() - numberOfRooms);
+                availability.setBookedRooms(availability.getBookedRooms() + numberOfRooms);
+            }
+
+            // Save all with version increment (handled by @Version)
+            availabilityRepository.saveAll(availabilities);
+
+            log.info("Successfully reserved {} rooms for property {} from {} to {}",
+                    numberOfRooms, propertyId, checkIn, checkOut.minusDays(1));
+
+            return true;
+
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Optimistic lock failure, will retry: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public int release(UUID propertyId, UUID roomTypeId, LocalDate checkIn,
+                       LocalDate checkOut, int numberOfRooms) {
+        return availabilityRepository.incrementAvailability(
+                propertyId, roomTypeId, checkIn, checkOut.minusDays(1), numberOfRooms);
+    }
+}
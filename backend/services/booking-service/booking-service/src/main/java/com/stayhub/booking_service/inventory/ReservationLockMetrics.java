@@ -0,0 +1,37 @@
+package com.stayhub.booking_service.inventory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wait time and timeout counters shared by the lock providers
+ */
+class ReservationLockMetrics {
+
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    ReservationLockMetrics(MeterRegistry meterRegistry, String provider) {
+        this.waitTimer = Timer.builder("booking.reservation.lock.wait")
+                .description("Time spent waiting for a reservation lock")
+                .tag("provider", provider)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("booking.reservation.lock.timeouts")
+                .description("Reservation lock acquisitions that timed out")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    void recordWait(long startNanos) {
+        waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordTimeout(long startNanos) {
+        recordWait(startNanos);
+        timeouts.increment();
+    }
+}
@@ -0,0 +1,36 @@
+package com.stayhub.booking_service.inventory;
+
+import java.util.UUID;
+
+/**
+ * Serializes reservations for the same (property, room type).
+ * Selected with {@code booking.reservation.lock.provider}.
+ */
+public interface ReservationLockProvider {
+
+    /**
+     * Block until the lock is held or the configured timeout passes
+     *
+     * @throws com.stayhub.booking_service.exception.ConcurrentBookingException on timeout or interrupt
+     */
+    ReservationLock acquire(UUID propertyId, UUID roomTypeId);
+
+    /**
+     * Lock held for a reservation; closing it releases the lock where the provider supports it
+     */
+    interface ReservationLock extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * 64-bit key for a (property, room type) pair, computed without allocating
+     */
+    static long lockKey(UUID propertyId, UUID roomTypeId) {
+        long h = propertyId.getMostSignificantBits() ^ propertyId.getLeastSignificantBits();
+        h = h * 0x9E3779B97F4A7C15L + (roomTypeId.getMostSignificantBits() ^ roomTypeId.getLeastSignificantBits());
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,310 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.event.BookingEventPublisher;
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import com.stayhub.booking_service.exception.RoomNotAvailableException;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.service.AvailabilityService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group-commit execution mode for new bookings.
+ * <p>
+ * Requests are routed to a partition by (property, room type). Each partition has one writer
+ * thread that drains its queue in batches, reserves every request in order through
+ * {@link AvailabilityService#reserveRooms}, so the configured {@link ReservationStrategy} and
+ * {@link ReservationLockProvider} apply as on the direct path, and saves all accepted bookings in
+ * a single transaction. Because a room type always maps to the same writer, requests for it
+ * never contend with each other for row locks.
+ * <p>
+ * A request whose caller stops waiting before a writer picks it up is cancelled and never
+ * written, so a timeout always means no booking was made. A request already picked up is not
+ * retried on its own after its caller's deadline, so that caller waits at most one more
+ * transaction timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.pipeline.enabled", havingValue = "true")
+@Slf4j
+public class ReservationPipeline {
+
+    private final BookingRepository bookingRepository;
+    private final BookingEventPublisher eventPublisher;
+    private final AvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Partition[] partitions;
+    private final int mask;
+    private final int maxBatchSize;
+    private final long submitTimeoutMillis;
+    private final long transactionTimeoutMillis;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running = true;
+
+    public ReservationPipeline(BookingRepository bookingRepository,
+                               BookingEventPublisher eventPublisher,
+                               AvailabilityService availabilityService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${booking.reservation.pipeline.partitions:8}") int partitionCount,
+                               @Value("${booking.reservation.pipeline.batch-size:64}") int maxBatchSize,
+                               @Value("${booking.reservation.pipeline.queue-capacity:1024}") int queueCapacity,
+                               @Value("${booking.reservation.pipeline.timeout-ms:5000}") long submitTimeoutMillis) {
+        this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        // Bounds how long a caller whose request was already picked up waits for the outcome
+        int transactionTimeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(submitTimeoutMillis));
+        this.transactionTemplate.setTimeout(transactionTimeoutSeconds);
+        this.transactionTimeoutMillis = TimeUnit.SECONDS.toMillis(transactionTimeoutSeconds);
+
+        // Next power of two, so a partition is picked with a mask
+        int size = partitionCount <= 1 ? 1 : Integer.highestOneBit(partitionCount - 1) << 1;
+        this.partitions = new Partition[size];
+        for (int i = 0; i < size; i++) {
+            partitions[i] = new Partition(i, new ArrayBlockingQueue<>(queueCapacity));
+            BlockingQueue<Command> queue = partitions[i].queue;
+            Gauge.builder("booking.reservation.pipeline.queue.depth", queue, BlockingQueue::size)
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.mask = size - 1;
+        this.maxBatchSize = maxBatchSize;
+        this.submitTimeoutMillis = submitTimeoutMillis;
+        this.batchSizes = DistributionSummary.builder("booking.reservation.pipeline.batch.size")
+                .description("Reservations applied per group commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (Partition partition : partitions) {
+            Thread writer = new Thread(() -> drain(partition), "reservation-writer-" + partition.index);
+            writer.setDaemon(true);
+            partition.writer = writer;
+            writer.start();
+        }
+        log.info("Reservation pipeline started with {} partitions, batch size {}", partitions.length, maxBatchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Partition partition : partitions) {
+            partition.writer.interrupt();
+        }
+    }
+
+    /**
+     * Reserve inventory for an unsaved booking and persist it with the rest of its batch.
+     * Blocks until the batch commits.
+     *
+     * @throws RoomNotAvailableException if any night is short
+     * @throws ConcurrentBookingException if the queue is full, or no writer picked the request up in
+     *                                    time; the booking was not made and a retry is safe
+     */
+    public Booking submit(Booking booking) {
+        Partition partition = partitions[(int) ReservationLockProvider.lockKey(
+                booking.getPropertyId(), booking.getRoomTypeId()) & mask];
+        Command command = new Command(booking, new CompletableFuture<>(), new AtomicInteger(Command.QUEUED),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(submitTimeoutMillis));
+
+        if (!partition.queue.offer(command)) {
+            throw new ConcurrentBookingException("Booking queue is full, please retry");
+        }
+
+        try {
+            try {
+                return command.result.get(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (command.cancel()) {
+                    throw new ConcurrentBookingException("Booking is taking longer than expected, please retry");
+                }
+                // A writer is already applying it: the outcome is decided by its transaction, or by a
+                // single retry that started before the deadline
+                try {
+                    return command.result.get(transactionTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException stillRunning) {
+                    throw new ConcurrentBookingException(
+                            "Booking outcome is unknown, check your bookings before retrying");
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ConcurrentBookingException("Booking failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (command.cancel()) {
+                throw new ConcurrentBookingException("Booking interrupted");
+            }
+            throw new ConcurrentBookingException("Booking interrupted, its outcome is unknown");
+        }
+    }
+
+    private void drain(Partition partition) {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Command first = partition.queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                partition.queue.drainTo(batch, maxBatchSize - 1);
+                // Callers that already gave up were told no booking was made
+                batch.removeIf(command -> !command.claim());
+                if (!batch.isEmpty()) {
+                    apply(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Reservation writer {} failed", partition.index, e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Fail whatever is left so callers do not wait for their timeout
+        Command pending;
+        while ((pending = partition.queue.poll()) != null) {
+            pending.claim();
+            pending.result.completeExceptionally(new ConcurrentBookingException("Booking service is shutting down"));
+        }
+    }
+
+    private void apply(List<Command> batch) {
+        boolean[] accepted;
+        try {
+            accepted = transactionTemplate.execute(status -> applyInTransaction(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            // One bad booking (e.g. a duplicate key) must not fail the others
+            log.warn("Group commit of {} reservations failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (Command command : batch) {
+                if (command.isPastDeadline()) {
+                    // Nothing was written, and its caller would not wait for another transaction
+                    command.result.completeExceptionally(
+                            new ConcurrentBookingException("Booking is taking longer than expected, please retry"));
+                    continue;
+                }
+                // Forget identifiers assigned by the failed persist
+                command.booking.setId(null);
+                command.booking.setVersion(null);
+                command.booking.setConfirmationCode(null);
+                apply(List.of(command));
+            }
+            return;
+        }
+
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Command command = batch.get(i);
+            if (accepted[i]) {
+                command.result.complete(command.booking);
+            } else {
+                command.result.completeExceptionally(
+                        new RoomNotAvailableException("Rooms not available for selected dates"));
+            }
+        }
+    }
+
+    private boolean[] applyInTransaction(List<Command> batch) {
+        boolean[] accepted = new boolean[batch.size()];
+
+        // Room types in lock order, arrival order within each room type
+        Map<RoomTypeKey, List<Integer>> byRoomType = new TreeMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Booking booking = batch.get(i).booking;
+            byRoomType.computeIfAbsent(new RoomTypeKey(booking.getPropertyId(), booking.getRoomTypeId()),
+                    k -> new ArrayList<>()).add(i);
+        }
+
+        List<Booking> toSave = new ArrayList<>();
+        for (List<Integer> indexes : byRoomType.values()) {
+            for (int index : indexes) {
+                Booking booking = batch.get(index).booking;
+                if (availabilityService.reserveRooms(booking.getPropertyId(), booking.getRoomTypeId(),
+                        booking.getCheckInDate(), booking.getCheckOutDate(), booking.getNumberOfRooms())) {
+                    accepted[index] = true;
+                    toSave.add(booking);
+                }
+            }
+        }
+
+        bookingRepository.saveAll(toSave);
+        eventPublisher.publishBookingsCreated(toSave);
+
+        log.debug("Group commit: {} of {} reservations accepted", toSave.size(), batch.size());
+        return accepted;
+    }
+
+    private record Command(Booking booking, CompletableFuture<Booking> result, AtomicInteger state,
+                           long deadlineNanos) {
+
+        static final int QUEUED = 0;
+        static final int CLAIMED = 1;
+        static final int CANCELLED = 2;
+
+        /**
+         * Taken by a writer; false if the caller already gave up on it
+         */
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        /**
+         * Withdrawn by the caller; false if a writer already took it
+         */
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+
+        boolean isPastDeadline() {
+            return System.nanoTime() - deadlineNanos > 0;
+        }
+    }
+
+    private static final class Partition {
+        private final int index;
+        private final BlockingQueue<Command> queue;
+        private Thread writer;
+
+        private Partition(int index, BlockingQueue<Command> queue) {
+            this.index = index;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.stayhub.booking_service.inventory;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * How rooms are taken from and returned to the availabilities table.
+ * Selected with {@code booking.reservation.strategy}; always called inside a transaction.
+ */
+public interface ReservationStrategy {
+
+    /**
+     * Reserve rooms for every night in [checkIn, checkOut)
+     *
+     * @return false if any night does not have enough rooms
+     */
+    boolean reserve(UUID propertyId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut, int numberOfRooms);
+
+    /**
+     * Return rooms for every night in [checkIn, checkOut)
+     *
+     * @return number of nights updated
+     */
+    int release(UUID propertyId, UUID roomTypeId, LocalDate checkIn, LocalDate checkOut, int numberOfRooms);
+}
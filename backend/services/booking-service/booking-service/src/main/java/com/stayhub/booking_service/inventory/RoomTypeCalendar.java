@@ -0,0 +1,277 @@
+package com.stayhub.booking_service.inventory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inventory for one (property, room type) pair.
+ * Counts are stored in primitive arrays indexed by epoch day relative to {@code origin}.
+ * A min segment tree over available rooms answers range-minimum and shortfall queries
+ * in O(log n) per result. All accessors assume the caller holds {@link #lock()}.
+ */
+public final class RoomTypeCalendar {
+
+    static final int UNKNOWN = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int origin;
+    private int[] total = new int[0];
+    private int[] available = new int[0];
+    private int[] booked = new int[0];
+
+    // minTree[1] is the root, leaves start at minTree[capacity]; unknown nights hold MAX_VALUE
+    private int[] minTree = new int[0];
+
+    // Bumped whenever a release skips nights that are not loaded, see AvailabilityLedger#lock
+    private long skippedReleases;
+
+    private volatile boolean retired;
+
+    public ReentrantLock lock() {
+        return lock;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    /**
+     * True if every night in [from, to) has been loaded from the database
+     */
+    public boolean isLoaded(int from, int to) {
+        if (from < origin || to > origin + total.length) {
+            return false;
+        }
+        for (int day = from; day < to; day++) {
+            if (total[day - origin] == UNKNOWN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(int epochDay, int totalRooms, int availableRooms, int bookedRooms) {
+        ensureCapacity(epochDay, epochDay + 1);
+        int i = epochDay - origin;
+        total[i] = totalRooms;
+        available[i] = availableRooms;
+        booked[i] = bookedRooms;
+        updateLeaf(i);
+    }
+
+    /**
+     * Minimum available rooms over the loaded nights [from, to)
+     */
+    public int minAvailable(int from, int to) {
+        int capacity = total.length;
+        int min = Integer.MAX_VALUE;
+        for (int lo = from - origin + capacity, hi = to - origin + capacity; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                min = Math.min(min, minTree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                min = Math.min(min, minTree[--hi]);
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Returns the first night in [from, to) with fewer than {@code rooms} available, or -1 if none
+     */
+    public int firstShortfall(int from, int to, int rooms) {
+        if (minAvailable(from, to) >= rooms) {
+            return -1;
+        }
+        int i = firstBelow(1, 0, total.length, from - origin, to - origin, rooms);
+        return i < 0 ? -1 : origin + i;
+    }
+
+    /**
+     * Every night in [from, to) with fewer than {@code rooms} available, in date order
+     */
+    public List<Integer> shortfalls(int from, int to, int rooms) {
+        List<Integer> days = new ArrayList<>();
+        collectBelow(1, 0, total.length, from - origin, to - origin, rooms, days);
+        return days;
+    }
+
+    public void reserve(int from, int to, int rooms) {
+        for (int i = from - origin; i < to - origin; i++) {
+            available[i] -= rooms;
+            booked[i] += rooms;
+            updateLeaf(i);
+        }
+    }
+
+    /**
+     * Returns rooms for nights that are loaded; unknown nights are left for the next load, and
+     * {@link #skippedReleases()} tells a load that read before the release to read again
+     */
+    public void release(int from, int to, int rooms) {
+        int start = Math.max(from, origin) - origin;
+        int end = Math.min(to, origin + total.length) - origin;
+        boolean skipped = end - start < to - from;
+        for (int i = start; i < end; i++) {
+            if (total[i] != UNKNOWN) {
+                available[i] += rooms;
+                booked[i] -= rooms;
+                updateLeaf(i);
+            } else {
+                skipped = true;
+            }
+        }
+        if (skipped) {
+            skippedReleases++;
+        }
+    }
+
+    public long skippedReleases() {
+        return skippedReleases;
+    }
+
+    /**
+     * Forget nights before {@code epochDay} so a calendar that slides forward keeps a bounded size
+     */
+    public void trimBefore(int epochDay) {
+        if (epochDay <= origin || total.length == 0) {
+            return;
+        }
+        int capacity = total.length;
+        int offset = origin - epochDay;
+        if (offset <= -capacity) {
+            total = unknownArray(capacity);
+            available = new int[capacity];
+            booked = new int[capacity];
+        } else {
+            total = copyRange(unknownArray(capacity), total, -offset);
+            available = copyRange(new int[capacity], available, -offset);
+            booked = copyRange(new int[capacity], booked, -offset);
+        }
+        origin = epochDay;
+        rebuildTree();
+    }
+
+    public int getAvailable(int epochDay) {
+        return available[epochDay - origin];
+    }
+
+    public int getTotal(int epochDay) {
+        return total[epochDay - origin];
+    }
+
+    public int getBooked(int epochDay) {
+        return booked[epochDay - origin];
+    }
+
+    private int firstBelow(int node, int nodeFrom, int nodeTo, int from, int to, int rooms) {
+        if (nodeTo <= from || nodeFrom >= to || minTree[node] >= rooms) {
+            return -1;
+        }
+        if (nodeTo - nodeFrom == 1) {
+            return nodeFrom;
+        }
+        int mid = (nodeFrom + nodeTo) >>> 1;
+        int left = firstBelow(2 * node, nodeFrom, mid, from, to, rooms);
+        return left >= 0 ? left : firstBelow(2 * node + 1, mid, nodeTo, from, to, rooms);
+    }
+
+    private void collectBelow(int node, int nodeFrom, int nodeTo, int from, int to, int rooms, List<Integer> days) {
+        if (nodeTo <= from || nodeFrom >= to || minTree[node] >= rooms) {
+            return;
+        }
+        if (nodeTo - nodeFrom == 1) {
+            days.add(origin + nodeFrom);
+            return;
+        }
+        int mid = (nodeFrom + nodeTo) >>> 1;
+        collectBelow(2 * node, nodeFrom, mid, from, to, rooms, days);
+        collectBelow(2 * node + 1, mid, nodeTo, from, to, rooms, days);
+    }
+
+    private void updateLeaf(int i) {
+        int node = i + total.length;
+        minTree[node] = total[i] == UNKNOWN ? Integer.MAX_VALUE : available[i];
+        for (node >>= 1; node >= 1; node >>= 1) {
+            minTree[node] = Math.min(minTree[2 * node], minTree[2 * node + 1]);
+        }
+    }
+
+    private void rebuildTree() {
+        int capacity = total.length;
+        minTree = new int[2 * capacity];
+        for (int i = 0; i < capacity; i++) {
+            minTree[capacity + i] = total[i] == UNKNOWN ? Integer.MAX_VALUE : available[i];
+        }
+        for (int node = capacity - 1; node >= 1; node--) {
+            minTree[node] = Math.min(minTree[2 * node], minTree[2 * node + 1]);
+        }
+    }
+
+    private void ensureCapacity(int from, int to) {
+        if (total.length == 0) {
+            int capacity = powerOfTwoAtLeast(Math.max(INITIAL_CAPACITY, to - from));
+            origin = from;
+            total = unknownArray(capacity);
+            available = new int[capacity];
+            booked = new int[capacity];
+            rebuildTree();
+            return;
+        }
+
+        int end = origin + total.length;
+        if (from >= origin && to <= end) {
+            return;
+        }
+
+        int newOrigin = Math.min(origin, from);
+        int newEnd = Math.max(end, to);
+        // Grow geometrically so a calendar sliding forward day by day is not copied on every load
+        int capacity = powerOfTwoAtLeast(Math.max(newEnd - newOrigin, total.length * 2));
+        if (from < origin) {
+            newOrigin = newEnd - capacity;
+        } else {
+            newEnd = newOrigin + capacity;
+        }
+
+        int offset = origin - newOrigin;
+        total = copyInto(unknownArray(capacity), total, offset);
+        available = copyInto(new int[capacity], available, offset);
+        booked = copyInto(new int[capacity], booked, offset);
+        origin = newOrigin;
+        rebuildTree();
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static int[] unknownArray(int capacity) {
+        int[] array = new int[capacity];
+        Arrays.fill(array, UNKNOWN);
+        return array;
+    }
+
+    private static int[] copyInto(int[] target, int[] source, int offset) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return target;
+    }
+
+    private static int[] copyRange(int[] target, int[] source, int skip) {
+        System.arraycopy(source, skip, target, 0, source.length - skip);
+        return target;
+    }
+
+    public static int epochDay(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,21 @@
+package com.stayhub.booking_service.inventory;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A (property, room type) pair. The natural order is the canonical lock order: a transaction that
+ * reserves several room types takes their locks in this order, so two of them never wait on each
+ * other in a cycle.
+ */
+public record RoomTypeKey(UUID propertyId, UUID roomTypeId) implements Comparable<RoomTypeKey> {
+
+    private static final Comparator<RoomTypeKey> LOCK_ORDER = Comparator
+            .comparing(RoomTypeKey::propertyId)
+            .thenComparing(RoomTypeKey::roomTypeId);
+
+    @Override
+    public int compareTo(RoomTypeKey other) {
+        return LOCK_ORDER.compare(this, other);
+    }
+}
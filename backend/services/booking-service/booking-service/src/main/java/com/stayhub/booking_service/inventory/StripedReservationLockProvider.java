@@ -0,0 +1,76 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed power-of-two array of JVM locks indexed by the (property, room type) hash.
+ * Nothing is allocated per call and the array never grows. Only valid for a single instance.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.lock.provider", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class StripedReservationLockProvider implements ReservationLockProvider {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long timeoutMillis;
+    private final ReservationLockMetrics metrics;
+
+    public StripedReservationLockProvider(@Value("${booking.reservation.lock.stripes:1024}") int stripeCount,
+                                          @Value("${booking.reservation.lock.timeout-ms:10000}") long timeoutMillis,
+                                          MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.timeoutMillis = timeoutMillis;
+        this.metrics = new ReservationLockMetrics(meterRegistry, "local");
+        log.info("Using {} striped reservation locks", size);
+    }
+
+    @Override
+    public ReservationLock acquire(UUID propertyId, UUID roomTypeId) {
+        Stripe stripe = stripeFor(propertyId, roomTypeId);
+        long start = System.nanoTime();
+        try {
+            if (!stripe.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                metrics.recordTimeout(start);
+                throw new ConcurrentBookingException("Could not acquire booking lock");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentBookingException("Booking interrupted");
+        }
+        metrics.recordWait(start);
+        return stripe;
+    }
+
+    /**
+     * Stripe index for a pair; lines that share a stripe are serialized together
+     */
+    public int stripeIndex(UUID propertyId, UUID roomTypeId) {
+        return (int) ReservationLockProvider.lockKey(propertyId, roomTypeId) & mask;
+    }
+
+    private Stripe stripeFor(UUID propertyId, UUID roomTypeId) {
+        return stripes[stripeIndex(propertyId, roomTypeId)];
+    }
+
+    private static final class Stripe extends ReentrantLock implements ReservationLock {
+        @Override
+        public void close() {
+            unlock();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.stayhub.booking_service.pricing;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replays the booking history of properties under several {@link PricingStrategy} configurations.
+ * <p>
+ * Every stay is repriced as if quoted when it was booked: nightly rates from the strategy's
+ * calendar and the room type's owner seasons, demand from the rooms still open on its tightest
+ * night at that moment (replayed from the earlier bookings and cancellations), timing from the
+ * booking date and the length of stay. A guest who paid {@code paid} is assumed to take a stay
+ * priced {@code price} with weight {@code (price / paid)^-elasticity}, capped at maxUplift, and the
+ * stay's revenue and room nights count with that weight. Demand turned away in the past is not in
+ * the history, so with a cap of 1 cheaper prices never add bookings.
+ * <p>
+ * One pass over a room type's history serves every strategy. Instances are immutable and shared
+ * by the {@link BacktestTask}s of a run.
+ */
+public final class Backtest {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private static final Comparator<PropertyHistory.Stay> BY_BOOKED_AT =
+            Comparator.comparingLong(PropertyHistory.Stay::bookedAt);
+    private static final Comparator<PropertyHistory.Stay> BY_CANCELLED_AT =
+            Comparator.comparingLong(PropertyHistory.Stay::cancelledAt);
+
+    private final List<PricingStrategy> strategies;
+    private final PricingCalendar[] calendars;
+    private final long from;
+    private final long to;
+    private final double elasticity;
+    private final double maxUplift;
+
+    /**
+     * @param from first check-in date of the window
+     * @param to   end of the window, exclusive; stays may check out after it
+     */
+    public Backtest(List<PricingStrategy> strategies, HolidayCalendar holidays, LocalDate from, LocalDate to,
+                    double elasticity, double maxUplift) {
+        this.strategies = List.copyOf(strategies);
+        this.calendars = new PricingCalendar[strategies.size()];
+        // Stays checking in at the end of the window may run into the next year
+        for (int s = 0; s < calendars.length; s++) {
+            calendars[s] = strategies.get(s).calendar(from.getYear(), to.getYear() + 2, holidays);
+        }
+        this.from = from.toEpochDay();
+        this.to = to.toEpochDay();
+        this.elasticity = elasticity;
+        this.maxUplift = maxUplift;
+    }
+
+    public int strategies() {
+        return strategies.size();
+    }
+
+    /**
+     * Outcomes in the order of {@code properties}, evaluated in parallel on the calling thread's
+     * fork/join pool; call it from a task of that pool
+     */
+    public Outcome[] evaluate(List<PropertyHistory> properties) {
+        Outcome[] outcomes = new Outcome[properties.size()];
+        new BacktestTask(this, properties, outcomes, 0, outcomes.length).invoke();
+        return outcomes;
+    }
+
+    Outcome evaluate(PropertyHistory property) {
+        Outcome outcome = new Outcome(property.propertyId(), strategies.size());
+        for (PropertyHistory.RoomTypeHistory roomType : property.roomTypes()) {
+            replay(roomType, outcome);
+        }
+        return outcome;
+    }
+
+    private void replay(PropertyHistory.RoomTypeHistory roomType, Outcome outcome) {
+        int[] capacity = roomType.capacity();
+        int[] booked = new int[capacity.length];
+        for (int night = 0; night < capacity.length && from + night < to; night++) {
+            outcome.capacityRoomNights += capacity[night];
+        }
+
+        List<PropertyHistory.Stay> byBookedAt = new ArrayList<>(roomType.stays());
+        byBookedAt.sort(BY_BOOKED_AT);
+        List<PropertyHistory.Stay> byCancelledAt = new ArrayList<>();
+        for (PropertyHistory.Stay stay : byBookedAt) {
+            if (stay.isCancelled()) {
+                byCancelledAt.add(stay);
+            }
+        }
+        byCancelledAt.sort(BY_CANCELLED_AT);
+
+        int cancelled = 0;
+        for (PropertyHistory.Stay stay : byBookedAt) {
+            // A stay cancelled before this booking no longer held its rooms
+            while (cancelled < byCancelledAt.size()
+                    && byCancelledAt.get(cancelled).cancelledAt() <= stay.bookedAt()) {
+                PropertyHistory.Stay release = byCancelledAt.get(cancelled++);
+                if (release.bookedAt() <= stay.bookedAt()) {
+                    hold(booked, release, -release.rooms());
+                }
+            }
+
+            int minAvailable = Integer.MAX_VALUE;
+            for (long day = stay.checkIn(); day < stay.checkOut(); day++) {
+                int night = (int) (day - from);
+                minAvailable = Math.min(minAvailable, Math.max(0, capacity[night] - booked[night]));
+            }
+            hold(booked, stay, stay.rooms());
+            if (!stay.isCancelled()) {
+                price(roomType, stay, minAvailable == Integer.MAX_VALUE ? null : minAvailable, outcome);
+            }
+        }
+    }
+
+    private void price(PropertyHistory.RoomTypeHistory roomType, PropertyHistory.Stay stay, Integer minAvailable,
+                       Outcome outcome) {
+        long nights = stay.checkOut() - stay.checkIn();
+        long nightsInWindow = Math.min(stay.checkOut(), to) - stay.checkIn();
+        long daysAhead = stay.checkIn() - Math.floorDiv(stay.bookedAt(), SECONDS_PER_DAY);
+
+        outcome.stays++;
+        outcome.bookedRevenueCents += stay.paidCents();
+        outcome.bookedRoomNights += nightsInWindow * stay.rooms();
+
+        for (int s = 0; s < calendars.length; s++) {
+            PricingStrategy strategy = strategies.get(s);
+            long stayRates = 0;
+            for (long day = stay.checkIn(); day < stay.checkOut(); day++) {
+                stayRates += roomType.basePriceCents() * calendars[s].nightFactor(day, roomType.seasons());
+            }
+            long cents = PricingEngine.price(stayRates, stay.rooms(), new PricingEngine.Factors(
+                    strategy.demandFactor(minAvailable, roomType.totalRooms()),
+                    strategy.timingFactor(daysAhead),
+                    strategy.lengthOfStayFactor(nights)));
+
+            double weight = stay.paidCents() > 0
+                    ? Math.min(maxUplift, Math.pow((double) cents / stay.paidCents(), -elasticity))
+                    : 1.0;
+            outcome.revenueCents[s] += cents * weight;
+            outcome.roomNights[s] += nightsInWindow * stay.rooms() * weight;
+        }
+    }
+
+    private void hold(int[] booked, PropertyHistory.Stay stay, int rooms) {
+        for (long day = stay.checkIn(); day < stay.checkOut(); day++) {
+            booked[(int) (day - from)] += rooms;
+        }
+    }
+
+    /**
+     * Booked and replayed results of one property; strategy arrays follow the constructor's order
+     */
+    public static final class Outcome {
+
+        private final UUID propertyId;
+        private int stays;
+        private long bookedRevenueCents;
+        private long bookedRoomNights;
+        private long capacityRoomNights;
+        private final double[] revenueCents;
+        private final double[] roomNights;
+
+        Outcome(UUID propertyId, int strategies) {
+            this.propertyId = propertyId;
+            this.revenueCents = new double[strategies];
+            this.roomNights = new double[strategies];
+        }
+
+        public UUID getPropertyId() {
+            return propertyId;
+        }
+
+        /**
+         * Stays that were not cancelled
+         */
+        public int getStays() {
+            return stays;
+        }
+
+        public long getBookedRevenueCents() {
+            return bookedRevenueCents;
+        }
+
+        public long getBookedRoomNights() {
+            return bookedRoomNights;
+        }
+
+        /**
+         * Rooms that could be sold over the window's nights
+         */
+        public long getCapacityRoomNights() {
+            return capacityRoomNights;
+        }
+
+        public double getRevenueCents(int strategy) {
+            return revenueCents[strategy];
+        }
+
+        public double getRoomNights(int strategy) {
+            return roomNights[strategy];
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.stayhub.booking_service.pricing;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates properties [from, to) of a list, halving the range until it is small enough to
+ * replay directly. Properties are independent, so each outcome is written to its own slot.
+ */
+class BacktestTask extends RecursiveAction {
+
+    // Few enough that a large property does not leave other workers idle at the end of a run
+    static final int PROPERTIES_PER_TASK = 4;
+
+    private final Backtest backtest;
+    private final List<PropertyHistory> properties;
+    private final Backtest.Outcome[] outcomes;
+    private final int from;
+    private final int to;
+
+    BacktestTask(Backtest backtest, List<PropertyHistory> properties, Backtest.Outcome[] outcomes, int from, int to) {
+        this.backtest = backtest;
+        this.properties = properties;
+        this.outcomes = outcomes;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= PROPERTIES_PER_TASK) {
+            for (int i = from; i < to; i++) {
+                outcomes[i] = backtest.evaluate(properties.get(i));
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new BacktestTask(backtest, properties, outcomes, from, middle),
+                new BacktestTask(backtest, properties, outcomes, middle, to));
+    }
+}
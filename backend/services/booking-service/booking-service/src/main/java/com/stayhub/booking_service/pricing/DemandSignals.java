@@ -0,0 +1,255 @@
+package com.stayhub.booking_service.pricing;
+
+import com.stayhub.booking_service.inventory.InventoryDelta;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.NightAvailability;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory available rooms per room type per night, so demand pricing never waits on the database.
+ * <p>
+ * Committed reservations and releases are applied incrementally; a periodic reconcile reloads
+ * every room type over the horizon and replaces its snapshot, correcting drift from writes made
+ * by other instances or racing the reload. A room type not seen yet is loaded on first use.
+ */
+@Component
+@Slf4j
+public class DemandSignals {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final LongSupplier today;
+    private final int horizonDays;
+    private final int chunkSize;
+
+    private final Map<UUID, DemandSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Counter misses;
+    private final Counter drift;
+
+    @Autowired
+    public DemandSignals(AvailabilityRepository availabilityRepository,
+                         RoomTypeRepository roomTypeRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${booking.pricing.demand.horizon-days:365}") int horizonDays,
+                         @Value("${booking.pricing.demand.chunk-size:200}") int chunkSize) {
+        this(availabilityRepository, roomTypeRepository, meterRegistry,
+                () -> LocalDate.now().toEpochDay(), horizonDays, chunkSize);
+    }
+
+    DemandSignals(AvailabilityRepository availabilityRepository, RoomTypeRepository roomTypeRepository,
+                  MeterRegistry meterRegistry, LongSupplier today, int horizonDays, int chunkSize) {
+        this.availabilityRepository = availabilityRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.today = today;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+        this.misses = Counter.builder("pricing.demand.misses")
+                .description("Quotes for room types not yet in memory, loaded from the database")
+                .register(meterRegistry);
+        this.drift = Counter.builder("pricing.demand.drift")
+                .description("Nights whose in-memory availability was corrected by a reconcile")
+                .register(meterRegistry);
+        Gauge.builder("pricing.demand.room-types", snapshots, Map::size)
+                .description("Room types with demand signals in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fewest rooms left on any night of [checkIn, checkOut), or null if no night is known
+     */
+    public Integer minAvailable(UUID roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        if (roomTypeId == null) {
+            return null;
+        }
+        DemandSnapshot snapshot = snapshots.get(roomTypeId);
+        if (snapshot == null) {
+            snapshot = loadMissing(roomTypeId);
+            if (snapshot == null) {
+                return null;
+            }
+        }
+        return snapshot.minAvailable(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Load the room types not in memory yet with one query per chunk, ahead of a batch of quotes
+     */
+    public void preload(Collection<UUID> roomTypeIds) {
+        List<UUID> missing = new ArrayList<>();
+        for (UUID roomTypeId : roomTypeIds) {
+            if (roomTypeId != null && !snapshots.containsKey(roomTypeId)) {
+                missing.add(roomTypeId);
+            }
+        }
+        for (int i = 0; i < missing.size(); i += chunkSize) {
+            List<UUID> chunk = missing.subList(i, Math.min(i + chunkSize, missing.size()));
+            misses.increment(chunk.size());
+            try {
+                load(chunk).forEach(snapshots::putIfAbsent);
+            } catch (RuntimeException e) {
+                log.warn("Could not load demand signals for {} room types: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rooms left on each of {@code nights} nights from {@code from}, -1 where unknown
+     */
+    public int[] available(UUID roomTypeId, LocalDate from, int nights) {
+        int[] available = new int[nights];
+        DemandSnapshot snapshot = snapshots.get(roomTypeId);
+        if (snapshot == null) {
+            snapshot = loadMissing(roomTypeId);
+        }
+        if (snapshot == null) {
+            Arrays.fill(available, -1);
+            return available;
+        }
+        snapshot.fill(from.toEpochDay(), available);
+        for (int i = 0; i < nights; i++) {
+            if (available[i] == DemandSnapshot.MISSING) {
+                available[i] = -1;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Take {@code rooms} off [checkIn, checkOut) once the current transaction commits
+     */
+    public void reservedAfterCommit(UUID roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        afterCommit(() -> adjust(roomTypeId, checkIn, checkOut, -rooms));
+    }
+
+    /**
+     * Give {@code rooms} back to [checkIn, checkOut) once the current transaction commits
+     */
+    public void releasedAfterCommit(UUID roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        afterCommit(() -> adjust(roomTypeId, checkIn, checkOut, rooms));
+    }
+
+    /**
+     * Apply a booking modification's per-night change once the current transaction commits
+     */
+    public void appliedAfterCommit(UUID roomTypeId, InventoryDelta delta) {
+        afterCommit(() -> {
+            for (InventoryDelta.Run run : delta.runs()) {
+                adjust(roomTypeId, run.start(), run.end(), -run.rooms());
+            }
+        });
+    }
+
+    /**
+     * Drop a room type once the current transaction finishes, for direct edits of its inventory
+     */
+    public void invalidateAfterTransaction(UUID roomTypeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshots.remove(roomTypeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                snapshots.remove(roomTypeId);
+            }
+        });
+    }
+
+    /**
+     * Reload every room type over the horizon, one query per chunk, and count corrected nights
+     */
+    @Scheduled(fixedDelayString = "${booking.pricing.demand.reconcile-ms:300000}")
+    public void reconcile() {
+        long startedAt = System.currentTimeMillis();
+        List<UUID> roomTypeIds = roomTypeRepository.findAllIds();
+        Set<UUID> current = new HashSet<>(roomTypeIds);
+        long corrected = 0;
+        for (int i = 0; i < roomTypeIds.size(); i += chunkSize) {
+            List<UUID> chunk = roomTypeIds.subList(i, Math.min(i + chunkSize, roomTypeIds.size()));
+            try {
+                for (Map.Entry<UUID, DemandSnapshot> loaded : load(chunk).entrySet()) {
+                    DemandSnapshot previous = snapshots.put(loaded.getKey(), loaded.getValue());
+                    corrected += loaded.getValue().differences(previous);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to reconcile demand signals for {} room types starting at {}",
+                        chunk.size(), chunk.get(0), e);
+            }
+        }
+        snapshots.keySet().retainAll(current);
+        drift.increment(corrected);
+
+        log.info("Reconciled demand signals for {} room types: {} nights corrected in {} ms",
+                roomTypeIds.size(), corrected, System.currentTimeMillis() - startedAt);
+    }
+
+    private DemandSnapshot loadMissing(UUID roomTypeId) {
+        misses.increment();
+        try {
+            DemandSnapshot loaded = load(List.of(roomTypeId)).get(roomTypeId);
+            // A reconcile may have got there first
+            DemandSnapshot existing = snapshots.putIfAbsent(roomTypeId, loaded);
+            return existing != null ? existing : loaded;
+        } catch (RuntimeException e) {
+            log.warn("Could not load demand signals for room type {}: {}", roomTypeId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<UUID, DemandSnapshot> load(List<UUID> roomTypeIds) {
+        long firstDay = today.getAsLong();
+        Map<UUID, DemandSnapshot> loaded = new HashMap<>();
+        for (UUID roomTypeId : roomTypeIds) {
+            loaded.put(roomTypeId, new DemandSnapshot(firstDay, horizonDays));
+        }
+        List<NightAvailability> nights = availabilityRepository.findNightsByRoomTypes(roomTypeIds,
+                LocalDate.ofEpochDay(firstDay), LocalDate.ofEpochDay(firstDay + horizonDays - 1));
+        for (NightAvailability night : nights) {
+            loaded.get(night.getRoomTypeId()).put(night.getDate().toEpochDay(), night.getAvailableRooms());
+        }
+        return loaded;
+    }
+
+    private void adjust(UUID roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        DemandSnapshot snapshot = snapshots.get(roomTypeId);
+        if (snapshot != null) {
+            snapshot.adjust(checkIn.toEpochDay(), checkOut.toEpochDay(), rooms);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.stayhub.booking_service.pricing;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Available rooms of one room type per night over a fixed window starting at {@code firstDay}.
+ * Nights never seen in the availabilities table are marked missing and ignored by
+ * {@link #minAvailable}, the same as the SQL MIN over existing rows.
+ */
+final class DemandSnapshot {
+
+    static final int MISSING = Integer.MIN_VALUE;
+
+    private final long firstDay;
+    private final AtomicIntegerArray available;
+
+    DemandSnapshot(long firstDay, int days) {
+        this.firstDay = firstDay;
+        this.available = new AtomicIntegerArray(days);
+        for (int i = 0; i < days; i++) {
+            available.set(i, MISSING);
+        }
+    }
+
+    void put(long day, int rooms) {
+        long i = day - firstDay;
+        if (i >= 0 && i < available.length()) {
+            available.set((int) i, rooms);
+        }
+    }
+
+    /**
+     * Add {@code rooms} (negative for reservations) to every known night in [from, to)
+     */
+    void adjust(long from, long to, int rooms) {
+        int start = (int) Math.max(0, from - firstDay);
+        int end = (int) Math.min(available.length(), to - firstDay);
+        for (int i = start; i < end; i++) {
+            available.getAndUpdate(i, current -> current == MISSING ? MISSING : current + rooms);
+        }
+    }
+
+    /**
+     * Fewest available rooms on a known night of [from, to), or null if none is known
+     */
+    Integer minAvailable(long from, long to) {
+        int start = (int) Math.max(0, from - firstDay);
+        int end = (int) Math.min(available.length(), to - firstDay);
+        int min = Integer.MAX_VALUE;
+        boolean known = false;
+        for (int i = start; i < end; i++) {
+            int rooms = available.get(i);
+            if (rooms != MISSING) {
+                min = Math.min(min, rooms);
+                known = true;
+            }
+        }
+        return known ? min : null;
+    }
+
+    /**
+     * Copy the available rooms of {@code out.length} nights from {@code from}, MISSING where unknown
+     */
+    void fill(long from, int[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = at(from + i);
+        }
+    }
+
+    /**
+     * Nights of this snapshot whose value differs from {@code previous}, where both cover them
+     */
+    int differences(DemandSnapshot previous) {
+        if (previous == null) {
+            return 0;
+        }
+        int differences = 0;
+        for (int i = 0; i < available.length(); i++) {
+            int before = previous.at(firstDay + i);
+            if (before != MISSING && before != available.get(i)) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    private int at(long day) {
+        long i = day - firstDay;
+        return i >= 0 && i < available.length() ? available.get((int) i) : MISSING;
+    }
+}
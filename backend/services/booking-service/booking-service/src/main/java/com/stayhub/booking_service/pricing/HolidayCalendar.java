@@ -0,0 +1,75 @@
+package com.stayhub.booking_service.pricing;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Days that carry the holiday surcharge: recurring ones by month and day, plus dated ones for
+ * movable holidays.
+ * <p>
+ * Parsed from holiday files with one entry per line, {@code MM-DD name} or {@code YYYY-MM-DD name};
+ * blank lines and lines starting with {@code #} are skipped.
+ */
+public final class HolidayCalendar {
+
+    /**
+     * Built-in holidays, used when no holiday file is configured
+     */
+    public static final HolidayCalendar DEFAULT = new HolidayCalendar(Set.of(
+            MonthDay.of(1, 1),    // New Year's Day
+            MonthDay.of(7, 4),    // Independence Day (US)
+            MonthDay.of(12, 25),  // Christmas
+            MonthDay.of(12, 31)), // New Year's Eve
+            Set.of());
+
+    private final Set<MonthDay> recurring;
+    private final Set<LocalDate> dated;
+
+    private HolidayCalendar(Set<MonthDay> recurring, Set<LocalDate> dated) {
+        this.recurring = recurring;
+        this.dated = dated;
+    }
+
+    /**
+     * Union of the entries of several holiday files, each given as its lines
+     *
+     * @throws IllegalArgumentException naming the source and line of the first malformed entry
+     */
+    public static HolidayCalendar parse(List<String> sources, List<List<String>> files) {
+        Set<MonthDay> recurring = new HashSet<>();
+        Set<LocalDate> dated = new HashSet<>();
+        for (int f = 0; f < files.size(); f++) {
+            List<String> lines = files.get(f);
+            for (int n = 0; n < lines.size(); n++) {
+                String line = lines.get(n).strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String date = line.split("\\s+", 2)[0];
+                try {
+                    if (date.length() == 5) {
+                        recurring.add(MonthDay.parse("--" + date));
+                    } else {
+                        dated.add(LocalDate.parse(date));
+                    }
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException(
+                            String.format("Invalid holiday '%s' at %s:%d", date, sources.get(f), n + 1), e);
+                }
+            }
+        }
+        return new HolidayCalendar(Set.copyOf(recurring), Set.copyOf(dated));
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return recurring.contains(MonthDay.from(date)) || dated.contains(date);
+    }
+
+    public int size() {
+        return recurring.size() + dated.size();
+    }
+}
@@ -0,0 +1,97 @@
+package com.stayhub.booking_service.pricing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The holiday calendar loaded from the configured holiday files, reloaded when one of them changes.
+ * A file that fails to parse on reload leaves the previous calendar in place.
+ */
+@Component
+@Slf4j
+public class HolidayFiles {
+
+    private final List<String> locations;
+    private final List<Resource> resources = new ArrayList<>();
+
+    private volatile HolidayCalendar current;
+    // Guards lastModified; held while the files are read
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private long[] lastModified;
+
+    public HolidayFiles(ResourceLoader resourceLoader,
+                        @Value("${booking.pricing.holidays.files:classpath:pricing/holidays.txt}")
+                        List<String> locations) {
+        this.locations = List.copyOf(locations);
+        for (String location : this.locations) {
+            resources.add(resourceLoader.getResource(location));
+        }
+        this.lastModified = lastModified();
+        this.current = load();
+        log.info("Loaded {} holidays from {}", current.size(), this.locations);
+    }
+
+    public HolidayCalendar current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.pricing.holidays.reload-ms:60000}")
+    public void reloadIfChanged() {
+        reloadLock.lock();
+        try {
+            long[] modified = lastModified();
+            if (Arrays.equals(modified, lastModified)) {
+                return;
+            }
+            lastModified = modified;
+            try {
+                current = load();
+                log.info("Reloaded {} holidays from {}", current.size(), locations);
+            } catch (RuntimeException e) {
+                log.error("Keeping previous holidays, failed to reload {}", locations, e);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private HolidayCalendar load() {
+        List<List<String>> files = new ArrayList<>();
+        for (Resource resource : resources) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                files.add(reader.lines().toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read holiday file " + resource.getDescription(), e);
+            }
+        }
+        return HolidayCalendar.parse(locations, files);
+    }
+
+    private long[] lastModified() {
+        long[] modified = new long[resources.size()];
+        for (int i = 0; i < modified.length; i++) {
+            try {
+                modified[i] = resources.get(i).lastModified();
+            } catch (IOException e) {
+                // Inside a jar, or unreadable: never reloaded
+                modified[i] = -1;
+            }
+        }
+        return modified;
+    }
+}
@@ -0,0 +1,109 @@
+package com.stayhub.booking_service.pricing;
+
+import java.time.LocalDate;
+
+/**
+ * Date-dependent part of the nightly rate for a fixed window of years, indexed by epoch day.
+ * <p>
+ * The night factor of a day is its seasonal factor times the weekend (Friday and Saturday) and
+ * holiday surcharges, in millionths. An owner season replaces the default seasonal factor on the
+ * nights it covers; the surcharges still apply. Days outside the window are computed directly.
+ */
+public final class PricingCalendar {
+
+    private final int fromYear;
+    private final int toYearExclusive;
+    private final int firstDay;
+    private final int[] seasonByMonth;
+    private final HolidayCalendar holidays;
+    private final int weekend;
+    private final int holiday;
+    private final int[] nightFactors;
+    private final int[] surcharges;
+
+    /**
+     * @param seasonByMonth seasonal factor in hundredths, indexed by month 1-12
+     */
+    public PricingCalendar(int fromYear, int toYearExclusive, int[] seasonByMonth) {
+        this(fromYear, toYearExclusive, seasonByMonth, HolidayCalendar.DEFAULT);
+    }
+
+    public PricingCalendar(int fromYear, int toYearExclusive, int[] seasonByMonth, HolidayCalendar holidays) {
+        this(fromYear, toYearExclusive, seasonByMonth, holidays, PricingEngine.WEEKEND, PricingEngine.HOLIDAY);
+    }
+
+    /**
+     * @param weekend Friday and Saturday surcharge in hundredths
+     * @param holiday holiday surcharge in hundredths
+     */
+    public PricingCalendar(int fromYear, int toYearExclusive, int[] seasonByMonth, HolidayCalendar holidays,
+                           int weekend, int holiday) {
+        this.fromYear = fromYear;
+        this.toYearExclusive = toYearExclusive;
+        this.firstDay = (int) LocalDate.of(fromYear, 1, 1).toEpochDay();
+        this.seasonByMonth = seasonByMonth.clone();
+        this.holidays = holidays;
+        this.weekend = weekend;
+        this.holiday = holiday;
+
+        int days = (int) LocalDate.of(toYearExclusive, 1, 1).toEpochDay() - firstDay;
+        this.nightFactors = new int[days];
+        this.surcharges = new int[days];
+        LocalDate date = LocalDate.ofEpochDay(firstDay);
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            surcharges[i] = surcharge(date);
+            nightFactors[i] = this.seasonByMonth[date.getMonthValue()] * surcharges[i];
+        }
+    }
+
+    /**
+     * Multiplier on the base price for the night of {@code day}, in millionths
+     */
+    public int nightFactor(long day) {
+        long i = day - firstDay;
+        if (i >= 0 && i < nightFactors.length) {
+            return nightFactors[(int) i];
+        }
+        LocalDate date = LocalDate.ofEpochDay(day);
+        return seasonByMonth[date.getMonthValue()] * surcharge(date);
+    }
+
+    /**
+     * Same as {@link #nightFactor(long)} with the room type's owner seasons applied
+     */
+    public int nightFactor(long day, SeasonIndex seasons) {
+        int season = seasons.factor(day);
+        if (season == 0) {
+            return nightFactor(day);
+        }
+        long i = day - firstDay;
+        return season * (i >= 0 && i < surcharges.length
+                ? surcharges[(int) i]
+                : surcharge(LocalDate.ofEpochDay(day)));
+    }
+
+    /**
+     * The same window and seasonal factors with other holidays
+     */
+    public PricingCalendar withHolidays(HolidayCalendar holidays) {
+        return new PricingCalendar(fromYear, toYearExclusive, seasonByMonth, holidays, weekend, holiday);
+    }
+
+    public HolidayCalendar getHolidays() {
+        return holidays;
+    }
+
+    /**
+     * Weekend and holiday surcharges of a day, in ten-thousandths
+     */
+    private int surcharge(LocalDate date) {
+        return (isWeekend(date.toEpochDay()) ? weekend : PricingEngine.ONE)
+                * (holidays.isHoliday(date) ? holiday : PricingEngine.ONE);
+    }
+
+    static boolean isWeekend(long epochDay) {
+        // Friday is 4 and Saturday 5
+        int dayOfWeek = SeasonIndex.weekday(epochDay);
+        return dayOfWeek == 4 || dayOfWeek == 5;
+    }
+}
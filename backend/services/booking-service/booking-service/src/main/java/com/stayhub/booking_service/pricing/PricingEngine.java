@@ -0,0 +1,281 @@
+package com.stayhub.booking_service.pricing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Dynamic pricing in fixed-point long arithmetic.
+ * <p>
+ * A stay costs the sum of its nightly rates, read in O(1) from the room type's
+ * {@link RateCalendar}, times the stay-level demand, timing and length-of-stay factors. Rate
+ * tables are rebuilt when the holiday files or the room type's owner seasons are reloaded. Money is
+ * held in cents, rates in millionths of a cent and factors in hundredths; the product is exact
+ * and rounded once, half up, to cents.
+ */
+@Component
+public class PricingEngine {
+
+    static final int ONE = 100;
+
+    static final int WEEKEND = 125;
+    static final int HOLIDAY = 150;
+    static final int LAST_MINUTE_DISCOUNT = 85;
+    static final int EARLY_BIRD_DISCOUNT = 90;
+    static final int HIGH_DEMAND = 140;
+    static final int LOW_DEMAND = 80;
+    static final int MONTHLY_STAY_DISCOUNT = 80;
+    static final int WEEKLY_STAY_DISCOUNT = 90;
+    static final int SHORT_STAY_DISCOUNT = 95;
+
+    // Seasonal factor by month, index 0 unused
+    static final int[] SEASONAL = {
+            ONE,
+            85,  // January - Low season
+            90,  // February
+            100, // March
+            110, // April
+            115, // May
+            130, // June - High season
+            135, // July - Peak season
+            135, // August - Peak season
+            120, // September
+            110, // October
+            95,  // November
+            125  // December - Holiday season
+    };
+
+    // Millionths of a cent x hundredths^3 back to cents
+    private static final long PRICE_DIVISOR = 1_000_000_000_000L;
+    private static final int PRICE_SCALE = 12;
+
+    // Rate tables this many days behind today are rebuilt to move the horizon forward
+    private static final long REBUILD_AFTER_DAYS = 7;
+
+    private final Supplier<HolidayCalendar> holidays;
+    private final Function<UUID, SeasonIndex> seasons;
+    private final LongSupplier today;
+    private final int horizonDays;
+    private final Map<UUID, RateCalendar> rates = new ConcurrentHashMap<>();
+
+    private volatile PricingCalendar calendar;
+    private final ReentrantLock calendarLock = new ReentrantLock();
+
+    @Autowired
+    public PricingEngine(HolidayFiles holidayFiles, PricingRules pricingRules,
+                         @Value("${booking.pricing.horizon-days:730}") int horizonDays) {
+        this(new PricingCalendar(LocalDate.now().getYear() - 1, LocalDate.now().getYear() + 6, SEASONAL,
+                        holidayFiles.current()),
+                holidayFiles::current, pricingRules::forRoomType,
+                () -> LocalDate.now().toEpochDay(), horizonDays);
+    }
+
+    PricingEngine(PricingCalendar calendar, LongSupplier today, int horizonDays) {
+        this(calendar, calendar::getHolidays, roomTypeId -> SeasonIndex.EMPTY, today, horizonDays);
+    }
+
+    PricingEngine(PricingCalendar calendar, Supplier<HolidayCalendar> holidays,
+                  Function<UUID, SeasonIndex> seasons, LongSupplier today, int horizonDays) {
+        this.calendar = calendar;
+        this.holidays = holidays;
+        this.seasons = seasons;
+        this.today = today;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Total price in cents for {@code numberOfRooms} rooms over [checkIn, checkOut)
+     *
+     * @param minAvailable fewest rooms left on any night of the stay, or null if unknown
+     */
+    public long quote(UUID roomTypeId, long basePriceCents, LocalDate checkIn, LocalDate checkOut,
+                      int numberOfRooms, Integer minAvailable, Integer totalRooms) {
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        long stayRates = rates(roomTypeId, basePriceCents).stayTotal(from, to);
+
+        return price(stayRates, numberOfRooms,
+                demandFactor(minAvailable, totalRooms),
+                timingFactor(from - today.getAsLong()),
+                lengthOfStayFactor(to - from));
+    }
+
+    /**
+     * The stay-level factors of a quote, for price breakdowns
+     */
+    public Factors factors(LocalDate checkIn, LocalDate checkOut, Integer minAvailable, Integer totalRooms) {
+        long from = checkIn.toEpochDay();
+        return new Factors(
+                demandFactor(minAvailable, totalRooms),
+                timingFactor(from - today.getAsLong()),
+                lengthOfStayFactor(checkOut.toEpochDay() - from));
+    }
+
+    /**
+     * Price in cents of a one-room, one-night stay on each night from {@code from}, given the
+     * nights' rates and rooms left (negative where unknown)
+     */
+    public long[] oneNightPrices(long from, long[] nightlyRates, int[] available, Integer totalRooms) {
+        long daysUntil = from - today.getAsLong();
+        long[] prices = new long[nightlyRates.length];
+        for (int night = 0; night < prices.length; night++) {
+            prices[night] = price(nightlyRates[night], 1,
+                    demandFactor(available[night] < 0 ? null : available[night], totalRooms),
+                    timingFactor(daysUntil + night),
+                    ONE);
+        }
+        return prices;
+    }
+
+    /**
+     * Nightly rates of a room type, rebuilt when its base price, owner seasons or the holidays
+     * change, or the horizon has moved on
+     */
+    public RateCalendar rates(UUID roomTypeId, long basePriceCents) {
+        long firstDay = today.getAsLong();
+        PricingCalendar pricingCalendar = calendar();
+        if (roomTypeId == null) {
+            return new RateCalendar(basePriceCents, firstDay, 0, pricingCalendar, SeasonIndex.EMPTY);
+        }
+        SeasonIndex seasonIndex = seasons.apply(roomTypeId);
+        RateCalendar current = rates.get(roomTypeId);
+        if (current == null || current.getBasePriceCents() != basePriceCents
+                || current.getFirstDay() < firstDay - REBUILD_AFTER_DAYS
+                || !current.isBuiltFrom(pricingCalendar, seasonIndex)) {
+            current = new RateCalendar(basePriceCents, firstDay, horizonDays, pricingCalendar, seasonIndex);
+            rates.put(roomTypeId, current);
+        }
+        return current;
+    }
+
+    /**
+     * The pricing calendar for the current holidays, rebuilt once after a holiday file reload
+     */
+    private PricingCalendar calendar() {
+        PricingCalendar current = calendar;
+        HolidayCalendar currentHolidays = holidays.get();
+        if (current.getHolidays() == currentHolidays) {
+            return current;
+        }
+        // Quotes run on request threads, which may be virtual: a lock, not a monitor
+        calendarLock.lock();
+        try {
+            if (calendar.getHolidays() != currentHolidays) {
+                calendar = calendar.withHolidays(currentHolidays);
+            }
+            return calendar;
+        } finally {
+            calendarLock.unlock();
+        }
+    }
+
+    /**
+     * Total price in cents from the summed nightly rates of one room and the stay-level factors
+     */
+    public static long price(long stayRates, int numberOfRooms, Factors factors) {
+        return price(stayRates, numberOfRooms, factors.demand(), factors.timing(), factors.lengthOfStay());
+    }
+
+    /**
+     * Base price in cents; the base_price column has two decimals
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static long price(long stayRates, int numberOfRooms, int demand, int timing, int lengthOfStay) {
+        try {
+            long amount = Math.multiplyExact(stayRates, numberOfRooms);
+            long factors = Math.multiplyExact((long) demand * timing, lengthOfStay);
+            if (amount >= 0) {
+                return mulDivHalfUp(amount, factors, PRICE_DIVISOR);
+            }
+        } catch (ArithmeticException e) {
+            // Beyond 64 bits only for extreme amounts or factors
+        }
+        return BigDecimal.valueOf(stayRates)
+                .multiply(BigDecimal.valueOf(numberOfRooms))
+                .multiply(BigDecimal.valueOf((long) demand * timing))
+                .multiply(BigDecimal.valueOf(lengthOfStay))
+                .movePointLeft(PRICE_SCALE)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    static int demandFactor(Integer minAvailable, Integer totalRooms) {
+        return PricingStrategy.CURRENT.demandFactor(minAvailable, totalRooms);
+    }
+
+    static int timingFactor(long daysUntilCheckIn) {
+        return PricingStrategy.CURRENT.timingFactor(daysUntilCheckIn);
+    }
+
+    static int lengthOfStayFactor(long nights) {
+        return PricingStrategy.CURRENT.lengthOfStayFactor(nights);
+    }
+
+    /**
+     * numerator / denominator rounded half up (away from zero on ties), denominator positive
+     */
+    static long divideHalfUp(long numerator, long denominator) {
+        long quotient = (Math.abs(numerator) * 2 + denominator) / (denominator * 2);
+        return numerator < 0 ? -quotient : quotient;
+    }
+
+    /**
+     * a * b / divisor rounded half up, with the product kept at 128 bits.
+     * a and b non-negative, divisor below 2^62.
+     *
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    static long mulDivHalfUp(long a, long b, long divisor) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        long quotient;
+        long remainder;
+        if (high == 0 && low >= 0) {
+            quotient = low / divisor;
+            remainder = low % divisor;
+        } else {
+            if (high >= divisor) {
+                throw new ArithmeticException("long overflow");
+            }
+            // Shift-subtract division of high:low; remainder stays below 2^62 so never overflows
+            quotient = 0;
+            remainder = high;
+            for (int bit = 63; bit >= 0; bit--) {
+                remainder = (remainder << 1) | ((low >>> bit) & 1);
+                quotient <<= 1;
+                if (remainder >= divisor) {
+                    remainder -= divisor;
+                    quotient |= 1;
+                }
+            }
+            if (quotient < 0) {
+                throw new ArithmeticException("long overflow");
+            }
+        }
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+
+    /**
+     * Stay-level factors of one quote, in hundredths
+     */
+    public record Factors(int demand, int timing, int lengthOfStay) {
+
+        public static BigDecimal toDecimal(int hundredths) {
+            return hundredths == ONE ? BigDecimal.ONE : BigDecimal.valueOf(hundredths, 2);
+        }
+    }
+}
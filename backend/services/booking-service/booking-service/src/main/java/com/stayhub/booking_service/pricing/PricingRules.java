@@ -0,0 +1,161 @@
+package com.stayhub.booking_service.pricing;
+
+import com.stayhub.booking_service.entity.PricingRule;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.repository.PricingRuleRepository;
+import com.stayhub.booking_service.repository.PricingRuleVersion;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Owner pricing rules compiled into one {@link SeasonIndex} per room type.
+ * <p>
+ * A property's rules are recompiled after every committed change made here, and all rules are
+ * reloaded when the table's version moves, which picks up changes made by other instances. The
+ * {@link PricingEngine} rebuilds a room type's rate table when its index is replaced.
+ */
+@Component
+@Slf4j
+public class PricingRules {
+
+    // Room type rules before property-wide ones, then higher priority, then the later season
+    private static final Comparator<PricingRule> PRECEDENCE = Comparator
+            .comparing((PricingRule rule) -> rule.getRoomTypeId() == null)
+            .thenComparing(PricingRule::getPriority, Comparator.reverseOrder())
+            .thenComparing(PricingRule::getStartDate, Comparator.reverseOrder());
+
+    private final PricingRuleRepository ruleRepository;
+    private final RoomTypeRepository roomTypeRepository;
+
+    private final Map<UUID, SeasonIndex> byRoomType = new ConcurrentHashMap<>();
+    private volatile Version version;
+    // Reloads query the database; a monitor held across that would pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public PricingRules(PricingRuleRepository ruleRepository, RoomTypeRepository roomTypeRepository) {
+        this.ruleRepository = ruleRepository;
+        this.roomTypeRepository = roomTypeRepository;
+    }
+
+    /**
+     * Compiled seasons of a room type, empty if its property has no rules
+     */
+    public SeasonIndex forRoomType(UUID roomTypeId) {
+        return byRoomType.getOrDefault(roomTypeId, SeasonIndex.EMPTY);
+    }
+
+    /**
+     * Reload every rule if the table changed since the last load
+     */
+    @Scheduled(fixedDelayString = "${booking.pricing.rules.refresh-ms:30000}")
+    public void refreshIfChanged() {
+        PricingRuleVersion current = ruleRepository.findVersion();
+        Version latest = new Version(current.getRules(), current.getLastUpdated());
+        if (latest.equals(version)) {
+            return;
+        }
+        reloadAll();
+        version = latest;
+    }
+
+    /**
+     * Recompile a property's rules once the current transaction commits
+     */
+    public void reloadPropertyAfterCommit(UUID propertyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reloadProperty(propertyId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadProperty(propertyId);
+            }
+        });
+    }
+
+    public void reloadProperty(UUID propertyId) {
+        reloadLock.lock();
+        try {
+            List<PricingRule> rules = ruleRepository.findByPropertyIdOrderByStartDate(propertyId);
+            for (RoomType roomType : roomTypeRepository.findByPropertyId(propertyId)) {
+                install(roomType.getId(), rules);
+            }
+            log.info("Compiled {} pricing rules for property {}", rules.size(), propertyId);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void reloadAll() {
+        reloadLock.lock();
+        try {
+            Map<UUID, List<PricingRule>> byProperty = ruleRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(PricingRule::getPropertyId));
+            Set<UUID> withRules = new HashSet<>();
+            if (!byProperty.isEmpty()) {
+                for (RoomType roomType : roomTypeRepository.findByPropertyIdIn(byProperty.keySet())) {
+                    install(roomType.getId(), byProperty.get(roomType.getPropertyId()));
+                    withRules.add(roomType.getId());
+                }
+            }
+            byRoomType.keySet().retainAll(withRules);
+            log.info("Compiled pricing rules of {} properties into {} room type indexes",
+                    byProperty.size(), byRoomType.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void install(UUID roomTypeId, List<PricingRule> propertyRules) {
+        SeasonIndex index = compile(roomTypeId, propertyRules);
+        if (index.isEmpty()) {
+            byRoomType.remove(roomTypeId);
+        } else {
+            byRoomType.put(roomTypeId, index);
+        }
+    }
+
+    /**
+     * The seasons of one room type: its own rules and the property-wide ones, in precedence order
+     */
+    static SeasonIndex compile(UUID roomTypeId, List<PricingRule> propertyRules) {
+        List<PricingRule> applicable = new ArrayList<>();
+        for (PricingRule rule : propertyRules) {
+            if (rule.getRoomTypeId() == null || Objects.equals(rule.getRoomTypeId(), roomTypeId)) {
+                applicable.add(rule);
+            }
+        }
+        applicable.sort(PRECEDENCE);
+
+        List<SeasonIndex.Season> seasons = new ArrayList<>(applicable.size());
+        for (PricingRule rule : applicable) {
+            seasons.add(new SeasonIndex.Season(
+                    rule.getStartDate().toEpochDay(),
+                    rule.getEndDate().toEpochDay() + 1,
+                    rule.getWeekdayMask(),
+                    rule.getMultiplier().movePointRight(2).intValueExact()));
+        }
+        return SeasonIndex.compile(seasons);
+    }
+
+    private record Version(Long rules, LocalDateTime lastUpdated) {
+    }
+}
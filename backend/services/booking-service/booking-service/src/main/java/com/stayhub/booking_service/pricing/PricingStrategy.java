@@ -0,0 +1,104 @@
+package com.stayhub.booking_service.pricing;
+
+import lombok.Builder;
+
+/**
+ * The tunable constants of dynamic pricing. {@link #CURRENT} is what the {@link PricingEngine}
+ * charges; other instances are candidate configurations replayed by a {@link Backtest}.
+ * <p>
+ * Factors are in hundredths, occupancy thresholds in hundredths of a percent.
+ *
+ * @param seasonByMonth seasonal factor indexed by month 1-12, index 0 unused
+ */
+@Builder(toBuilder = true)
+public record PricingStrategy(
+        int[] seasonByMonth,
+        int weekend,
+        int holiday,
+        int highDemand,
+        int highOccupancy,
+        int lowDemand,
+        int lowOccupancy,
+        int lastMinuteDiscount,
+        int lastMinuteDays,
+        int earlyBirdDiscount,
+        int earlyBirdDays,
+        int monthlyStayDiscount,
+        int weeklyStayDiscount,
+        int shortStayDiscount) {
+
+    public static final PricingStrategy CURRENT = new PricingStrategy(
+            PricingEngine.SEASONAL,
+            PricingEngine.WEEKEND,
+            PricingEngine.HOLIDAY,
+            PricingEngine.HIGH_DEMAND, 8_000,
+            PricingEngine.LOW_DEMAND, 3_000,
+            PricingEngine.LAST_MINUTE_DISCOUNT, 3,
+            PricingEngine.EARLY_BIRD_DISCOUNT, 60,
+            PricingEngine.MONTHLY_STAY_DISCOUNT,
+            PricingEngine.WEEKLY_STAY_DISCOUNT,
+            PricingEngine.SHORT_STAY_DISCOUNT);
+
+    public PricingStrategy {
+        if (seasonByMonth.length != 13) {
+            throw new IllegalArgumentException("Seasonal factors must be indexed by month 1-12");
+        }
+        seasonByMonth = seasonByMonth.clone();
+    }
+
+    @Override
+    public int[] seasonByMonth() {
+        return seasonByMonth.clone();
+    }
+
+    /**
+     * High demand above the high occupancy, low demand below the low one (availability share
+     * rounded to 4 places)
+     */
+    public int demandFactor(Integer minAvailable, Integer totalRooms) {
+        if (minAvailable == null || totalRooms == null || totalRooms <= 0) {
+            return PricingEngine.ONE;
+        }
+        long occupancy = 10_000 - PricingEngine.divideHalfUp(minAvailable * 10_000L, totalRooms);
+        if (occupancy > highOccupancy) {
+            return highDemand;
+        }
+        if (occupancy < lowOccupancy) {
+            return lowDemand;
+        }
+        return PricingEngine.ONE;
+    }
+
+    /**
+     * Last minute within lastMinuteDays, early bird more than earlyBirdDays ahead
+     */
+    public int timingFactor(long daysUntilCheckIn) {
+        if (daysUntilCheckIn <= lastMinuteDays) {
+            return lastMinuteDiscount;
+        }
+        if (daysUntilCheckIn > earlyBirdDays) {
+            return earlyBirdDiscount;
+        }
+        return PricingEngine.ONE;
+    }
+
+    public int lengthOfStayFactor(long nights) {
+        if (nights >= 28) {
+            return monthlyStayDiscount;
+        }
+        if (nights >= 7) {
+            return weeklyStayDiscount;
+        }
+        if (nights >= 3) {
+            return shortStayDiscount;
+        }
+        return PricingEngine.ONE;
+    }
+
+    /**
+     * Date factors of this strategy for [fromYear, toYearExclusive)
+     */
+    public PricingCalendar calendar(int fromYear, int toYearExclusive, HolidayCalendar holidays) {
+        return new PricingCalendar(fromYear, toYearExclusive, seasonByMonth, holidays, weekend, holiday);
+    }
+}
@@ -0,0 +1,32 @@
+package com.stayhub.booking_service.pricing;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The bookings and capacity of one property inside a backtest window, as replayed by
+ * {@link Backtest}
+ */
+public record PropertyHistory(UUID propertyId, List<RoomTypeHistory> roomTypes) {
+
+    /**
+     * @param capacity rooms that could be sold on each night from the first night of the window,
+     *                 covering the last checkout of any stay
+     */
+    public record RoomTypeHistory(UUID roomTypeId, long basePriceCents, int totalRooms,
+                                  SeasonIndex seasons, int[] capacity, List<Stay> stays) {
+    }
+
+    /**
+     * One booking, times in epoch seconds and dates in epoch days
+     *
+     * @param cancelledAt {@link Long#MAX_VALUE} unless the booking was cancelled
+     * @param paidCents   what the guest was charged
+     */
+    public record Stay(long bookedAt, long cancelledAt, long checkIn, long checkOut, int rooms, long paidCents) {
+
+        public boolean isCancelled() {
+            return cancelledAt != Long.MAX_VALUE;
+        }
+    }
+}
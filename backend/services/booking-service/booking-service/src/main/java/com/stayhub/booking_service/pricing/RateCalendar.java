@@ -0,0 +1,101 @@
+package com.stayhub.booking_service.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Nightly rates of one room type over a rolling horizon, with prefix sums so the rate total of
+ * any [checkIn, checkOut) inside the horizon is one subtraction.
+ * <p>
+ * Rates are in millionths of a cent (base price in cents times the night factor, with the room
+ * type's owner seasons applied) so they stay exact; nights outside the horizon are rated one by one.
+ */
+public final class RateCalendar {
+
+    /**
+     * Decimal places of a rate below the cent
+     */
+    public static final int RATE_SCALE = 6;
+
+    private final long basePriceCents;
+    private final long firstDay;
+    private final long[] prefix;
+    private final PricingCalendar calendar;
+    private final SeasonIndex seasons;
+
+    public RateCalendar(long basePriceCents, long firstDay, int days,
+                        PricingCalendar calendar, SeasonIndex seasons) {
+        this.basePriceCents = basePriceCents;
+        this.firstDay = firstDay;
+        this.calendar = calendar;
+        this.seasons = seasons;
+        this.prefix = new long[days + 1];
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + basePriceCents * calendar.nightFactor(firstDay + i, seasons);
+        }
+    }
+
+    /**
+     * Rate of one room for the night of {@code day}
+     */
+    public long nightlyRate(long day) {
+        long i = day - firstDay;
+        return i >= 0 && i < prefix.length - 1
+                ? prefix[(int) i + 1] - prefix[(int) i]
+                : basePriceCents * calendar.nightFactor(day, seasons);
+    }
+
+    /**
+     * Sum of the nightly rates of one room over [from, to)
+     */
+    public long stayTotal(long from, long to) {
+        if (from >= firstDay && to <= firstDay + prefix.length - 1 && from <= to) {
+            return prefix[(int) (to - firstDay)] - prefix[(int) (from - firstDay)];
+        }
+        long total = 0;
+        for (long day = from; day < to; day++) {
+            total = Math.addExact(total, nightlyRate(day));
+        }
+        return total;
+    }
+
+    /**
+     * Rates of one room for {@code nights} consecutive nights from {@code from}
+     */
+    public long[] nightlyRates(long from, int nights) {
+        long[] nightly = new long[nights];
+        long i = from - firstDay;
+        if (i >= 0 && i + nights < prefix.length) {
+            for (int night = 0; night < nights; night++) {
+                nightly[night] = prefix[(int) i + night + 1] - prefix[(int) i + night];
+            }
+        } else {
+            for (int night = 0; night < nights; night++) {
+                nightly[night] = nightlyRate(from + night);
+            }
+        }
+        return nightly;
+    }
+
+    public long getBasePriceCents() {
+        return basePriceCents;
+    }
+
+    public long getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * Whether this table was built from the given calendar and seasons, compared by identity
+     */
+    public boolean isBuiltFrom(PricingCalendar calendar, SeasonIndex seasons) {
+        return this.calendar == calendar && this.seasons == seasons;
+    }
+
+    /**
+     * A rate rounded half up to cents, as a money amount
+     */
+    public static BigDecimal toDecimal(long rate) {
+        return BigDecimal.valueOf(rate, RATE_SCALE + 2).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,130 @@
+package com.stayhub.booking_service.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Owner seasons of one room type compiled into disjoint day intervals, each with a factor per
+ * weekday, so the factor of a night is one binary search.
+ * <p>
+ * Seasons may overlap; on every night the first season in compile order that covers it and
+ * includes its weekday wins. Nights no season covers have factor 0 and fall back to the default
+ * seasonal factor.
+ */
+public final class SeasonIndex {
+
+    public static final SeasonIndex EMPTY = new SeasonIndex(new long[0], new long[0], new int[0][]);
+
+    /**
+     * Every weekday, Monday in bit 0 through Sunday in bit 6
+     */
+    public static final int ALL_WEEKDAYS = 0x7F;
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[][] factorsByWeekday;
+
+    private SeasonIndex(long[] starts, long[] ends, int[][] factorsByWeekday) {
+        this.starts = starts;
+        this.ends = ends;
+        this.factorsByWeekday = factorsByWeekday;
+    }
+
+    /**
+     * @param seasons in precedence order, highest first
+     */
+    public static SeasonIndex compile(List<Season> seasons) {
+        if (seasons.isEmpty()) {
+            return EMPTY;
+        }
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (Season season : seasons) {
+            boundaries.add(season.startDay());
+            boundaries.add(season.endDay());
+        }
+
+        List<long[]> intervals = new ArrayList<>();
+        List<int[]> factors = new ArrayList<>();
+        Long from = null;
+        for (long to : boundaries) {
+            if (from != null) {
+                int[] byWeekday = resolve(seasons, from, to);
+                if (byWeekday != null) {
+                    int last = intervals.size() - 1;
+                    if (last >= 0 && intervals.get(last)[1] == from && Arrays.equals(factors.get(last), byWeekday)) {
+                        intervals.get(last)[1] = to;
+                    } else {
+                        intervals.add(new long[] {from, to});
+                        factors.add(byWeekday);
+                    }
+                }
+            }
+            from = to;
+        }
+
+        long[] starts = new long[intervals.size()];
+        long[] ends = new long[intervals.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = intervals.get(i)[0];
+            ends[i] = intervals.get(i)[1];
+        }
+        return new SeasonIndex(starts, ends, factors.toArray(new int[0][]));
+    }
+
+    /**
+     * Factor in hundredths for the night of {@code day}, or 0 if no season covers it
+     */
+    public int factor(long day) {
+        int i = Arrays.binarySearch(starts, day);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        if (i < 0 || day >= ends[i]) {
+            return 0;
+        }
+        return factorsByWeekday[i][weekday(day)];
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    public int intervals() {
+        return starts.length;
+    }
+
+    /**
+     * Winning factor per weekday over [from, to), or null if no season covers any of them
+     */
+    private static int[] resolve(List<Season> seasons, long from, long to) {
+        int[] byWeekday = new int[7];
+        boolean covered = false;
+        for (int weekday = 0; weekday < 7; weekday++) {
+            for (Season season : seasons) {
+                if (season.startDay() <= from && to <= season.endDay()
+                        && (season.weekdayMask() & (1 << weekday)) != 0) {
+                    byWeekday[weekday] = season.factor();
+                    covered = true;
+                    break;
+                }
+            }
+        }
+        return covered ? byWeekday : null;
+    }
+
+    /**
+     * Monday 0 through Sunday 6; 1970-01-01 was a Thursday
+     */
+    static int weekday(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    /**
+     * A season over [startDay, endDay) in epoch days on the weekdays of {@code weekdayMask},
+     * with its factor in hundredths
+     */
+    public record Season(long startDay, long endDay, int weekdayMask, int factor) {
+    }
+}
@@ -2,14 +2,17 @@ package com.stayhub.booking_service.repository;
 
 import com.stayhub.booking_service.entity.Availability;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,10 +24,16 @@ public interface AvailabilityRepository extends JpaRepository<Availability, UUID
     
     List<Availability> findByPropertyIdAndDateBetween(UUID propertyId, LocalDate startDate, LocalDate endDate);
     
+    List<Availability> findByPropertyIdAndRoomTypeIdAndDateBetween(UUID propertyId, UUID roomTypeId,
+                                                                   LocalDate startDate, LocalDate endDate);
+    
+    List<Availability> findByPropertyIdAndRoomTypeIdAndDateBetweenAndAvailableRoomsLessThanOrderByDate(
+            UUID propertyId, UUID roomTypeId, LocalDate startDate, LocalDate endDate, Integer rooms);
+    
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Availability a WHERE a.propertyId = :propertyId " +
            "AND a.roomTypeId = :roomTypeId " +
-           "AND a.date BETWEEN :startDate AND :endDate")
+           "AND a.date BETWEEN :startDate AND :endDate ORDER BY a.date")
     List<Availability> findByPropertyIdAndRoomTypeIdAndDateBetweenWithLock(
             @Param("propertyId") UUID propertyId,
             @Param("roomTypeId") UUID roomTypeId,
@@ -43,6 +52,29 @@ public interface AvailabilityRepository extends JpaRepository<Availability, UUID
                              @Param("endDate") LocalDate endDate,
                              @Param("rooms") Integer rooms);
     
+    /**
+     * Take {@code rooms} on every night of the range or on none: the nights are locked and checked
+     * inside the statement, so a short night leaves the others untouched
+     *
+     * @return the number of nights updated, either {@code nights} or 0
+     */
+    @Modifying
+    @Query(value = "WITH nights AS (" +
+           "SELECT id, available_rooms FROM availabilities " +
+           "WHERE property_id = :propertyId AND room_type_id = :roomTypeId " +
+           "AND date BETWEEN :startDate AND :endDate ORDER BY date FOR UPDATE) " +
+           "UPDATE availabilities a SET available_rooms = a.available_rooms - :rooms, " +
+           "booked_rooms = a.booked_rooms + :rooms, version = a.version + 1 " +
+           "WHERE a.id IN (SELECT id FROM nights) " +
+           "AND (SELECT COUNT(*) FROM nights WHERE available_rooms >= :rooms) = :nights",
+           nativeQuery = true)
+    int decrementAvailabilityAllNights(@Param("propertyId") UUID propertyId,
+                                       @Param("roomTypeId") UUID roomTypeId,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate,
+                                       @Param("nights") long nights,
+                                       @Param("rooms") Integer rooms);
+    
     @Modifying
     @Query("UPDATE Availability a SET a.availableRooms = a.availableRooms + :rooms, " +
            "a.bookedRooms = a.bookedRooms - :rooms " +
@@ -54,6 +86,72 @@ public interface AvailabilityRepository extends JpaRepository<Availability, UUID
                              @Param("endDate") LocalDate endDate,
                              @Param("rooms") Integer rooms);
     
+    /**
+     * Version 7 UUID built in SQL for rows inserted in bulk: unix milliseconds from clock_timestamp()
+     * over the first 48 bits of gen_random_uuid(), version bits set to 7. Same layout as
+     * {@link com.stayhub.booking_service.id.Ids#nextUuid()}, so these rows sort with the rest by time.
+     */
+    String TIME_ORDERED_UUID = "CAST(encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid()) " +
+           "PLACING substring(int8send(CAST(floor(extract(epoch FROM clock_timestamp()) * 1000) AS bigint)) FROM 3) " +
+           "FROM 1 FOR 6), 52, 1), 53, 1), 'hex') AS uuid)";
+    
+    /**
+     * Create full-inventory rows for every date in the range that has none, in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO availabilities " +
+           "(id, property_id, room_type_id, date, total_rooms, available_rooms, booked_rooms, version) " +
+           "SELECT " + TIME_ORDERED_UUID + ", rt.property_id, rt.id, CAST(d AS date), rt.total_rooms, rt.total_rooms, 0, 0 " +
+           "FROM room_types rt " +
+           "CROSS JOIN generate_series(CAST(:startDate AS date), CAST(:endDate AS date), INTERVAL '1 day') AS d " +
+           "WHERE rt.id = :roomTypeId AND rt.property_id = :propertyId " +
+           "ON CONFLICT (property_id, room_type_id, date) DO NOTHING",
+           nativeQuery = true)
+    int insertMissingAvailability(@Param("propertyId") UUID propertyId,
+                                 @Param("roomTypeId") UUID roomTypeId,
+                                 @Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Same as {@link #insertMissingAvailability} for many room types at once (horizon roll-forward)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO availabilities " +
+           "(id, property_id, room_type_id, date, total_rooms, available_rooms, booked_rooms, version) " +
+           "SELECT " + TIME_ORDERED_UUID + ", rt.property_id, rt.id, CAST(d AS date), rt.total_rooms, rt.total_rooms, 0, 0 " +
+           "FROM room_types rt " +
+           "CROSS JOIN generate_series(CAST(:startDate AS date), CAST(:endDate AS date), INTERVAL '1 day') AS d " +
+           "WHERE rt.id IN (:roomTypeIds) " +
+           "ON CONFLICT (property_id, room_type_id, date) DO NOTHING",
+           nativeQuery = true)
+    int insertMissingAvailabilityForRoomTypes(@Param("roomTypeIds") Collection<UUID> roomTypeIds,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+    
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "1000"))
+    @Query("SELECT a.propertyId AS propertyId, a.roomTypeId AS roomTypeId, " +
+           "MIN(a.availableRooms) AS minAvailable, COUNT(a) AS nights FROM Availability a " +
+           "WHERE a.propertyId IN :propertyIds " +
+           "AND a.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.propertyId, a.roomTypeId")
+    List<AvailabilitySummary> summarizeByRoomType(@Param("propertyIds") Collection<UUID> propertyIds,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.roomTypeId AS roomTypeId, a.date AS date, a.availableRooms AS availableRooms " +
+           "FROM Availability a WHERE a.roomTypeId IN :roomTypeIds " +
+           "AND a.date BETWEEN :startDate AND :endDate")
+    List<NightAvailability> findNightsByRoomTypes(@Param("roomTypeIds") Collection<UUID> roomTypeIds,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.roomTypeId AS roomTypeId, a.date AS date, a.totalRooms AS totalRooms " +
+           "FROM Availability a WHERE a.roomTypeId IN :roomTypeIds " +
+           "AND a.date BETWEEN :startDate AND :endDate")
+    List<NightCapacity> findCapacityByRoomTypes(@Param("roomTypeIds") Collection<UUID> roomTypeIds,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT MIN(a.availableRooms) FROM Availability a " +
            "WHERE a.propertyId = :propertyId AND a.roomTypeId = :roomTypeId " +
            "AND a.date BETWEEN :startDate AND :endDate")
@@ -0,0 +1,13 @@
+package com.stayhub.booking_service.repository;
+
+import java.util.UUID;
+
+/**
+ * Per room type aggregate of availability rows over a date range
+ */
+public interface AvailabilitySummary {
+    UUID getPropertyId();
+    UUID getRoomTypeId();
+    Integer getMinAvailable();
+    Long getNights();
+}
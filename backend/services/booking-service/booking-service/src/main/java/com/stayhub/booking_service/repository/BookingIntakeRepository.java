@@ -0,0 +1,59 @@
+package com.stayhub.booking_service.repository;
+
+import com.stayhub.booking_service.entity.BookingIntake;
+import com.stayhub.booking_service.entity.IntakeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BookingIntakeRepository extends JpaRepository<BookingIntake, UUID> {
+    
+    /**
+     * Claim a queued request for processing; returns 0 if another worker got it first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BookingIntake i SET i.status = :processing, i.attempts = i.attempts + 1, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.status = :queued")
+    int claim(@Param("id") UUID id,
+              @Param("queued") IntakeStatus queued,
+              @Param("processing") IntakeStatus processing,
+              @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE BookingIntake i SET i.status = :status, i.bookingId = :bookingId, " +
+           "i.errorMessage = :errorMessage, i.updatedAt = :now WHERE i.id = :id")
+    int finish(@Param("id") UUID id,
+               @Param("status") IntakeStatus status,
+               @Param("bookingId") UUID bookingId,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+    
+    /**
+     * Move rows last touched before {@code before} from one status to another (expired leases)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BookingIntake i SET i.status = :to, i.updatedAt = :now " +
+           "WHERE i.status = :from AND i.updatedAt < :before")
+    int moveUpdatedBefore(@Param("from") IntakeStatus from,
+                          @Param("to") IntakeStatus to,
+                          @Param("before") LocalDateTime before,
+                          @Param("now") LocalDateTime now);
+    
+    @Query("SELECT i.id FROM BookingIntake i WHERE i.status = :status AND i.updatedAt < :before " +
+           "ORDER BY i.createdAt")
+    List<UUID> findIdsByStatusUpdatedBefore(@Param("status") IntakeStatus status,
+                                            @Param("before") LocalDateTime before,
+                                            Pageable pageable);
+}
@@ -11,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,12 +22,32 @@ public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpec
     
     Optional<Booking> findByIdempotencyKey(String idempotencyKey);
     
+    List<Booking> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+    
     Optional<Booking> findByConfirmationCode(String confirmationCode);
     
     List<Booking> findByUserId(UUID userId);
     
     Page<Booking> findByUserId(UUID userId, Pageable pageable);
     
+    /**
+     * First page of a user's bookings, newest first; the pageable only supplies the limit
+     */
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findLatestByUserId(@Param("userId") UUID userId, Pageable limit);
+    
+    /**
+     * Bookings of a user created before (createdAt, id), newest first. Seeks on
+     * idx_user_created_id, so the cost does not grow with the page depth.
+     */
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId " +
+           "AND (b.createdAt, b.id) < (:createdAt, :id) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findByUserIdBefore(@Param("userId") UUID userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") UUID id,
+                                     Pageable limit);
+    
     List<Booking> findByPropertyIdAndStatus(UUID propertyId, BookingStatus status);
     
     @Query("SELECT b FROM Booking b WHERE b.propertyId = :propertyId " +
@@ -54,5 +76,31 @@ public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpec
     
     @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' " +
            "AND b.createdAt < :expirationTime")
-    List<Booking> findExpiredPendingBookings(@Param("expirationTime") LocalDate expirationTime);
+    List<Booking> findExpiredPendingBookings(@Param("expirationTime") LocalDateTime expirationTime);
+    
+    /**
+     * Keyset page of open checkout holds, ordered by id
+     */
+    @Query("SELECT b.id AS id, b.holdExpiresAt AS holdExpiresAt FROM Booking b " +
+           "WHERE b.status = 'PENDING' AND b.holdExpiresAt IS NOT NULL AND b.id > :afterId " +
+           "ORDER BY b.id")
+    List<PendingHold> findPendingHolds(@Param("afterId") UUID afterId, Pageable pageable);
+    
+    /**
+     * Keyset page, ordered by id, of the confirmed, completed and cancelled bookings of some
+     * properties checking in within [from, to)
+     */
+    @Query("SELECT b.id AS id, b.propertyId AS propertyId, b.roomTypeId AS roomTypeId, " +
+           "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, " +
+           "b.numberOfRooms AS numberOfRooms, b.totalAmount AS totalAmount, " +
+           "b.createdAt AS createdAt, b.cancelledAt AS cancelledAt FROM Booking b " +
+           "WHERE b.propertyId IN :propertyIds AND b.roomTypeId IS NOT NULL " +
+           "AND b.status IN ('CONFIRMED', 'COMPLETED', 'CANCELLED') " +
+           "AND b.checkInDate >= :from AND b.checkInDate < :to AND b.id > :afterId " +
+           "ORDER BY b.id")
+    List<HistoricalStay> findHistoricalStays(@Param("propertyIds") Collection<UUID> propertyIds,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             @Param("afterId") UUID afterId,
+                                             Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.stayhub.booking_service.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A past booking as replayed by pricing backtests
+ */
+public interface HistoricalStay {
+    UUID getId();
+    UUID getPropertyId();
+    UUID getRoomTypeId();
+    LocalDate getCheckInDate();
+    LocalDate getCheckOutDate();
+    Integer getNumberOfRooms();
+    BigDecimal getTotalAmount();
+    LocalDateTime getCreatedAt();
+    // Null unless the booking was cancelled
+    LocalDateTime getCancelledAt();
+}
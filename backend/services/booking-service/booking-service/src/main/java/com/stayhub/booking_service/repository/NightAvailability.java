@@ -0,0 +1,13 @@
+package com.stayhub.booking_service.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Available rooms of one room type on one night
+ */
+public interface NightAvailability {
+    UUID getRoomTypeId();
+    LocalDate getDate();
+    Integer getAvailableRooms();
+}
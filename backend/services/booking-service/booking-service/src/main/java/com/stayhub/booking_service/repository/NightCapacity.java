@@ -0,0 +1,13 @@
+package com.stayhub.booking_service.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Rooms of one room type that could be sold on one night
+ */
+public interface NightCapacity {
+    UUID getRoomTypeId();
+    LocalDate getDate();
+    Integer getTotalRooms();
+}
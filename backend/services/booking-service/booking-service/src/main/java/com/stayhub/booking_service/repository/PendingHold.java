@@ -0,0 +1,12 @@
+package com.stayhub.booking_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Id and deadline of an open checkout hold
+ */
+public interface PendingHold {
+    UUID getId();
+    LocalDateTime getHoldExpiresAt();
+}
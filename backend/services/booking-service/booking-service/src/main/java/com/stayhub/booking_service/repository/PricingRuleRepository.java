@@ -0,0 +1,21 @@
+package com.stayhub.booking_service.repository;
+
+import com.stayhub.booking_service.entity.PricingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PricingRuleRepository extends JpaRepository<PricingRule, UUID> {
+    
+    List<PricingRule> findByPropertyIdOrderByStartDate(UUID propertyId);
+    
+    /**
+     * Changes since the last load: a new, edited or deleted rule moves one of the two
+     */
+    @Query("SELECT COUNT(r) AS rules, MAX(r.updatedAt) AS lastUpdated FROM PricingRule r")
+    PricingRuleVersion findVersion();
+}
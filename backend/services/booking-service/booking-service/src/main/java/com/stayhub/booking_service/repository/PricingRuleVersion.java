@@ -0,0 +1,11 @@
+package com.stayhub.booking_service.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest update of the pricing rules table
+ */
+public interface PricingRuleVersion {
+    Long getRules();
+    LocalDateTime getLastUpdated();
+}
@@ -2,12 +2,24 @@ package com.stayhub.booking_service.repository;
 
 import com.stayhub.booking_service.entity.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface RoomTypeRepository extends JpaRepository<RoomType, UUID> {
     List<RoomType> findByPropertyId(UUID propertyId);
+    
+    List<RoomType> findByPropertyIdIn(Collection<UUID> propertyIds);
+    
+    boolean existsByIdAndPropertyId(UUID id, UUID propertyId);
+    
+    @Query("SELECT r.id FROM RoomType r ORDER BY r.id")
+    List<UUID> findAllIds();
+    
+    @Query("SELECT DISTINCT r.propertyId FROM RoomType r ORDER BY r.propertyId")
+    List<UUID> findAllPropertyIds();
 }
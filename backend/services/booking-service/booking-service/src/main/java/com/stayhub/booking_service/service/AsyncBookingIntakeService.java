@@ -0,0 +1,283 @@
+package com.stayhub.booking_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stayhub.booking_service.dto.BookingIntakeResponse;
+import com.stayhub.booking_service.dto.BookingRequest;
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.BookingIntake;
+import com.stayhub.booking_service.entity.IntakeStatus;
+import com.stayhub.booking_service.exception.BookingException;
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import com.stayhub.booking_service.exception.ResourceNotFoundException;
+import com.stayhub.booking_service.repository.BookingIntakeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accept-now, book-later intake. A request is validated, stored in booking_intake and
+ * acknowledged with a token; a fixed pool of workers then books it through
+ * {@link BookingIntakeService}. Requests that do not fit in the worker queue stay QUEUED in the
+ * table and are picked up by the sweep, so a burst costs rows rather than threads or connections.
+ * <p>
+ * A claimed request is PROCESSING under a lease: if it is not finished within
+ * {@code booking.intake.lease-ms}, its worker is presumed dead (possibly on another instance) and
+ * the request is queued again.
+ */
+@Service
+@Slf4j
+public class AsyncBookingIntakeService {
+
+    private final BookingIntakeService bookingIntakeService;
+    private final BookingService bookingService;
+    private final BookingIntakeRepository intakeRepository;
+    private final ObjectMapper objectMapper;
+
+    private final ThreadPoolExecutor workers;
+    private final BlockingQueue<Runnable> workQueue;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final long sweepDelayMillis;
+    private final long maxWaitMillis;
+    private final long leaseMillis;
+
+    // Long-poll requests waiting for a token to finish on this instance
+    private final Map<UUID, Queue<DeferredResult<BookingIntakeResponse>>> waiters = new ConcurrentHashMap<>();
+
+    public AsyncBookingIntakeService(BookingIntakeService bookingIntakeService,
+                                     BookingService bookingService,
+                                     BookingIntakeRepository intakeRepository,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${booking.intake.workers:3}") int workerCount,
+                                     @Value("${booking.intake.queue-capacity:500}") int queueCapacity,
+                                     @Value("${booking.intake.max-attempts:3}") int maxAttempts,
+                                     @Value("${booking.intake.sweep-ms:2000}") long sweepDelayMillis,
+                                     @Value("${booking.intake.max-wait-ms:30000}") long maxWaitMillis,
+                                     @Value("${booking.intake.lease-ms:60000}") long leaseMillis) {
+        this.bookingIntakeService = bookingIntakeService;
+        this.bookingService = bookingService;
+        this.intakeRepository = intakeRepository;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.sweepDelayMillis = sweepDelayMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.leaseMillis = leaseMillis;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS, workQueue, runnable -> {
+            Thread thread = new Thread(runnable, "booking-intake-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("booking.intake.queue.depth", workQueue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        // Unstarted requests stay QUEUED and are picked up again on the next start
+        workers.shutdownNow();
+    }
+
+    /**
+     * Validate and persist a booking request, then hand it to the workers
+     */
+    public BookingIntakeResponse submit(BookingRequest request) {
+        bookingService.validateBookingDates(request.getCheckIn(), request.getCheckOut());
+        bookingService.getRoomTypeForRequest(request);
+
+        // Retries after a crash run the booking again, the key makes that safe
+        if (request.getIdempotencyKey() == null) {
+            request.setIdempotencyKey("intake:" + UUID.randomUUID());
+        }
+
+        BookingIntake intake = intakeRepository.save(BookingIntake.builder()
+                .payload(toJson(request))
+                .status(IntakeStatus.QUEUED)
+                .attempts(0)
+                .build());
+
+        dispatch(intake.getId());
+        log.info("Accepted booking request {} for property: {}", intake.getId(), request.getPropertyId());
+        return toResponse(intake);
+    }
+
+    /**
+     * Current status of a request, waiting up to {@code waitMillis} for it to finish
+     */
+    public DeferredResult<BookingIntakeResponse> poll(UUID token, long waitMillis) {
+        BookingIntakeResponse current = getStatus(token);
+        long timeout = Math.min(waitMillis, maxWaitMillis);
+        DeferredResult<BookingIntakeResponse> result = new DeferredResult<>(Math.max(timeout, 1L));
+        if (current.getStatus().isFinal() || timeout <= 0) {
+            result.setResult(current);
+            return result;
+        }
+
+        Queue<DeferredResult<BookingIntakeResponse>> queue =
+                waiters.computeIfAbsent(token, k -> new ConcurrentLinkedQueue<>());
+        queue.add(result);
+        result.onTimeout(() -> result.setResult(getStatus(token)));
+        result.onCompletion(() -> {
+            queue.remove(result);
+            waiters.computeIfPresent(token, (k, q) -> q.isEmpty() ? null : q);
+        });
+
+        // The request may have finished between the first read and registering
+        BookingIntakeResponse latest = getStatus(token);
+        if (latest.getStatus().isFinal()) {
+            result.setResult(latest);
+        }
+        return result;
+    }
+
+    public BookingIntakeResponse getStatus(UUID token) {
+        return toResponse(intakeRepository.findById(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking request not found")));
+    }
+
+    /**
+     * Move requests whose lease expired back to QUEUED. Requests still PROCESSING within their lease
+     * may belong to a live worker on another instance, so they are left alone. Runs on start and
+     * once per lease period, so requests of an instance that died are picked up by the others.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.intake.lease-ms:60000}",
+               initialDelayString = "${booking.intake.lease-ms:60000}")
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = intakeRepository.moveUpdatedBefore(IntakeStatus.PROCESSING, IntakeStatus.QUEUED,
+                now.minusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMillis)), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} booking requests whose processing lease expired", requeued);
+        }
+        sweep();
+    }
+
+    /**
+     * Feed QUEUED requests that did not fit in the worker queue, or are due for a retry
+     */
+    @Scheduled(fixedDelayString = "${booking.intake.sweep-ms:2000}")
+    public void sweep() {
+        int free = queueCapacity - workQueue.size();
+        if (free <= 0) {
+            return;
+        }
+        List<UUID> ids = intakeRepository.findIdsByStatusUpdatedBefore(IntakeStatus.QUEUED,
+                LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(sweepDelayMillis)),
+                PageRequest.of(0, free));
+        for (UUID id : ids) {
+            if (!dispatch(id)) {
+                break;
+            }
+        }
+    }
+
+    private boolean dispatch(UUID id) {
+        try {
+            workers.execute(() -> process(id));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("Intake queue full, booking request {} waits for the sweep", id);
+            return false;
+        }
+    }
+
+    private void process(UUID id) {
+        if (intakeRepository.claim(id, IntakeStatus.QUEUED, IntakeStatus.PROCESSING, LocalDateTime.now()) == 0) {
+            return;
+        }
+        BookingIntake intake = intakeRepository.findById(id).orElse(null);
+        if (intake == null) {
+            return;
+        }
+
+        try {
+            BookingResponse booking = bookingIntakeService.createBooking(fromJson(intake.getPayload()));
+            intakeRepository.finish(id, IntakeStatus.COMPLETED, booking.getId(), null, LocalDateTime.now());
+        } catch (ConcurrentBookingException e) {
+            // The claim already counted this attempt
+            if (intake.getAttempts() < maxAttempts) {
+                log.info("Booking request {} hit contention, retrying: {}", id, e.getMessage());
+                intakeRepository.finish(id, IntakeStatus.QUEUED, null, e.getMessage(), LocalDateTime.now());
+                return;
+            }
+            intakeRepository.finish(id, IntakeStatus.FAILED, null, e.getMessage(), LocalDateTime.now());
+        } catch (BookingException e) {
+            intakeRepository.finish(id, IntakeStatus.FAILED, null, e.getMessage(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Booking request {} failed", id, e);
+            intakeRepository.finish(id, IntakeStatus.FAILED, null, "Booking failed", LocalDateTime.now());
+        }
+
+        notifyWaiters(id);
+    }
+
+    private void notifyWaiters(UUID id) {
+        Queue<DeferredResult<BookingIntakeResponse>> queue = waiters.remove(id);
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+        BookingIntakeResponse response = getStatus(id);
+        DeferredResult<BookingIntakeResponse> waiter;
+        while ((waiter = queue.poll()) != null) {
+            waiter.setResult(response);
+        }
+    }
+
+    private BookingIntakeResponse toResponse(BookingIntake intake) {
+        return BookingIntakeResponse.builder()
+                .token(intake.getId())
+                .status(intake.getStatus())
+                .bookingId(intake.getBookingId())
+                .booking(intake.getStatus() == IntakeStatus.COMPLETED && intake.getBookingId() != null
+                        ? bookingService.getBooking(intake.getBookingId())
+                        : null)
+                .errorMessage(intake.getErrorMessage())
+                .createdAt(intake.getCreatedAt())
+                .build();
+    }
+
+    private String toJson(BookingRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize booking request", e);
+        }
+    }
+
+    private BookingRequest fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, BookingRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored booking request", e);
+        }
+    }
+}
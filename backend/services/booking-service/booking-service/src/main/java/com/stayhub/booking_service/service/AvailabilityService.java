@@ -3,7 +3,12 @@ package com.stayhub.booking_service.service;
 import com.stayhub.booking_service.entity.Availability;
 import com.stayhub.booking_service.entity.RoomType;
 import com.stayhub.booking_service.exception.ConcurrentBookingException;
-import com.stayhub.booking_service.exception.RoomNotAvailableException;
+import com.stayhub.booking_service.inventory.AvailabilityInitializer;
+import com.stayhub.booking_service.inventory.AvailabilityLedger;
+import com.stayhub.booking_service.inventory.InventoryDelta;
+import com.stayhub.booking_service.inventory.ReservationLockProvider;
+import com.stayhub.booking_service.inventory.ReservationStrategy;
+import com.stayhub.booking_service.pricing.DemandSignals;
 import com.stayhub.booking_service.repository.AvailabilityRepository;
 import com.stayhub.booking_service.repository.RoomTypeRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,12 +21,7 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,46 +31,20 @@ public class AvailabilityService {
     
     private final AvailabilityRepository availabilityRepository;
     private final RoomTypeRepository roomTypeRepository;
-    
-    // In-memory locks for property-room combinations to prevent race conditions
-    private final ConcurrentHashMap<String, Lock> bookingLocks = new ConcurrentHashMap<>();
-    private static final int LOCK_TIMEOUT_SECONDS = 10;
+    private final AvailabilityInitializer availabilityInitializer;
+    private final ReservationStrategy reservationStrategy;
+    private final AvailabilityLedger availabilityLedger;
+    private final ReservationLockProvider lockProvider;
+    private final DemandSignals demandSignals;
     
     @Transactional
     public void initializeAvailability(UUID propertyId, UUID roomTypeId, 
                                      LocalDate startDate, LocalDate endDate) {
-        RoomType roomType = roomTypeRepository.findById(roomTypeId)
-                .orElseThrow(() -> new IllegalArgumentException("Room type not found"));
-        
-        List<Availability> availabilities = new ArrayList<>();
-        LocalDate date = startDate;
-        
-        while (!date.isAfter(endDate)) {
-            // Check if availability already exists
-            if (!availabilityRepository.findByPropertyIdAndRoomTypeIdAndDate(propertyId, roomTypeId, date).isPresent()) {
-                Availability availability = Availability.builder()
-                        .propertyId(propertyId)
-                        .roomTypeId(roomTypeId)
-                        .date(date)
-                        .totalRooms(roomType.getTotalRooms())
-                        .availableRooms(roomType.getTotalRooms())
-                        .bookedRooms(0)
-                        .build();
-                
-                availabilities.add(availability);
-            }
-            date = date.plusDays(1);
-        }
-        
-        if (!availabilities.isEmpty()) {
-            availabilityRepository.saveAll(availabilities);
-            log.info("Initialized {} days of availability for property {} room type {}", 
-                    availabilities.size(), propertyId, roomTypeId);
-        }
+        availabilityInitializer.initialize(propertyId, roomTypeId, startDate, endDate);
     }
     
     /**
-     * Reserve rooms with distributed lock and optimistic locking
+     * Reserve rooms using the configured reservation strategy
      */
     @Retryable(value = {OptimisticLockingFailureException.class, ConcurrentBookingException.class}, 
                maxAttempts = 3, 
@@ -78,74 +52,42 @@ public class AvailabilityService {
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public boolean reserveRooms(UUID propertyId, UUID roomTypeId, LocalDate checkIn, 
                                LocalDate checkOut, int numberOfRooms) {
-        String lockKey = propertyId + "_" + roomTypeId;
-        Lock lock = bookingLocks.computeIfAbsent(lockKey, k -> new ReentrantLock());
-        
-        boolean acquired = false;
-        try {
-            // Try to acquire lock with timeout
-            acquired = lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            if (!acquired) {
-                throw new ConcurrentBookingException("Could not acquire booking lock");
-            }
-            
-            // Fetch availabilities with pessimistic lock
-            List<Availability> availabilities = availabilityRepository
-                    .findByPropertyIdAndRoomTypeIdAndDateBetweenWithLock(
-                            propertyId, roomTypeId, checkIn, checkOut.minusDays(1));
-            
-            // Check if we have availability records for all dates
-            long expectedDays = ChronoUnit.DAYS.between(checkIn, checkOut);
-            if (availabilities.size() != expectedDays) {
-                log.warn("Missing availability records. Expected: {}, Found: {}", expectedDays, availabilities.size());
-                // Initialize missing dates
-                initializeAvailability(propertyId, roomTypeId, checkIn, checkOut);
-                // Re-fetch after initialization
-                availabilities = availabilityRepository
-                        .findByPropertyIdAndRoomTypeIdAndDateBetweenWithLock(
-                                propertyId, roomTypeId, checkIn, checkOut.minusDays(1));
-            }
-            
-            // Check availability for all dates
-            boolean allAvailable = availabilities.stream()
-                    .allMatch(a -> a.getAvailableRooms() >= numberOfRooms);
-            
-            if (!allAvailable) {
-                // Find which dates are not available
-                List<LocalDate> unavailableDates = availabilities.stream()
-                        .filter(a -> a.getAvailableRooms() < numberOfRooms)
-                        .map(Availability::getDate)
-                        .collect(Collectors.toList());
-                
-                log.info("Rooms not available for dates: {}", unavailableDates);
-                return false;
-            }
-            
-            // Update availability for each date
-            for (Availability availability : availabilities) {
-                availability.setAvailableRooms(availability.getAvailableRooms() - numberOfRooms);
-                availability.setBookedRooms(availability.getBookedRooms() + numberOfRooms);
-            }
-            
-            // Save all with version increment (handled by @Version)
-            availabilityRepository.saveAll(availabilities);
-            
-            log.info("Successfully reserved {} rooms for property {} from {} to {}", 
-                    numberOfRooms, propertyId, checkIn, checkOut.minusDays(1));
-            
+        boolean reserved = reservationStrategy.reserve(propertyId, roomTypeId, checkIn, checkOut, numberOfRooms);
+        if (reserved) {
+            demandSignals.reservedAfterCommit(roomTypeId, checkIn, checkOut, numberOfRooms);
+        }
+        return reserved;
+    }
+    
+    /**
+     * Apply a booking modification's per-night change under one reservation lock: extra rooms are
+     * reserved first, then freed nights are returned, all in the caller's transaction
+     *
+     * @return false if any night needing extra rooms does not have them; the caller must then roll back
+     */
+    @Retryable(value = {OptimisticLockingFailureException.class, ConcurrentBookingException.class}, 
+               maxAttempts = 3, 
+               backoff = @Backoff(delay = 100, multiplier = 2))
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public boolean applyDelta(UUID propertyId, UUID roomTypeId, InventoryDelta delta) {
+        if (delta.isEmpty()) {
             return true;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ConcurrentBookingException("Booking interrupted");
-        } catch (OptimisticLockingFailureException e) {
-            log.warn("Optimistic lock failure, will retry: {}", e.getMessage());
-            throw e;
-        } finally {
-            if (acquired) {
-                lock.unlock();
+        }
+        // Provider locks are reentrant, so the strategy's own acquire does not block
+        try (ReservationLockProvider.ReservationLock lock = lockProvider.acquire(propertyId, roomTypeId)) {
+            for (InventoryDelta.Run run : delta.reservations()) {
+                if (!reservationStrategy.reserve(propertyId, roomTypeId, run.start(), run.end(), run.rooms())) {
+                    return false;
+                }
+            }
+            for (InventoryDelta.Run run : delta.releases()) {
+                reservationStrategy.release(propertyId, roomTypeId, run.start(), run.end(), run.rooms());
             }
         }
+        demandSignals.appliedAfterCommit(roomTypeId, delta);
+        
+        log.info("Applied inventory delta {} for property {} room type {}", delta.runs(), propertyId, roomTypeId);
+        return true;
     }
     
     /**
@@ -154,8 +96,8 @@ public class AvailabilityService {
     @Transactional
     public void releaseRooms(UUID propertyId, UUID roomTypeId, LocalDate checkIn, 
                            LocalDate checkOut, int numberOfRooms) {
-        int updated = availabilityRepository.incrementAvailability(
-                propertyId, roomTypeId, checkIn, checkOut.minusDays(1), numberOfRooms);
+        int updated = reservationStrategy.release(propertyId, roomTypeId, checkIn, checkOut, numberOfRooms);
+        demandSignals.releasedAfterCommit(roomTypeId, checkIn, checkOut, numberOfRooms);
         
         log.info("Released {} rooms for {} dates", numberOfRooms, updated);
     }
@@ -166,10 +108,34 @@ public class AvailabilityService {
     @Transactional(readOnly = true)
     public Integer getMinimumAvailability(UUID propertyId, UUID roomTypeId, 
                                         LocalDate checkIn, LocalDate checkOut) {
+        // Served from the ledger's range-minimum index when it owns the inventory
+        Integer fromLedger = availabilityLedger.getMinimumAvailability(propertyId, roomTypeId, checkIn, checkOut);
+        if (fromLedger != null) {
+            return fromLedger;
+        }
         return availabilityRepository.getMinimumAvailability(
                 propertyId, roomTypeId, checkIn, checkOut.minusDays(1));
     }
     
+    /**
+     * Get the nights in a date range that have fewer than the requested rooms available
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> getBlockingDates(UUID propertyId, UUID roomTypeId, 
+                                          LocalDate checkIn, LocalDate checkOut, int numberOfRooms) {
+        List<LocalDate> fromLedger = availabilityLedger.getBlockingDates(
+                propertyId, roomTypeId, checkIn, checkOut, numberOfRooms);
+        if (fromLedger != null) {
+            return fromLedger;
+        }
+        return availabilityRepository
+                .findByPropertyIdAndRoomTypeIdAndDateBetweenAndAvailableRoomsLessThanOrderByDate(
+                        propertyId, roomTypeId, checkIn, checkOut.minusDays(1), numberOfRooms)
+                .stream()
+                .map(Availability::getDate)
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Get total rooms for a room type
      */
@@ -276,6 +242,8 @@ public class AvailabilityService {
         availability.setAvailableRooms(newTotalRooms - currentBooked);
         
         availabilityRepository.save(availability);
+        availabilityLedger.invalidateAfterTransaction(propertyId, roomTypeId);
+        demandSignals.invalidateAfterTransaction(roomTypeId);
         
         log.info("Updated room inventory for {} on {} to {} total rooms", 
                 roomTypeId, date, newTotalRooms);
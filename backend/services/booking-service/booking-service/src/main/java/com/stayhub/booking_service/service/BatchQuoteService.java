@@ -0,0 +1,128 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BatchQuoteRequest;
+import com.stayhub.booking_service.dto.BatchQuoteResponse;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.pricing.DemandSignals;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Price quotes for many (room type, stay) items at once, for search result pages: one room type
+ * query, one demand query for room types not in memory yet, then in-memory pricing per item
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BatchQuoteService {
+    
+    private final RoomTypeRepository roomTypeRepository;
+    private final DemandSignals demandSignals;
+    private final DynamicPricingService dynamicPricingService;
+    private final BookingService bookingService;
+    
+    /**
+     * Quote every item; an invalid or unknown item gets an error entry at its position instead
+     * of failing the batch
+     */
+    public BatchQuoteResponse quote(BatchQuoteRequest request) {
+        List<BatchQuoteRequest.Item> items = request.getItems();
+        
+        Set<UUID> roomTypeIds = new HashSet<>();
+        for (BatchQuoteRequest.Item item : items) {
+            if (item != null && item.getRoomTypeId() != null) {
+                roomTypeIds.add(item.getRoomTypeId());
+            }
+        }
+        Map<UUID, RoomType> roomTypes = roomTypeRepository.findAllById(roomTypeIds).stream()
+                .collect(Collectors.toMap(RoomType::getId, Function.identity()));
+        demandSignals.preload(roomTypes.keySet());
+        
+        List<BatchQuoteResponse.Quote> quotes = new ArrayList<>(items.size());
+        int failed = 0;
+        for (int index = 0; index < items.size(); index++) {
+            BatchQuoteResponse.Quote quote = quote(index, items.get(index), roomTypes);
+            if (quote.getErrorCode() != null) {
+                failed++;
+            }
+            quotes.add(quote);
+        }
+        
+        log.debug("Quoted {} items, {} failed", items.size(), failed);
+        return BatchQuoteResponse.builder()
+                .quotes(quotes)
+                .succeeded(items.size() - failed)
+                .failed(failed)
+                .build();
+    }
+    
+    private BatchQuoteResponse.Quote quote(int index, BatchQuoteRequest.Item item,
+                                           Map<UUID, RoomType> roomTypes) {
+        BatchQuoteResponse.Quote.QuoteBuilder quote = BatchQuoteResponse.Quote.builder().index(index);
+        if (item == null) {
+            return quote.errorCode("VALIDATION").errorMessage("Quote item is required").build();
+        }
+        int rooms = item.getNumberOfRooms() != null ? item.getNumberOfRooms() : 1;
+        quote.propertyId(item.getPropertyId())
+                .roomTypeId(item.getRoomTypeId())
+                .checkIn(item.getCheckIn())
+                .checkOut(item.getCheckOut())
+                .numberOfRooms(rooms);
+        
+        String invalid = validate(item, rooms);
+        if (invalid != null) {
+            return quote.errorCode("VALIDATION").errorMessage(invalid).build();
+        }
+        RoomType roomType = roomTypes.get(item.getRoomTypeId());
+        if (roomType == null
+                || (item.getPropertyId() != null && !item.getPropertyId().equals(roomType.getPropertyId()))) {
+            return quote.errorCode("NOT_FOUND").errorMessage("Room type not found").build();
+        }
+        
+        // Same demand input as a single price preview, so both quote the same price
+        Integer minAvailable = demandSignals.minAvailable(
+                roomType.getId(), item.getCheckIn(), item.getCheckOut());
+        BigDecimal totalPrice = dynamicPricingService.calculateDynamicPrice(
+                roomType, item.getCheckIn(), item.getCheckOut(), rooms, minAvailable);
+        long nights = ChronoUnit.DAYS.between(item.getCheckIn(), item.getCheckOut());
+        
+        // Nights never initialized still have the full inventory
+        int availableRooms = minAvailable != null
+                ? Math.min(minAvailable, roomType.getTotalRooms())
+                : roomType.getTotalRooms();
+        
+        return quote.propertyId(roomType.getPropertyId())
+                .availableRooms(availableRooms)
+                .available(availableRooms >= rooms)
+                .pricePerNight(totalPrice.divide(BigDecimal.valueOf(nights * rooms), 2, RoundingMode.HALF_UP))
+                .totalPrice(totalPrice)
+                .currency("USD")
+                .build();
+    }
+    
+    /**
+     * The rules a booking of the item would be checked against, as an error message
+     */
+    private String validate(BatchQuoteRequest.Item item, int rooms) {
+        if (item.getRoomTypeId() == null) {
+            return "Room type ID is required";
+        }
+        try {
+            bookingService.validateBookingDates(item.getCheckIn(), item.getCheckOut());
+            bookingService.validateRoomCount(rooms);
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+}
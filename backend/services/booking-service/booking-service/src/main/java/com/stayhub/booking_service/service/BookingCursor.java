@@ -0,0 +1,37 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a user's booking history: the (createdAt, id) of the last booking returned.
+ * Clients only see it as an opaque base64 token.
+ */
+record BookingCursor(LocalDateTime createdAt, UUID id) {
+    
+    static BookingCursor after(Booking booking) {
+        return new BookingCursor(booking.getCreatedAt(), booking.getId());
+    }
+    
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
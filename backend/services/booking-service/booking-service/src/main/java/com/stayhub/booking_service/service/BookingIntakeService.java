@@ -0,0 +1,80 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BookingRequest;
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.inventory.ReservationPipeline;
+import com.stayhub.booking_service.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Entry point for new bookings. Runs each request through {@link BookingService#createBooking}
+ * in its own transaction, or hands it to the {@link ReservationPipeline} when group commit is enabled.
+ * Requests carrying an idempotency key go through the {@link IdempotencyStore} first.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BookingIntakeService {
+    
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final DynamicPricingService dynamicPricingService;
+    private final ObjectProvider<ReservationPipeline> reservationPipeline;
+    private final IdempotencyStore idempotencyStore;
+    
+    public BookingResponse createBooking(BookingRequest request) {
+        return idempotencyStore.execute(request.getIdempotencyKey(), () -> {
+            ReservationPipeline pipeline = reservationPipeline.getIfAvailable();
+            if (pipeline == null) {
+                return bookingService.createBooking(request);
+            }
+            return createBookingViaPipeline(pipeline, request);
+        }, bookingService::getBooking);
+    }
+    
+    public BookingResponse createHold(BookingRequest request) {
+        return idempotencyStore.execute(request.getIdempotencyKey(), () -> bookingService.createHold(request),
+                bookingService::getBooking);
+    }
+    
+    /**
+     * Everything up to the reservation runs outside a transaction so no connection is held
+     * while the caller waits for its batch to commit
+     */
+    private BookingResponse createBookingViaPipeline(ReservationPipeline pipeline, BookingRequest request) {
+        log.info("Creating booking for property: {} from {} to {} (pipeline)", 
+                request.getPropertyId(), request.getCheckIn(), request.getCheckOut());
+        
+        if (request.getIdempotencyKey() != null) {
+            Optional<Booking> existingByKey = bookingRepository.findByIdempotencyKey(request.getIdempotencyKey());
+            if (existingByKey.isPresent()) {
+                log.info("Idempotent request detected, returning existing booking");
+                return bookingService.mapToResponse(existingByKey.get());
+            }
+        }
+        
+        bookingService.validateBookingDates(request.getCheckIn(), request.getCheckOut());
+        RoomType roomType = bookingService.getRoomTypeForRequest(request);
+        
+        BigDecimal totalAmount = dynamicPricingService.calculateDynamicPrice(
+                roomType, 
+                request.getCheckIn(), 
+                request.getCheckOut(),
+                request.getPropertyId(), 
+                request.getNumberOfRooms()
+        );
+        
+        Booking booking = pipeline.submit(bookingService.buildBooking(request, totalAmount));
+        
+        log.info("Booking created successfully with id: {} for ${}", booking.getId(), totalAmount);
+        return bookingService.mapToResponse(booking);
+    }
+}
@@ -4,22 +4,30 @@ import com.stayhub.booking_service.dto.*;
 import com.stayhub.booking_service.entity.*;
 import com.stayhub.booking_service.exception.*;
 import com.stayhub.booking_service.repository.*;
+import com.stayhub.booking_service.cache.BookingReadCache;
 import com.stayhub.booking_service.event.BookingEventPublisher;
+import com.stayhub.booking_service.inventory.HoldTimingWheel;
+import com.stayhub.booking_service.inventory.InventoryDelta;
+import com.stayhub.booking_service.inventory.RoomTypeKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -32,9 +40,218 @@ public class BookingService {
     private final BookingEventPublisher eventPublisher;
     private final DynamicPricingService dynamicPricingService;
     private final AvailabilityService availabilityService;
+    private final HoldTimingWheel holdTimingWheel;
+    private final BookingReadCache bookingReadCache;
+    
+    @Value("${booking.hold.ttl-seconds:600}")
+    private long holdTtlSeconds;
     
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public BookingResponse createBooking(BookingRequest request) {
+        return reserveAndSave(request, null);
+    }
+    
+    /**
+     * Reserve inventory as a PENDING checkout hold that is released automatically unless
+     * confirmed within the hold TTL
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public BookingResponse createHold(BookingRequest request) {
+        LocalDateTime holdExpiresAt = LocalDateTime.now().plusSeconds(holdTtlSeconds);
+        BookingResponse response = reserveAndSave(request, holdExpiresAt);
+        
+        if (response.getStatus() == BookingStatus.PENDING) {
+            // Only arm the timer once the hold is visible to the expiry transaction
+            UUID bookingId = response.getId();
+            LocalDateTime deadline = response.getHoldExpiresAt();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    holdTimingWheel.schedule(bookingId, deadline);
+                }
+            });
+        }
+        return response;
+    }
+    
+    /**
+     * Turn a PENDING hold into a confirmed booking, typically once payment has succeeded
+     */
+    @Transactional
+    public BookingResponse confirmHold(UUID bookingId, String paymentId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new InvalidBookingStateException(
+                    "Booking cannot be confirmed in current state: " + booking.getStatus());
+        }
+        if (booking.getHoldExpiresAt() != null && booking.getHoldExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidBookingStateException("Booking hold has expired");
+        }
+        
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setPaymentId(paymentId);
+        booking.setHoldExpiresAt(null);
+        booking = bookingRepository.save(booking);
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holdTimingWheel.cancel(bookingId);
+            }
+        });
+        
+        log.info("Hold {} confirmed", bookingId);
+        return mapToResponse(booking);
+    }
+    
+    /**
+     * Release the rooms of a hold whose deadline has passed.
+     * Returns false if the booking was confirmed, cancelled or extended in the meantime.
+     */
+    @Transactional
+    public boolean expireHold(UUID bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStatus() != BookingStatus.PENDING || booking.getHoldExpiresAt() == null) {
+            return false;
+        }
+        if (booking.getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+            holdTimingWheel.schedule(bookingId, booking.getHoldExpiresAt());
+            return false;
+        }
+        
+        booking.setStatus(BookingStatus.EXPIRED);
+        booking.setCancellationReason("Hold expired");
+        booking.setCancelledAt(LocalDateTime.now());
+        
+        availabilityService.releaseRooms(
+                booking.getPropertyId(),
+                booking.getRoomTypeId(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getNumberOfRooms()
+        );
+        
+        booking = bookingRepository.save(booking);
+        eventPublisher.publishBookingCancelled(booking);
+        
+        log.info("Hold {} expired, released {} rooms", bookingId, booking.getNumberOfRooms());
+        return true;
+    }
+    
+    /**
+     * Book every cart line in one transaction, all or nothing.
+     * Lines are reserved in {@link RoomTypeKey} order so concurrent carts cannot deadlock.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public CartBookingResponse createCartBooking(CartBookingRequest request) {
+        List<CartBookingRequest.CartLine> lines = request.getLines();
+        log.info("Creating cart booking with {} lines for user: {}", lines.size(), request.getUserId());
+        
+        List<BookingRequest> lineRequests = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            CartBookingRequest.CartLine line = lines.get(i);
+            lineRequests.add(BookingRequest.builder()
+                    .propertyId(line.getPropertyId())
+                    .userId(request.getUserId())
+                    .roomTypeId(line.getRoomTypeId())
+                    .checkIn(line.getCheckIn())
+                    .checkOut(line.getCheckOut())
+                    .numberOfRooms(line.getNumberOfRooms())
+                    .numberOfGuests(line.getNumberOfGuests())
+                    .specialRequests(line.getSpecialRequests())
+                    .idempotencyKey(request.getIdempotencyKey() != null ? request.getIdempotencyKey() + ":" + i : null)
+                    .build());
+        }
+        
+        // Lines are committed together, so a replay finds all of them; finding only some means the
+        // key was used before for a cart with different lines
+        if (request.getIdempotencyKey() != null) {
+            List<String> keys = lineRequests.stream().map(BookingRequest::getIdempotencyKey).toList();
+            Map<String, Booking> existing = new HashMap<>();
+            for (Booking booking : bookingRepository.findByIdempotencyKeyIn(keys)) {
+                existing.put(booking.getIdempotencyKey(), booking);
+            }
+            if (!existing.isEmpty() && existing.size() != keys.size()) {
+                throw new ValidationException("Idempotency key was already used for a different cart");
+            }
+            if (!existing.isEmpty()) {
+                log.info("Idempotent cart request detected, returning existing bookings");
+                return toCartResponse(keys.stream().map(existing::get).toList());
+            }
+        }
+        
+        Map<UUID, RoomType> roomTypes = new HashMap<>();
+        for (RoomType roomType : roomTypeRepository.findAllById(
+                lineRequests.stream().map(BookingRequest::getRoomTypeId).collect(Collectors.toSet()))) {
+            roomTypes.put(roomType.getId(), roomType);
+        }
+        for (BookingRequest lineRequest : lineRequests) {
+            validateBookingDates(lineRequest.getCheckIn(), lineRequest.getCheckOut());
+            RoomType roomType = roomTypes.get(lineRequest.getRoomTypeId());
+            if (roomType == null) {
+                throw new ResourceNotFoundException("Room type not found");
+            }
+            if (lineRequest.getNumberOfGuests() > roomType.getMaxOccupancy() * lineRequest.getNumberOfRooms()) {
+                throw new ValidationException("Guest count exceeds room capacity");
+            }
+        }
+        
+        List<BookingRequest> lockOrder = new ArrayList<>(lineRequests);
+        lockOrder.sort(Comparator
+                .comparing((BookingRequest r) -> new RoomTypeKey(r.getPropertyId(), r.getRoomTypeId()))
+                .thenComparing(BookingRequest::getCheckIn));
+        for (BookingRequest lineRequest : lockOrder) {
+            boolean reserved = availabilityService.reserveRooms(
+                    lineRequest.getPropertyId(),
+                    lineRequest.getRoomTypeId(),
+                    lineRequest.getCheckIn(),
+                    lineRequest.getCheckOut(),
+                    lineRequest.getNumberOfRooms()
+            );
+            if (!reserved) {
+                // Rolls back every line reserved so far
+                throw new RoomNotAvailableException("Rooms not available for room type "
+                        + lineRequest.getRoomTypeId() + " from " + lineRequest.getCheckIn()
+                        + " to " + lineRequest.getCheckOut());
+            }
+        }
+        
+        List<Booking> bookings = new ArrayList<>(lineRequests.size());
+        for (BookingRequest lineRequest : lineRequests) {
+            BigDecimal totalAmount = dynamicPricingService.calculateDynamicPrice(
+                    roomTypes.get(lineRequest.getRoomTypeId()),
+                    lineRequest.getCheckIn(),
+                    lineRequest.getCheckOut(),
+                    lineRequest.getPropertyId(),
+                    lineRequest.getNumberOfRooms()
+            );
+            bookings.add(buildBooking(lineRequest, totalAmount));
+        }
+        
+        bookings = bookingRepository.saveAll(bookings);
+        eventPublisher.publishBookingsCreated(bookings);
+        
+        log.info("Cart booking created with {} bookings for user: {}", bookings.size(), request.getUserId());
+        return toCartResponse(bookings);
+    }
+    
+    private CartBookingResponse toCartResponse(List<Booking> bookings) {
+        BigDecimal total = BigDecimal.ZERO;
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            total = total.add(booking.getTotalAmount());
+            responses.add(mapToResponse(booking));
+        }
+        return CartBookingResponse.builder()
+                .bookings(responses)
+                .totalAmount(total)
+                .currency("USD")
+                .build();
+    }
+    
+    private BookingResponse reserveAndSave(BookingRequest request, LocalDateTime holdExpiresAt) {
         try {
             log.info("Creating booking for property: {} from {} to {}", 
                     request.getPropertyId(), request.getCheckIn(), request.getCheckOut());
@@ -51,14 +268,8 @@ public class BookingService {
             // Validate dates
             validateBookingDates(request.getCheckIn(), request.getCheckOut());
             
-            // Get room type
-            RoomType roomType = roomTypeRepository.findById(request.getRoomTypeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
-            
-            // Validate guest count
-            if (request.getNumberOfGuests() > roomType.getMaxOccupancy() * request.getNumberOfRooms()) {
-                throw new ValidationException("Guest count exceeds room capacity");
-            }
+            // Get room type and validate guest count
+            RoomType roomType = getRoomTypeForRequest(request);
             
             // Reserve rooms using enhanced availability service
             boolean reserved = availabilityService.reserveRooms(
@@ -83,20 +294,11 @@ public class BookingService {
             );
             
             // Create booking
-            Booking booking = Booking.builder()
-                    .propertyId(request.getPropertyId())
-                    .userId(request.getUserId())
-                    .roomTypeId(request.getRoomTypeId())
-                    .checkInDate(request.getCheckIn())
-                    .checkOutDate(request.getCheckOut())
-                    .numberOfRooms(request.getNumberOfRooms())
-                    .numberOfGuests(request.getNumberOfGuests())
-                    .totalAmount(totalAmount)
-                    .currency("USD")
-                    .status(BookingStatus.CONFIRMED)
-                    .specialRequests(request.getSpecialRequests())
-                    .idempotencyKey(request.getIdempotencyKey())
-                    .build();
+            Booking booking = buildBooking(request, totalAmount);
+            if (holdExpiresAt != null) {
+                booking.setStatus(BookingStatus.PENDING);
+                booking.setHoldExpiresAt(holdExpiresAt);
+            }
             
             booking = bookingRepository.save(booking);
             
@@ -113,7 +315,7 @@ public class BookingService {
     }
     
     /**
-     * Extend a booking period
+     * Extend a booking period; priced like any other {@link #modifyBooking} change
      */
     @Transactional
     public BookingResponse extendBooking(UUID bookingId, LocalDate newCheckOut) {
@@ -122,55 +324,13 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
         
-        // Validate booking can be extended
-        if (booking.getStatus() != BookingStatus.CONFIRMED) {
-            throw new InvalidBookingStateException("Only confirmed bookings can be extended");
-        }
-        
         if (!newCheckOut.isAfter(booking.getCheckOutDate())) {
             throw new ValidationException("New checkout date must be after current checkout date");
         }
         
-        if (newCheckOut.isAfter(booking.getCheckInDate().plusDays(30))) {
-            throw new ValidationException("Total booking duration cannot exceed 30 days");
-        }
-        
-        // Check availability for extension period
-        boolean available = availabilityService.reserveRooms(
-                booking.getPropertyId(),
-                booking.getRoomTypeId(),
-                booking.getCheckOutDate(), // Start from current checkout
-                newCheckOut,
-                booking.getNumberOfRooms()
-        );
-        
-        if (!available) {
-            throw new RoomNotAvailableException("Rooms not available for extension period");
-        }
-        
-        // Get room type for pricing
-        RoomType roomType = roomTypeRepository.findById(booking.getRoomTypeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
-        
-        // Calculate additional cost
-        long additionalNights = ChronoUnit.DAYS.between(booking.getCheckOutDate(), newCheckOut);
-        BigDecimal extensionPrice = dynamicPricingService.calculateDynamicPrice(
-                roomType,
-                booking.getCheckOutDate(),
-                newCheckOut,
-                booking.getPropertyId(),
-                booking.getNumberOfRooms()
-        );
-        
-        // Update booking
-        booking.setCheckOutDate(newCheckOut);
-        booking.setTotalAmount(booking.getTotalAmount().add(extensionPrice));
-        booking = bookingRepository.save(booking);
-        
-        log.info("Booking {} extended by {} nights for additional ${}", 
-                bookingId, additionalNights, extensionPrice);
-        
-        return mapToResponse(booking);
+        return modifyBooking(bookingId, BookingModificationRequest.builder()
+                .newCheckOut(newCheckOut)
+                .build());
     }
     
     /**
@@ -217,7 +377,22 @@ public class BookingService {
      */
     @Transactional
     public BookingResponse modifyRoomCount(UUID bookingId, int newRoomCount) {
-        log.info("Modifying room count for booking {} to {}", bookingId, newRoomCount);
+        return modifyBooking(bookingId, BookingModificationRequest.builder()
+                .newRoomCount(newRoomCount)
+                .build());
+    }
+    
+    /**
+     * Apply date, room and guest changes together: only the per-night difference between the old
+     * and new stay is reserved or released, under one lock.
+     * <p>
+     * Pricing follows the same difference: room-nights kept from the old stay keep what the guest
+     * already pays, added room-nights are quoted at today's dynamic rate, and removed room-nights
+     * are credited at the booking's average stored rate per room-night.
+     */
+    @Transactional
+    public BookingResponse modifyBooking(UUID bookingId, BookingModificationRequest request) {
+        log.info("Modifying booking {}: {}", bookingId, request);
         
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
@@ -226,59 +401,85 @@ public class BookingService {
             throw new InvalidBookingStateException("Only confirmed bookings can be modified");
         }
         
-        if (newRoomCount < 1 || newRoomCount > 10) {
-            throw new ValidationException("Room count must be between 1 and 10");
+        LocalDate checkIn = request.getNewCheckIn() != null ? request.getNewCheckIn() : booking.getCheckInDate();
+        LocalDate checkOut = request.getNewCheckOut() != null ? request.getNewCheckOut() : booking.getCheckOutDate();
+        int rooms = request.getNewRoomCount() != null ? request.getNewRoomCount() : booking.getNumberOfRooms();
+        int guests = request.getNewGuestCount() != null ? request.getNewGuestCount() : booking.getNumberOfGuests();
+        
+        if (!checkIn.equals(booking.getCheckInDate())) {
+            validateBookingDates(checkIn, checkOut);
+        } else if (!checkOut.isAfter(checkIn)) {
+            throw new ValidationException("Check-out date must be after check-in date");
+        } else if (ChronoUnit.DAYS.between(checkIn, checkOut) > 30) {
+            throw new ValidationException("Total booking duration cannot exceed 30 days");
         }
         
-        int roomDifference = newRoomCount - booking.getNumberOfRooms();
+        validateRoomCount(rooms);
         
-        if (roomDifference > 0) {
-            // Adding rooms - check availability
-            boolean available = availabilityService.reserveRooms(
-                    booking.getPropertyId(),
-                    booking.getRoomTypeId(),
-                    booking.getCheckInDate(),
-                    booking.getCheckOutDate(),
-                    roomDifference
-            );
-            
-            if (!available) {
-                throw new RoomNotAvailableException("Additional rooms not available");
-            }
-        } else if (roomDifference < 0) {
-            // Removing rooms - release them
-            availabilityService.releaseRooms(
-                    booking.getPropertyId(),
-                    booking.getRoomTypeId(),
-                    booking.getCheckInDate(),
-                    booking.getCheckOutDate(),
-                    Math.abs(roomDifference)
+        RoomType roomType = roomTypeRepository.findById(booking.getRoomTypeId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
+        
+        int maxCapacity = roomType.getMaxOccupancy() * rooms;
+        if (guests < 1) {
+            throw new ValidationException("At least one guest is required");
+        }
+        if (guests > maxCapacity) {
+            throw new ValidationException(
+                    String.format("Guest count %d exceeds maximum capacity %d", guests, maxCapacity)
             );
         }
         
-        // Recalculate price
-        RoomType roomType = roomTypeRepository.findById(booking.getRoomTypeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
+        InventoryDelta delta = InventoryDelta.between(
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getNumberOfRooms(),
+                checkIn, checkOut, rooms);
         
-        BigDecimal newTotalPrice = dynamicPricingService.calculateDynamicPrice(
-                roomType,
-                booking.getCheckInDate(),
-                booking.getCheckOutDate(),
-                booking.getPropertyId(),
-                newRoomCount
-        );
+        if (!availabilityService.applyDelta(booking.getPropertyId(), booking.getRoomTypeId(), delta)) {
+            // Rolls back any part of the delta already applied
+            throw new RoomNotAvailableException("Rooms not available for the modified stay");
+        }
         
-        // Update booking
-        booking.setNumberOfRooms(newRoomCount);
-        booking.setTotalAmount(newTotalPrice);
+        if (!delta.isEmpty()) {
+            booking.setTotalAmount(repriceDelta(booking, roomType, delta));
+        }
+        
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setNumberOfRooms(rooms);
+        booking.setNumberOfGuests(guests);
         booking = bookingRepository.save(booking);
         
-        log.info("Room count updated from {} to {} for booking {}, new price: ${}", 
-                booking.getNumberOfRooms(), newRoomCount, bookingId, newTotalPrice);
+        log.info("Booking {} modified to {} - {}, {} rooms, {} guests, total ${}",
+                bookingId, checkIn, checkOut, rooms, guests, booking.getTotalAmount());
         
         return mapToResponse(booking);
     }
     
+    /**
+     * Stored total plus added room-nights at current rates, minus removed room-nights at the
+     * stored average. Must run before the booking's dates and rooms are updated.
+     */
+    private BigDecimal repriceDelta(Booking booking, RoomType roomType, InventoryDelta delta) {
+        BigDecimal total = booking.getTotalAmount();
+        
+        long releasedRoomNights = 0;
+        for (InventoryDelta.Run run : delta.releases()) {
+            releasedRoomNights += ChronoUnit.DAYS.between(run.start(), run.end()) * run.rooms();
+        }
+        if (releasedRoomNights > 0) {
+            long bookedRoomNights = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate())
+                    * booking.getNumberOfRooms();
+            total = total.subtract(booking.getTotalAmount()
+                    .multiply(BigDecimal.valueOf(releasedRoomNights))
+                    .divide(BigDecimal.valueOf(bookedRoomNights), 2, RoundingMode.HALF_UP));
+        }
+        
+        for (InventoryDelta.Run run : delta.reservations()) {
+            total = total.add(dynamicPricingService.calculateDynamicPrice(
+                    roomType, run.start(), run.end(), booking.getPropertyId(), run.rooms()));
+        }
+        return total;
+    }
+    
     @Transactional
     public BookingResponse cancelBooking(UUID bookingId, String cancellationReason) {
         log.info("Cancelling booking: {}", bookingId);
@@ -348,12 +549,9 @@ public class BookingService {
                 .build();
     }
     
-    @Cacheable(value = "bookings", key = "#bookingId", condition = "@environment.getProperty('spring.cache.type') != 'none'")
     public BookingResponse getBooking(UUID bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-        
-        return mapToResponse(booking);
+        return bookingReadCache.get(bookingId, id -> mapToResponse(bookingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"))));
     }
     
     public Page<BookingResponse> getUserBookings(UUID userId, Pageable pageable) {
@@ -361,11 +559,41 @@ public class BookingService {
         return bookings.map(this::mapToResponse);
     }
     
-    public BookingResponse getBookingByConfirmationCode(String confirmationCode) {
-        Booking booking = bookingRepository.findByConfirmationCode(confirmationCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+    /**
+     * One page of a user's bookings, newest first, continuing after {@code cursor} when given.
+     * Reads one row past the limit to know whether another page exists instead of counting.
+     */
+    @Transactional(readOnly = true)
+    public BookingHistoryResponse getUserBookingHistory(UUID userId, String cursor, int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new ValidationException("Limit must be between 1 and 100");
+        }
         
-        return mapToResponse(booking);
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<Booking> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findLatestByUserId(userId, window);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            bookings = bookingRepository.findByUserIdBefore(userId, after.createdAt(), after.id(), window);
+        }
+        
+        boolean hasMore = bookings.size() > limit;
+        if (hasMore) {
+            bookings = bookings.subList(0, limit);
+        }
+        
+        return BookingHistoryResponse.builder()
+                .bookings(bookings.stream().map(this::mapToResponse).toList())
+                .nextCursor(hasMore ? BookingCursor.after(bookings.get(limit - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    public BookingResponse getBookingByConfirmationCode(String confirmationCode) {
+        return bookingReadCache.getByConfirmationCode(confirmationCode, code -> mapToResponse(
+                bookingRepository.findByConfirmationCode(code)
+                        .orElseThrow(() -> new ResourceNotFoundException("Booking not found"))));
     }
     
     @Transactional(readOnly = true)
@@ -384,6 +612,11 @@ public class BookingService {
         long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
         BigDecimal pricePerNight = dynamicPrice.divide(BigDecimal.valueOf(nights), 2, BigDecimal.ROUND_HALF_UP);
         
+        // Only look up the sold-out nights when there is at least one
+        List<LocalDate> blockingDates = minAvailable != null && minAvailable < 1
+                ? availabilityService.getBlockingDates(propertyId, roomTypeId, checkIn, checkOut, 1)
+                : List.of();
+        
         return AvailabilityResponse.builder()
                 .propertyId(propertyId)
                 .roomTypeId(roomTypeId)
@@ -392,6 +625,102 @@ public class BookingService {
                 .availableRooms(minAvailable != null ? minAvailable : 0)
                 .totalRooms(roomType.getTotalRooms())
                 .pricePerNight(pricePerNight)
+                .blockingDates(blockingDates)
+                .build();
+    }
+    
+    RoomType getRoomTypeForRequest(BookingRequest request) {
+        RoomType roomType = roomTypeRepository.findById(request.getRoomTypeId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
+        
+        if (request.getNumberOfGuests() > roomType.getMaxOccupancy() * request.getNumberOfRooms()) {
+            throw new ValidationException("Guest count exceeds room capacity");
+        }
+        return roomType;
+    }
+    
+    Booking buildBooking(BookingRequest request, BigDecimal totalAmount) {
+        return Booking.builder()
+                .propertyId(request.getPropertyId())
+                .userId(request.getUserId())
+                .roomTypeId(request.getRoomTypeId())
+                .checkInDate(request.getCheckIn())
+                .checkOutDate(request.getCheckOut())
+                .numberOfRooms(request.getNumberOfRooms())
+                .numberOfGuests(request.getNumberOfGuests())
+                .totalAmount(totalAmount)
+                .currency("USD")
+                .status(BookingStatus.CONFIRMED)
+                .specialRequests(request.getSpecialRequests())
+                .idempotencyKey(request.getIdempotencyKey())
+                .build();
+    }
+    
+    /**
+     * Availability and price for many properties in one pass: one room type query,
+     * one grouped availability aggregate, then in-memory pricing
+     */
+    @Transactional(readOnly = true)
+    public BulkAvailabilityResponse checkAvailabilityBulk(BulkAvailabilityRequest request) {
+        LocalDate checkIn = request.getCheckIn();
+        LocalDate checkOut = request.getCheckOut();
+        if (!checkOut.isAfter(checkIn)) {
+            throw new ValidationException("Check-out date must be after check-in date");
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > 30) {
+            throw new ValidationException("Booking duration cannot exceed 30 days");
+        }
+        
+        int rooms = request.getNumberOfRooms() != null ? request.getNumberOfRooms() : 1;
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        Set<UUID> roomTypeFilter = request.getRoomTypeIds() != null && !request.getRoomTypeIds().isEmpty()
+                ? new HashSet<>(request.getRoomTypeIds())
+                : null;
+        
+        Map<UUID, AvailabilitySummary> summaries = new HashMap<>();
+        for (AvailabilitySummary summary : availabilityRepository.summarizeByRoomType(
+                request.getPropertyIds(), checkIn, checkOut.minusDays(1))) {
+            summaries.put(summary.getRoomTypeId(), summary);
+        }
+        
+        List<RoomType> roomTypes = roomTypeRepository.findByPropertyIdIn(request.getPropertyIds()).stream()
+                .filter(roomType -> roomTypeFilter == null || roomTypeFilter.contains(roomType.getId()))
+                .toList();
+        dynamicPricingService.preloadDemand(roomTypes.stream().map(RoomType::getId).toList());
+        
+        List<BulkAvailabilityResponse.RoomTypeAvailability> results = new ArrayList<>();
+        for (RoomType roomType : roomTypes) {
+            
+            // Nights without a row have never been booked, so they still have the full inventory;
+            // that only decides the flag, the price uses the same demand input as a booking
+            AvailabilitySummary summary = summaries.get(roomType.getId());
+            int availableRooms = roomType.getTotalRooms();
+            if (summary != null) {
+                availableRooms = summary.getNights() < nights
+                        ? Math.min(summary.getMinAvailable(), roomType.getTotalRooms())
+                        : summary.getMinAvailable();
+            }
+            
+            BigDecimal totalPrice = dynamicPricingService.calculateDynamicPrice(
+                    roomType, checkIn, checkOut, roomType.getPropertyId(), rooms);
+            
+            results.add(BulkAvailabilityResponse.RoomTypeAvailability.builder()
+                    .propertyId(roomType.getPropertyId())
+                    .roomTypeId(roomType.getId())
+                    .roomTypeName(roomType.getName())
+                    .availableRooms(availableRooms)
+                    .totalRooms(roomType.getTotalRooms())
+                    .available(availableRooms >= rooms)
+                    .pricePerNight(totalPrice.divide(BigDecimal.valueOf(nights * rooms), 2, RoundingMode.HALF_UP))
+                    .totalPrice(totalPrice)
+                    .build());
+        }
+        
+        return BulkAvailabilityResponse.builder()
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .numberOfRooms(rooms)
+                .results(results)
                 .build();
     }
     
@@ -414,7 +743,7 @@ public class BookingService {
                "No refund for cancellations less than 3 days before check-in.";
     }
     
-    private void validateBookingDates(LocalDate checkIn, LocalDate checkOut) {
+    void validateBookingDates(LocalDate checkIn, LocalDate checkOut) {
         if (checkIn == null || checkOut == null) {
             throw new ValidationException("Check-in and check-out dates are required");
         }
@@ -429,7 +758,13 @@ public class BookingService {
         }
     }
     
-    private BookingResponse mapToResponse(Booking booking) {
+    void validateRoomCount(int rooms) {
+        if (rooms < 1 || rooms > 10) {
+            throw new ValidationException("Room count must be between 1 and 10");
+        }
+    }
+    
+    BookingResponse mapToResponse(Booking booking) {
         return BookingResponse.builder()
                 .id(booking.getId())
                 .propertyId(booking.getPropertyId())
@@ -443,6 +778,7 @@ public class BookingService {
                 .status(booking.getStatus())
                 .confirmationCode(booking.getConfirmationCode())
                 .createdAt(booking.getCreatedAt())
+                .holdExpiresAt(booking.getHoldExpiresAt())
                 .build();
     }
 }
\ No newline at end of file
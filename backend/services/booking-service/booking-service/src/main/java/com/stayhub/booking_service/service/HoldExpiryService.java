@@ -0,0 +1,86 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.inventory.HoldTimingWheel;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.repository.PendingHold;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drives checkout hold expiry from the {@link HoldTimingWheel}.
+ * Open holds are loaded into the wheel once at startup; after that each tick only
+ * touches the holds that are actually due.
+ */
+@Service
+@Slf4j
+public class HoldExpiryService {
+    
+    private final HoldTimingWheel holdTimingWheel;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final int recoveryBatchSize;
+    private final long retryDelayMillis;
+    
+    public HoldExpiryService(HoldTimingWheel holdTimingWheel,
+                             BookingService bookingService,
+                             BookingRepository bookingRepository,
+                             @Value("${booking.hold.recovery-batch-size:500}") int recoveryBatchSize,
+                             @Value("${booking.hold.retry-delay-ms:5000}") long retryDelayMillis) {
+        this.holdTimingWheel = holdTimingWheel;
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+    
+    /**
+     * Re-arm holds that were open when the service last stopped, in keyset batches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverHolds() {
+        UUID afterId = new UUID(0L, 0L);
+        int recovered = 0;
+        while (true) {
+            List<PendingHold> holds = bookingRepository.findPendingHolds(afterId, PageRequest.of(0, recoveryBatchSize));
+            for (PendingHold hold : holds) {
+                holdTimingWheel.schedule(hold.getId(), hold.getHoldExpiresAt());
+            }
+            recovered += holds.size();
+            if (holds.size() < recoveryBatchSize) {
+                break;
+            }
+            afterId = holds.get(holds.size() - 1).getId();
+        }
+        log.info("Recovered {} open checkout holds", recovered);
+    }
+    
+    @Scheduled(fixedDelayString = "${booking.hold.tick-ms:1000}")
+    public void expireDueHolds() {
+        List<UUID> due = holdTimingWheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        int expired = 0;
+        for (UUID bookingId : due) {
+            try {
+                if (bookingService.expireHold(bookingId)) {
+                    expired++;
+                }
+            } catch (RuntimeException e) {
+                // Usually a concurrent confirm; the retry sees the new state and does nothing
+                log.warn("Failed to expire hold {}, retrying in {} ms: {}", bookingId, retryDelayMillis, e.getMessage());
+                holdTimingWheel.schedule(bookingId, System.currentTimeMillis() + retryDelayMillis);
+            }
+        }
+        log.debug("Expired {} of {} due checkout holds", expired, due.size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory map from idempotency key to the id of the booking it created.
+ * The first request for a key runs the booking; concurrent retries with the same key wait on
+ * its future instead of running it again, and later retries get the booking as it is now, read
+ * again by id, until the entry expires. Only the id is kept so a replay after a cancellation or
+ * modification never returns the response of the original request.
+ * Failures are not stored, so a retry after an error runs the booking again.
+ * The unique constraint on bookings.idempotency_key stays the guard across instances.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Completed entries in completion order; with a single TTL this is also expiry order
+    private final ConcurrentLinkedQueue<Completed> completed = new ConcurrentLinkedQueue<>();
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitMillis;
+    private final LongSupplier nanoClock;
+
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter misses;
+
+    @Autowired
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${booking.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${booking.idempotency.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${booking.idempotency.wait-ms:10000}") long waitMillis) {
+        this(meterRegistry, maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), waitMillis, System::nanoTime);
+    }
+
+    IdempotencyStore(MeterRegistry meterRegistry, int maxEntries, long ttlNanos, long waitMillis,
+                     LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.waitMillis = waitMillis;
+        this.nanoClock = nanoClock;
+        this.hits = requests(meterRegistry, "hit");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("booking.idempotency.entries", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code booking} once per key. Repeats wait for the in-flight request if there is one and
+     * then get {@code current} of the booking it created. Requests without a key always run.
+     */
+    public BookingResponse execute(String idempotencyKey, Supplier<BookingResponse> booking,
+                                   Function<UUID, BookingResponse> current) {
+        if (idempotencyKey == null) {
+            return booking.get();
+        }
+
+        Entry mine = new Entry();
+        while (true) {
+            Entry existing = entries.putIfAbsent(idempotencyKey, mine);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(nanoClock.getAsLong(), ttlNanos)) {
+                entries.remove(idempotencyKey, existing);
+                continue;
+            }
+            return current.apply(await(idempotencyKey, existing));
+        }
+
+        misses.increment();
+        BookingResponse response;
+        try {
+            response = booking.get();
+        } catch (RuntimeException e) {
+            entries.remove(idempotencyKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+
+        mine.completedAt = nanoClock.getAsLong();
+        mine.result.complete(response.getId());
+        completed.offer(new Completed(idempotencyKey, mine));
+        evict();
+        return response;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private UUID await(String idempotencyKey, Entry entry) {
+        if (entry.result.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+            log.debug("Attaching to in-flight booking for idempotency key {}", idempotencyKey);
+        }
+
+        try {
+            return entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ConcurrentBookingException("Booking failed: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new ConcurrentBookingException("A booking with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentBookingException("Booking interrupted");
+        }
+    }
+
+    /**
+     * Drop expired entries and the oldest completed entries beyond the size bound.
+     * In-flight entries are never evicted.
+     */
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        Completed oldest;
+        while ((oldest = completed.peek()) != null) {
+            if (!oldest.entry.isExpired(now, ttlNanos) && entries.size() <= maxEntries) {
+                return;
+            }
+            if (completed.remove(oldest)) {
+                entries.remove(oldest.key, oldest.entry);
+            }
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.idempotency.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<UUID> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return result.isDone() && !result.isCompletedExceptionally() && now - completedAt > ttlNanos;
+        }
+    }
+
+    private record Completed(String key, Entry entry) {
+    }
+}
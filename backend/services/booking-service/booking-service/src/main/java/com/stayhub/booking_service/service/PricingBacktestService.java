@@ -0,0 +1,430 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.config.Bulkhead;
+import com.stayhub.booking_service.dto.BacktestJobResponse;
+import com.stayhub.booking_service.dto.BacktestRequest;
+import com.stayhub.booking_service.dto.BacktestResponse;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.BulkheadFullException;
+import com.stayhub.booking_service.exception.ResourceNotFoundException;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.pricing.Backtest;
+import com.stayhub.booking_service.pricing.HolidayFiles;
+import com.stayhub.booking_service.pricing.PricingEngine;
+import com.stayhub.booking_service.pricing.PricingRules;
+import com.stayhub.booking_service.pricing.PricingStrategy;
+import com.stayhub.booking_service.pricing.PropertyHistory;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.repository.HistoricalStay;
+import com.stayhub.booking_service.repository.NightCapacity;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Replays past bookings under candidate pricing strategies (see {@link Backtest}).
+ * <p>
+ * Properties are read a chunk at a time: their room types, their stays in keyset pages and the
+ * nightly capacity of their room types. A loaded chunk is evaluated on a dedicated fork/join pool
+ * while the next one is read, and at most a few chunks are held at once, so memory stays flat
+ * however many years or properties are replayed.
+ * <p>
+ * A run takes minutes, so it is started as a job on the backtest {@link Bulkhead} and polled for
+ * its result; the bulkhead caps how many runs compete for the database at once.
+ */
+@Service
+@Slf4j
+public class PricingBacktestService {
+
+    static final String CURRENT = "current";
+
+    private final BookingRepository bookingRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final PricingRules pricingRules;
+    private final HolidayFiles holidayFiles;
+    private final Bulkhead backtestBulkhead;
+
+    // Most recent jobs by id, oldest evicted first
+    private final Map<UUID, Job> jobs;
+
+    private final ForkJoinPool pool;
+    private final int propertiesPerChunk;
+    private final int pageSize;
+    private final int chunksInFlight;
+    private final int maxDays;
+
+    public PricingBacktestService(BookingRepository bookingRepository,
+                                  RoomTypeRepository roomTypeRepository,
+                                  AvailabilityRepository availabilityRepository,
+                                  PricingRules pricingRules,
+                                  HolidayFiles holidayFiles,
+                                  Bulkhead backtestBulkhead,
+                                  @Value("${booking.pricing.backtest.retained-jobs:20}") int retainedJobs,
+                                  @Value("${booking.pricing.backtest.parallelism:0}") int parallelism,
+                                  @Value("${booking.pricing.backtest.chunk-size:100}") int propertiesPerChunk,
+                                  @Value("${booking.pricing.backtest.page-size:5000}") int pageSize,
+                                  @Value("${booking.pricing.backtest.chunks-in-flight:2}") int chunksInFlight,
+                                  @Value("${booking.pricing.backtest.max-days:3660}") int maxDays) {
+        this.bookingRepository = bookingRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.pricingRules = pricingRules;
+        this.holidayFiles = holidayFiles;
+        this.backtestBulkhead = backtestBulkhead;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Job> eldest) {
+                return size() > retainedJobs;
+            }
+        });
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.propertiesPerChunk = propertiesPerChunk;
+        this.pageSize = pageSize;
+        this.chunksInFlight = chunksInFlight;
+        this.maxDays = maxDays;
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Validate the request and start the backtest; poll {@link #getJob} for the outcome
+     *
+     * @throws BulkheadFullException if as many backtests as the bulkhead holds are running or queued
+     */
+    public BacktestJobResponse start(BacktestRequest request) {
+        Plan plan = plan(request);
+        UUID id = UUID.randomUUID();
+        CompletableFuture<BacktestResponse> result = backtestBulkhead.submit(() -> run(plan));
+        Job job = new Job(id, LocalDateTime.now(), result);
+        jobs.put(id, job);
+        result.whenComplete((response, error) -> {
+            if (error != null) {
+                log.warn("Backtest {} failed", id, error);
+            }
+        });
+        return toJobResponse(job);
+    }
+
+    /**
+     * Status of a backtest, with its result once completed
+     */
+    public BacktestJobResponse getJob(UUID id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Backtest not found");
+        }
+        return toJobResponse(job);
+    }
+
+    private static BacktestJobResponse toJobResponse(Job job) {
+        BacktestJobResponse.BacktestJobResponseBuilder response = BacktestJobResponse.builder()
+                .id(job.id())
+                .createdAt(job.createdAt());
+        if (!job.result().isDone()) {
+            return response.status(BacktestJobResponse.Status.RUNNING).build();
+        }
+        try {
+            return response.status(BacktestJobResponse.Status.COMPLETED).result(job.result().join()).build();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return response.status(BacktestJobResponse.Status.FAILED).errorMessage(cause.getMessage()).build();
+        }
+    }
+
+    /**
+     * Checks the request up front so a bad one is rejected before a job is started
+     */
+    private Plan plan(BacktestRequest request) {
+        LocalDate from = request.getFrom();
+        LocalDate to = request.getTo();
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days < 1 || days > maxDays) {
+            throw new ValidationException(
+                    String.format("Backtest window must cover between 1 and %d days", maxDays));
+        }
+
+        List<String> names = new ArrayList<>();
+        List<PricingStrategy> strategies = new ArrayList<>();
+        names.add(CURRENT);
+        strategies.add(PricingStrategy.CURRENT);
+        for (BacktestRequest.Strategy strategy : request.getStrategies()) {
+            if (names.contains(strategy.getName())) {
+                throw new ValidationException("Duplicate strategy name: " + strategy.getName());
+            }
+            names.add(strategy.getName());
+            strategies.add(toStrategy(strategy));
+        }
+        return new Plan(request, names, strategies);
+    }
+
+    /**
+     * Revenue and occupancy of every requested strategy and of the current pricing, per property
+     */
+    private BacktestResponse run(Plan plan) {
+        long started = System.nanoTime();
+        BacktestRequest request = plan.request();
+        LocalDate from = request.getFrom();
+        LocalDate to = request.getTo();
+        List<String> names = plan.names();
+        List<PricingStrategy> strategies = plan.strategies();
+
+        Backtest backtest = new Backtest(strategies, holidayFiles.current(), from, to,
+                request.getElasticity().doubleValue(), request.getMaxUplift().doubleValue());
+        List<UUID> propertyIds = request.getPropertyIds() == null || request.getPropertyIds().isEmpty()
+                ? roomTypeRepository.findAllPropertyIds()
+                : request.getPropertyIds().stream().distinct().sorted().toList();
+
+        List<Backtest.Outcome> outcomes = new ArrayList<>(propertyIds.size());
+        Deque<CompletableFuture<Backtest.Outcome[]>> evaluating = new ArrayDeque<>();
+        for (int start = 0; start < propertyIds.size(); start += propertiesPerChunk) {
+            List<PropertyHistory> chunk = load(
+                    propertyIds.subList(start, Math.min(start + propertiesPerChunk, propertyIds.size())), from, to);
+            evaluating.add(CompletableFuture.supplyAsync(() -> backtest.evaluate(chunk), pool));
+            while (evaluating.size() > chunksInFlight) {
+                outcomes.addAll(Arrays.asList(evaluating.removeFirst().join()));
+            }
+        }
+        while (!evaluating.isEmpty()) {
+            outcomes.addAll(Arrays.asList(evaluating.removeFirst().join()));
+        }
+
+        BacktestResponse response = toResponse(from, to, names, outcomes);
+        response.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Backtested {} strategies over {} stays of {} properties in {} ms",
+                strategies.size(), response.getStays(), outcomes.size(), response.getElapsedMs());
+        return response;
+    }
+
+    /**
+     * History of some properties: stays checking in within [from, to) and the capacity of every
+     * night they cover
+     */
+    private List<PropertyHistory> load(List<UUID> propertyIds, LocalDate from, LocalDate to) {
+        Map<UUID, RoomType> roomTypes = new HashMap<>();
+        for (RoomType roomType : roomTypeRepository.findByPropertyIdIn(propertyIds)) {
+            roomTypes.put(roomType.getId(), roomType);
+        }
+
+        Map<UUID, List<PropertyHistory.Stay>> stays = new HashMap<>();
+        LocalDate end = to;
+        UUID afterId = new UUID(0L, 0L);
+        while (true) {
+            List<HistoricalStay> page = bookingRepository.findHistoricalStays(
+                    propertyIds, from, to, afterId, PageRequest.of(0, pageSize));
+            for (HistoricalStay stay : page) {
+                if (!roomTypes.containsKey(stay.getRoomTypeId())
+                        || !stay.getCheckOutDate().isAfter(stay.getCheckInDate())) {
+                    continue;
+                }
+                stays.computeIfAbsent(stay.getRoomTypeId(), id -> new ArrayList<>()).add(toStay(stay));
+                if (stay.getCheckOutDate().isAfter(end)) {
+                    end = stay.getCheckOutDate();
+                }
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        int nights = (int) ChronoUnit.DAYS.between(from, end);
+        Map<UUID, int[]> capacity = new HashMap<>();
+        for (RoomType roomType : roomTypes.values()) {
+            int[] rooms = new int[nights];
+            Arrays.fill(rooms, roomType.getTotalRooms());
+            capacity.put(roomType.getId(), rooms);
+        }
+        if (!roomTypes.isEmpty()) {
+            for (NightCapacity night : availabilityRepository.findCapacityByRoomTypes(
+                    roomTypes.keySet(), from, end.minusDays(1))) {
+                capacity.get(night.getRoomTypeId())[(int) ChronoUnit.DAYS.between(from, night.getDate())] =
+                        night.getTotalRooms();
+            }
+        }
+
+        Map<UUID, List<PropertyHistory.RoomTypeHistory>> byProperty = new LinkedHashMap<>();
+        for (UUID propertyId : propertyIds) {
+            byProperty.put(propertyId, new ArrayList<>());
+        }
+        for (RoomType roomType : roomTypes.values()) {
+            byProperty.get(roomType.getPropertyId()).add(new PropertyHistory.RoomTypeHistory(
+                    roomType.getId(),
+                    PricingEngine.toCents(roomType.getBasePrice()),
+                    roomType.getTotalRooms(),
+                    pricingRules.forRoomType(roomType.getId()),
+                    capacity.get(roomType.getId()),
+                    stays.getOrDefault(roomType.getId(), List.of())));
+        }
+
+        List<PropertyHistory> histories = new ArrayList<>(byProperty.size());
+        byProperty.forEach((propertyId, history) -> {
+            if (!history.isEmpty()) {
+                histories.add(new PropertyHistory(propertyId, history));
+            }
+        });
+        return histories;
+    }
+
+    private static PropertyHistory.Stay toStay(HistoricalStay stay) {
+        return new PropertyHistory.Stay(
+                stay.getCreatedAt().toEpochSecond(ZoneOffset.UTC),
+                stay.getCancelledAt() != null ? stay.getCancelledAt().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE,
+                stay.getCheckInDate().toEpochDay(),
+                stay.getCheckOutDate().toEpochDay(),
+                stay.getNumberOfRooms(),
+                PricingEngine.toCents(stay.getTotalAmount()));
+    }
+
+    /**
+     * The current pricing with the strategy's multipliers in place of the ones it sets
+     */
+    static PricingStrategy toStrategy(BacktestRequest.Strategy config) {
+        PricingStrategy current = PricingStrategy.CURRENT;
+        PricingStrategy.PricingStrategyBuilder strategy = current.toBuilder();
+        if (config.getSeasonalByMonth() != null) {
+            int[] seasonByMonth = current.seasonByMonth();
+            for (int month = 1; month <= 12; month++) {
+                seasonByMonth[month] = hundredths("seasonalByMonth", config.getSeasonalByMonth().get(month - 1));
+            }
+            strategy.seasonByMonth(seasonByMonth);
+        }
+        set(config.getWeekend(), "weekend", strategy::weekend);
+        set(config.getHoliday(), "holiday", strategy::holiday);
+        set(config.getHighDemand(), "highDemand", strategy::highDemand);
+        set(config.getLowDemand(), "lowDemand", strategy::lowDemand);
+        set(config.getLastMinuteDiscount(), "lastMinuteDiscount", strategy::lastMinuteDiscount);
+        set(config.getEarlyBirdDiscount(), "earlyBirdDiscount", strategy::earlyBirdDiscount);
+        set(config.getMonthlyStayDiscount(), "monthlyStayDiscount", strategy::monthlyStayDiscount);
+        set(config.getWeeklyStayDiscount(), "weeklyStayDiscount", strategy::weeklyStayDiscount);
+        set(config.getShortStayDiscount(), "shortStayDiscount", strategy::shortStayDiscount);
+        if (config.getHighOccupancyPercent() != null) {
+            strategy.highOccupancy(config.getHighOccupancyPercent() * 100);
+        }
+        if (config.getLowOccupancyPercent() != null) {
+            strategy.lowOccupancy(config.getLowOccupancyPercent() * 100);
+        }
+        if (config.getLastMinuteDays() != null) {
+            strategy.lastMinuteDays(config.getLastMinuteDays());
+        }
+        if (config.getEarlyBirdDays() != null) {
+            strategy.earlyBirdDays(config.getEarlyBirdDays());
+        }
+        return strategy.build();
+    }
+
+    private static void set(BigDecimal multiplier, String field, IntConsumer setter) {
+        if (multiplier != null) {
+            setter.accept(hundredths(field, multiplier));
+        }
+    }
+
+    /**
+     * A multiplier between 0.10 and 5.00 in hundredths, the unit of every pricing factor
+     */
+    private static int hundredths(String field, BigDecimal multiplier) {
+        if (multiplier == null || multiplier.compareTo(new BigDecimal("0.10")) < 0
+                || multiplier.compareTo(new BigDecimal("5.00")) > 0 || multiplier.stripTrailingZeros().scale() > 2) {
+            throw new ValidationException(field + " must be between 0.10 and 5.00 with at most two decimals");
+        }
+        return multiplier.movePointRight(2).intValue();
+    }
+
+    private BacktestResponse toResponse(LocalDate from, LocalDate to, List<String> names,
+                                        List<Backtest.Outcome> outcomes) {
+        int strategies = names.size();
+        double[] totalRevenue = new double[strategies];
+        double[] totalRoomNights = new double[strategies];
+        long totalCapacity = 0;
+        long totalStays = 0;
+
+        List<BacktestResponse.PropertyResult> results = new ArrayList<>(outcomes.size());
+        for (Backtest.Outcome outcome : outcomes) {
+            double[] revenue = new double[strategies];
+            double[] roomNights = new double[strategies];
+            for (int s = 0; s < strategies; s++) {
+                revenue[s] = outcome.getRevenueCents(s);
+                roomNights[s] = outcome.getRoomNights(s);
+                totalRevenue[s] += revenue[s];
+                totalRoomNights[s] += roomNights[s];
+            }
+            totalCapacity += outcome.getCapacityRoomNights();
+            totalStays += outcome.getStays();
+
+            results.add(BacktestResponse.PropertyResult.builder()
+                    .propertyId(outcome.getPropertyId())
+                    .stays(outcome.getStays())
+                    .bookedRevenue(BigDecimal.valueOf(outcome.getBookedRevenueCents(), 2))
+                    .bookedOccupancy(percent(outcome.getBookedRoomNights(), outcome.getCapacityRoomNights()))
+                    .strategies(strategyResults(names, revenue, roomNights, outcome.getCapacityRoomNights()))
+                    .build());
+        }
+
+        return BacktestResponse.builder()
+                .from(from)
+                .to(to)
+                .strategies(names)
+                .properties(outcomes.size())
+                .stays(totalStays)
+                .totals(strategyResults(names, totalRevenue, totalRoomNights, totalCapacity))
+                .results(results)
+                .build();
+    }
+
+    private static List<BacktestResponse.StrategyResult> strategyResults(List<String> names, double[] revenueCents,
+                                                                         double[] roomNights, long capacity) {
+        List<BacktestResponse.StrategyResult> results = new ArrayList<>(names.size());
+        BigDecimal currentOccupancy = percent(roomNights[0], capacity);
+        for (int s = 0; s < names.size(); s++) {
+            BigDecimal occupancy = percent(roomNights[s], capacity);
+            results.add(BacktestResponse.StrategyResult.builder()
+                    .name(names.get(s))
+                    .revenue(money(revenueCents[s]))
+                    .occupancy(occupancy)
+                    .revenueDelta(money(revenueCents[s] - revenueCents[0]))
+                    .revenueDeltaPercent(revenueCents[0] > 0
+                            ? percent(revenueCents[s] - revenueCents[0], revenueCents[0])
+                            : BigDecimal.ZERO)
+                    .occupancyDelta(occupancy.subtract(currentOccupancy))
+                    .build());
+        }
+        return results;
+    }
+
+    private static BigDecimal money(double cents) {
+        return BigDecimal.valueOf(cents).movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(double part, double whole) {
+        if (whole <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(part * 100 / whole).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record Plan(BacktestRequest request, List<String> names, List<PricingStrategy> strategies) {
+    }
+
+    private record Job(UUID id, LocalDateTime createdAt, CompletableFuture<BacktestResponse> result) {
+    }
+}
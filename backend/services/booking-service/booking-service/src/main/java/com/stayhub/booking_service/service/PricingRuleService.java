@@ -0,0 +1,99 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.PricingRuleRequest;
+import com.stayhub.booking_service.entity.PricingRule;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.ResourceNotFoundException;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.pricing.PricingRules;
+import com.stayhub.booking_service.pricing.SeasonIndex;
+import com.stayhub.booking_service.repository.PricingRuleRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Owner seasonal pricing rules; every committed change is compiled into the pricing rules index
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PricingRuleService {
+    
+    private static final long MAX_RULE_DAYS = 3 * 366;
+    
+    private final PricingRuleRepository pricingRuleRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final PricingRules pricingRules;
+    
+    @Transactional(readOnly = true)
+    public List<PricingRule> getRules(UUID propertyId) {
+        return pricingRuleRepository.findByPropertyIdOrderByStartDate(propertyId);
+    }
+    
+    @Transactional
+    public PricingRule createRule(UUID propertyId, PricingRuleRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        if (request.getEndDate().isBefore(LocalDate.now())) {
+            throw new ValidationException("Rule ends in the past");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_RULE_DAYS) {
+            throw new ValidationException("A rule cannot span more than three years");
+        }
+        if (request.getRoomTypeId() != null) {
+            RoomType roomType = roomTypeRepository.findById(request.getRoomTypeId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
+            if (!roomType.getPropertyId().equals(propertyId)) {
+                throw new ValidationException("Room type does not belong to this property");
+            }
+        }
+        
+        PricingRule rule = pricingRuleRepository.save(PricingRule.builder()
+                .propertyId(propertyId)
+                .roomTypeId(request.getRoomTypeId())
+                .name(request.getName())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .weekdayMask(weekdayMask(request))
+                .multiplier(request.getMultiplier())
+                .priority(request.getPriority() != null ? request.getPriority() : 0)
+                .build());
+        pricingRules.reloadPropertyAfterCommit(propertyId);
+        
+        log.info("Created pricing rule '{}' for property {} from {} to {} with multiplier {}", 
+                rule.getName(), propertyId, rule.getStartDate(), rule.getEndDate(), rule.getMultiplier());
+        return rule;
+    }
+    
+    @Transactional
+    public void deleteRule(UUID propertyId, UUID ruleId) {
+        PricingRule rule = pricingRuleRepository.findById(ruleId)
+                .filter(found -> found.getPropertyId().equals(propertyId))
+                .orElseThrow(() -> new ResourceNotFoundException("Pricing rule not found"));
+        pricingRuleRepository.delete(rule);
+        pricingRules.reloadPropertyAfterCommit(propertyId);
+        
+        log.info("Deleted pricing rule {} of property {}", ruleId, propertyId);
+    }
+    
+    private static int weekdayMask(PricingRuleRequest request) {
+        if (request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()) {
+            return SeasonIndex.ALL_WEEKDAYS;
+        }
+        int mask = 0;
+        for (DayOfWeek day : request.getDaysOfWeek()) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,110 @@
+package com.stayhub.booking_service.cache;
+
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BookingReadCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_CachesByIdAndConfirmationCode() {
+        BookingReadCache cache = new BookingReadCache(10, TimeUnit.SECONDS.toNanos(30), clock::get);
+        BookingResponse booking = booking("BK1");
+
+        cache.get(booking.getId(), id -> load(booking));
+        cache.get(booking.getId(), id -> load(booking));
+        BookingResponse byCode = cache.getByConfirmationCode("BK1", code -> load(booking));
+
+        assertThat(byCode).isSameAs(booking);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void get_ExpiresAfterTtl() {
+        BookingReadCache cache = new BookingReadCache(10, TimeUnit.SECONDS.toNanos(30), clock::get);
+        BookingResponse booking = booking("BK1");
+        cache.get(booking.getId(), id -> load(booking));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        cache.get(booking.getId(), id -> load(booking));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_DropsBothKeys() {
+        BookingReadCache cache = new BookingReadCache(10, TimeUnit.SECONDS.toNanos(30), clock::get);
+        BookingResponse booking = booking("BK1");
+        cache.get(booking.getId(), id -> load(booking));
+
+        cache.invalidate(booking.getId(), "BK1");
+        cache.getByConfirmationCode("BK1", code -> load(booking));
+        cache.get(booking.getId(), id -> load(booking));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_LoadRacingAnInvalidationIsNotStored() {
+        BookingReadCache cache = new BookingReadCache(10, TimeUnit.SECONDS.toNanos(30), clock::get);
+        BookingResponse stale = booking("BK1");
+
+        // Given the booking changes while it is being read from the database
+        cache.get(stale.getId(), id -> {
+            cache.invalidate(id, "BK1");
+            return load(stale);
+        });
+
+        // Then the old state is not served from the cache
+        BookingResponse fresh = BookingResponse.builder().id(stale.getId()).confirmationCode("BK1")
+                .status(BookingStatus.CANCELLED).build();
+        assertThat(cache.get(stale.getId(), id -> load(fresh)).getStatus()).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void put_OneOffLookupsDoNotEvictPopularBookings() {
+        BookingReadCache cache = new BookingReadCache(2, TimeUnit.SECONDS.toNanos(30), clock::get);
+        BookingResponse polledA = booking("BKA");
+        BookingResponse polledB = booking("BKB");
+        for (int i = 0; i < 5; i++) {
+            cache.get(polledA.getId(), id -> load(polledA));
+            cache.get(polledB.getId(), id -> load(polledB));
+        }
+
+        // When a booking that is only looked up once arrives
+        BookingResponse oneOff = booking("BKC");
+        cache.get(oneOff.getId(), id -> load(oneOff));
+
+        // Then it is not admitted and the polled bookings stay cached
+        int before = loads.get();
+        cache.get(polledA.getId(), id -> load(polledA));
+        cache.get(polledB.getId(), id -> load(polledB));
+        assertThat(loads).hasValue(before);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private BookingResponse load(BookingResponse booking) {
+        loads.incrementAndGet();
+        return booking;
+    }
+
+    private static BookingResponse booking(String confirmationCode) {
+        return BookingResponse.builder()
+                .id(UUID.randomUUID())
+                .confirmationCode(confirmationCode)
+                .status(BookingStatus.CONFIRMED)
+                .build();
+    }
+}
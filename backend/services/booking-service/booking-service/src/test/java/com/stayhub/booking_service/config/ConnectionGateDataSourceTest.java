@@ -0,0 +1,43 @@
+package com.stayhub.booking_service.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionGateDataSourceTest {
+
+    @Test
+    void getConnection_WaitsForAPermitAndTimesOut() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(pool, 1, 50);
+
+        Connection first = gate.getConnection();
+
+        // Given the only permit is taken, the next borrower gives up after the timeout
+        assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(gate.getActive()).isEqualTo(1);
+
+        // Closing twice returns the permit once
+        first.close();
+        first.close();
+        assertThat(gate.getActive()).isZero();
+        gate.getConnection().close();
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_FailedBorrowReturnsPermit() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(pool, 1, 50);
+
+        assertThatThrownBy(gate::getConnection).hasMessage("pool exhausted");
+        assertThat(gate.getActive()).isZero();
+    }
+}
@@ -0,0 +1,51 @@
+package com.stayhub.booking_service.config;
+
+import com.stayhub.booking_service.event.EventTransport;
+import com.stayhub.booking_service.event.InMemoryEventTransport;
+import com.stayhub.booking_service.event.KafkaEventTransport;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.annotation.UserConfigurations;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class KafkaProducerConfigTest {
+
+    // Reads the real application.yml; producers connect lazily, so no broker is needed
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withConfiguration(UserConfigurations.of(KafkaProducerConfig.class,
+                    KafkaEventTransport.class, InMemoryEventTransport.class));
+
+    @Test
+    void kafkaTransport_StartsWithAJsonProducerFromSpringKafkaSettings() {
+        runner.withPropertyValues("booking.outbox.transport=kafka").run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(EventTransport.class);
+            assertThat(context.getBean(EventTransport.class)).isInstanceOf(KafkaEventTransport.class);
+
+            ProducerFactory<?, ?> producerFactory = context.getBean(ProducerFactory.class);
+            assertThat(producerFactory.getConfigurationProperties())
+                    .containsEntry(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class)
+                    .containsEntry(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class)
+                    .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                    .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 65536)
+                    .containsEntry(ProducerConfig.LINGER_MS_CONFIG, "10")
+                    .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+        });
+    }
+
+    @Test
+    void memoryTransport_DefinesNoProducer() {
+        runner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(EventTransport.class)).isInstanceOf(InMemoryEventTransport.class);
+            assertThat(context).doesNotHaveBean(ProducerFactory.class);
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.stayhub.booking_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stayhub.booking_service.dto.NightlyRateGrid;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.GlobalExceptionHandler;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import com.stayhub.booking_service.service.DynamicPricingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class RateCalendarControllerTest {
+    
+    private static final LocalDate FROM = LocalDate.of(2030, 6, 1);
+    private static final LocalDate TO = FROM.plusDays(3);
+    private static final String ETAG = "\"rates-42\"";
+    
+    private final RoomTypeRepository roomTypeRepository = mock(RoomTypeRepository.class);
+    private final DynamicPricingService dynamicPricingService = mock(DynamicPricingService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new RateCalendarController(roomTypeRepository, dynamicPricingService,
+                    new ObjectMapper(), 366, 60))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    
+    private final UUID propertyId = UUID.randomUUID();
+    private final RoomType roomType = RoomType.builder()
+            .id(UUID.randomUUID())
+            .propertyId(propertyId)
+            .name("Double")
+            .maxOccupancy(2)
+            .basePrice(new BigDecimal("100.00"))
+            .totalRooms(10)
+            .build();
+    
+    RateCalendarControllerTest() {
+        when(roomTypeRepository.findById(roomType.getId())).thenReturn(Optional.of(roomType));
+        when(dynamicPricingService.getNightlyRateGrid(roomType, FROM, TO)).thenReturn(NightlyRateGrid.builder()
+                .roomTypeId(roomType.getId())
+                .propertyId(propertyId)
+                .from(FROM)
+                .currency("USD")
+                .rates(new long[]{10_000, 12_050, 9_000})
+                .prices(new long[]{11_000, 13_255, 9_900})
+                .available(new int[]{4, 0, -1})
+                .etag(ETAG)
+                .build());
+    }
+    
+    @Test
+    void getNightlyRates_StreamsColumnArraysOneEntryPerNight() throws Exception {
+        MvcResult started = mockMvc.perform(get(url()).param("from", "2030-06-01").param("to", "2030-06-04"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", containsString("max-age=60")))
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.roomTypeId").value(roomType.getId().toString()))
+                .andExpect(jsonPath("$.propertyId").value(propertyId.toString()))
+                .andExpect(jsonPath("$.from").value("2030-06-01"))
+                .andExpect(jsonPath("$.to").value("2030-06-04"))
+                .andExpect(jsonPath("$.currency").value("USD"))
+                .andExpect(jsonPath("$.rates", contains(100.0, 120.5, 90.0)))
+                .andExpect(jsonPath("$.prices", contains(110.0, 132.55, 99.0)))
+                .andExpect(jsonPath("$.available[0]").value(4))
+                .andExpect(jsonPath("$.available[1]").value(0))
+                .andExpect(jsonPath("$.available[2]").value(nullValue()));
+    }
+    
+    @Test
+    void getNightlyRates_MatchingIfNoneMatchIsNotModified() throws Exception {
+        mockMvc.perform(get(url()).param("from", "2030-06-01").param("to", "2030-06-04")
+                        .header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+        
+        mockMvc.perform(get(url()).param("from", "2030-06-01").param("to", "2030-06-04")
+                        .header("If-None-Match", "\"rates-41\""))
+                .andExpect(request().asyncStarted());
+    }
+    
+    @Test
+    void getNightlyRates_RejectsEmptyInvertedAndOverlongRanges() throws Exception {
+        mockMvc.perform(get(url()).param("from", "2030-06-04").param("to", "2030-06-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(url()).param("from", "2030-06-01").param("to", "2030-06-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(url()).param("from", "2030-06-01").param("to", "2031-06-03"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Date range must cover between 1 and 366 nights"));
+        
+        verify(dynamicPricingService, never()).getNightlyRateGrid(any(), any(), any());
+    }
+    
+    @Test
+    void getNightlyRates_UnknownRoomTypeIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/room-types/{id}/rates", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+    
+    private String url() {
+        return "/api/v1/room-types/" + roomType.getId() + "/rates";
+    }
+}
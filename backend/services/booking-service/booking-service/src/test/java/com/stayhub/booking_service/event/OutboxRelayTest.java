@@ -0,0 +1,170 @@
+package com.stayhub.booking_service.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.stayhub.booking_service.entity.OutboxEvent;
+import com.stayhub.booking_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // Keys in the order the rejecting transport was asked to send them
+    private final List<String> sentKeys = new ArrayList<>();
+
+    @Test
+    void relayBatch_SendsEventsAndMarksThemPublished() throws Exception {
+        InMemoryEventTransport transport = new InMemoryEventTransport();
+        OutboxRelay relay = relay(transport);
+        UUID bookingId = UUID.randomUUID();
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(
+                created(1L, bookingId), created(2L, UUID.randomUUID())));
+
+        int count = relay.relayBatch();
+
+        assertThat(count).isEqualTo(2);
+        assertThat(transport.getEvents()).hasSize(2);
+        InMemoryEventTransport.SentEvent first = transport.getEvents().get(0);
+        assertThat(first.topic()).isEqualTo("booking-events");
+        assertThat(first.key()).isEqualTo(bookingId.toString());
+        assertThat(first.event()).isInstanceOf(BookingCreatedEvent.class);
+        assertThat(((BookingCreatedEvent) first.event()).getCheckInDate()).isEqualTo(LocalDate.of(2025, 7, 1));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void relayBatch_HoldsBackOnlyEventsWithTheFailedKey() throws Exception {
+        // Given a broker that rejects the first event of a booking
+        UUID failing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        OutboxRelay relay = relay(rejecting(failing));
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(
+                created(1L, failing), created(2L, other), cancelled(3L, failing)));
+
+        int count = relay.relayBatch();
+
+        // Then the other booking goes out, the later event of the failed one is not even sent
+        assertThat(count).isZero();
+        assertThat(sentKeys).containsExactly(failing.toString(), other.toString());
+        verify(outboxEventRepository).markPublished(eq(List.of(2L)), any());
+        verify(outboxEventRepository).recordFailure(eq(1L), contains("broker rejected"), isNull());
+        verify(outboxEventRepository, never()).recordFailure(eq(3L), any(), any());
+    }
+
+    @Test
+    void relayBatch_WaitsForEachEventBeforeSendingTheNextOfTheSameKey() throws Exception {
+        UUID bookingId = UUID.randomUUID();
+        List<String> calls = new ArrayList<>();
+        EventTransport transport = new EventTransport() {
+            @Override
+            public CompletableFuture<?> send(String topic, String key, Object event) {
+                calls.add(event.getClass().getSimpleName());
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public void flush() {
+                calls.add("flush");
+            }
+        };
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(
+                created(1L, bookingId), cancelled(2L, bookingId)));
+
+        assertThat(relay(transport).relayBatch()).isEqualTo(2);
+
+        assertThat(calls).containsExactly("BookingCreatedEvent", "flush", "BookingCancelledEvent", "flush");
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void relayBatch_ParksAnEventThatKeepsFailing() throws Exception {
+        UUID failing = UUID.randomUUID();
+        OutboxRelay relay = relay(rejecting(failing));
+        OutboxEvent poison = created(1L, failing);
+        poison.setAttempts(2);
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(poison, created(2L, UUID.randomUUID())));
+
+        relay.relayBatch();
+
+        // The third failure parks it; the next batch no longer selects it
+        verify(outboxEventRepository).recordFailure(eq(1L), contains("broker rejected"), notNull());
+        verify(outboxEventRepository).markPublished(eq(List.of(2L)), any());
+    }
+
+    private EventTransport rejecting(UUID bookingId) {
+        return new EventTransport() {
+            @Override
+            public CompletableFuture<?> send(String topic, String key, Object event) {
+                sentKeys.add(key);
+                return key.equals(bookingId.toString()) && event instanceof BookingCreatedEvent
+                        ? CompletableFuture.failedFuture(new IllegalStateException("broker rejected"))
+                        : CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+    }
+
+    private OutboxRelay relay(EventTransport transport) {
+        return new OutboxRelay(outboxEventRepository, transport, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), 10, 5, 1000, 3, 24);
+    }
+
+    private OutboxEvent cancelled(long id, UUID bookingId) throws Exception {
+        BookingCancelledEvent event = BookingCancelledEvent.builder()
+                .bookingId(bookingId)
+                .cancellationReason("Customer request")
+                .build();
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("booking-events")
+                .eventKey(bookingId.toString())
+                .eventType("BookingCancelled")
+                .payload(objectMapper.writeValueAsString(event))
+                .attempts(0)
+                .build();
+    }
+
+    private OutboxEvent created(long id, UUID bookingId) throws Exception {
+        BookingCreatedEvent event = BookingCreatedEvent.builder()
+                .bookingId(bookingId)
+                .checkInDate(LocalDate.of(2025, 7, 1))
+                .checkOutDate(LocalDate.of(2025, 7, 3))
+                .numberOfRooms(1)
+                .status("CONFIRMED")
+                .build();
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("booking-events")
+                .eventKey(bookingId.toString())
+                .eventType("BookingCreated")
+                .payload(objectMapper.writeValueAsString(event))
+                .attempts(0)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.stayhub.booking_service.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NodeIdCheckTest {
+    
+    @Test
+    void verify_FailsWithoutNodeIdOutsideDevProfiles() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("k8s");
+        
+        assertThatThrownBy(() -> new NodeIdCheck(environment).verify(false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("NODE_ID");
+    }
+    
+    @Test
+    void verify_AllowsRandomNodeIdForDevAndDefaultProfiles() {
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+        
+        assertThatCode(() -> new NodeIdCheck(dev).verify(false)).doesNotThrowAnyException();
+        assertThatCode(() -> new NodeIdCheck(new MockEnvironment()).verify(false)).doesNotThrowAnyException();
+    }
+    
+    @Test
+    void verify_PassesWhenNodeIdIsConfigured() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("k8s");
+        
+        assertThatCode(() -> new NodeIdCheck(environment).verify(true)).doesNotThrowAnyException();
+    }
+}
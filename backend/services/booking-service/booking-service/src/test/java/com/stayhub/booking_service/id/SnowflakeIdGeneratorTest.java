@@ -0,0 +1,117 @@
+package com.stayhub.booking_service.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+    
+    private static final long NOW = 1_750_000_000_000L;
+    
+    @Test
+    void nextId_EncodesTimestampAndNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(37, () -> NOW);
+        
+        long id = generator.nextId();
+        
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(NOW);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(id)).isEqualTo(37);
+    }
+    
+    @Test
+    void nextId_StaysIncreasingWhenClockGoesBackOrSequenceRunsOut() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+        
+        // Given more ids in one millisecond than the sequence holds, then a clock step back
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-2_000);
+            }
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+    
+    @Test
+    void nextUuid_IsVersion7AndSortsByCreation() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, clock::get);
+        
+        UUID first = generator.nextUuid();
+        clock.incrementAndGet();
+        UUID second = generator.nextUuid();
+        
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(first.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+        // Postgres compares uuids as unsigned bytes, the high half decides here
+        assertThat(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits())).isNegative();
+    }
+    
+    @Test
+    void confirmationCodes_AreShortAndDistinct() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<String> codes = new HashSet<>();
+        
+        for (int i = 0; i < 200_000; i++) {
+            String code = ConfirmationCodes.fromId(generator.nextId());
+            assertThat(codes.add(code)).isTrue();
+        }
+        
+        String code = codes.iterator().next();
+        assertThat(code).hasSize(ConfirmationCodes.PREFIX.length() + ConfirmationCodes.DIGITS)
+                .startsWith("BK")
+                .matches("BK[0-9A-HJKMNP-TV-Z]+");
+    }
+    
+    @Test
+    void nextId_ConcurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(9);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        long[] all = new long[threads * perThread];
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            for (int t = 0; t < threads; t++) {
+                long[] ids = futures.get(t).get();
+                // Each thread sees its own ids strictly increasing
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, t * perThread, perThread);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).isNotEqualTo(all[i - 1]);
+        }
+    }
+}
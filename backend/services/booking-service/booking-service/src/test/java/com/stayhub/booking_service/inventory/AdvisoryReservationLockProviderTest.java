@@ -0,0 +1,88 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AdvisoryReservationLockProviderTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdvisoryReservationLockProvider provider =
+            new AdvisoryReservationLockProvider(jdbcTemplate, 250, meterRegistry);
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID roomTypeId = UUID.randomUUID();
+    private final long key = ReservationLockProvider.lockKey(propertyId, roomTypeId);
+
+    @BeforeEach
+    void beginTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void acquire_UncontendedLockIsOneTryWithoutTouchingLockTimeout() {
+        when(jdbcTemplate.queryForObject(AdvisoryReservationLockProvider.TRY_LOCK_SQL, Boolean.class, key))
+                .thenReturn(true);
+
+        provider.acquire(propertyId, roomTypeId).close();
+
+        verify(jdbcTemplate).queryForObject(AdvisoryReservationLockProvider.TRY_LOCK_SQL, Boolean.class, key);
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertThat(meterRegistry.get("booking.reservation.lock.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_ContendedLockWaitsWithLockTimeoutAndResetsItOnceHeld() {
+        when(jdbcTemplate.queryForObject(AdvisoryReservationLockProvider.TRY_LOCK_SQL, Boolean.class, key))
+                .thenReturn(false);
+
+        provider.acquire(propertyId, roomTypeId);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = '250ms'");
+        inOrder.verify(jdbcTemplate).query(eq(AdvisoryReservationLockProvider.LOCK_SQL),
+                any(ResultSetExtractor.class), eq(key));
+        inOrder.verify(jdbcTemplate).execute(AdvisoryReservationLockProvider.RESET_LOCK_TIMEOUT_SQL);
+    }
+
+    @Test
+    void acquire_LockTimeoutBecomesConcurrentBookingException() {
+        when(jdbcTemplate.queryForObject(AdvisoryReservationLockProvider.TRY_LOCK_SQL, Boolean.class, key))
+                .thenReturn(false);
+        when(jdbcTemplate.query(eq(AdvisoryReservationLockProvider.LOCK_SQL), any(ResultSetExtractor.class), eq(key)))
+                .thenThrow(new PessimisticLockingFailureException("canceling statement due to lock timeout"));
+
+        assertThatThrownBy(() -> provider.acquire(propertyId, roomTypeId))
+                .isInstanceOf(ConcurrentBookingException.class);
+        assertThat(meterRegistry.get("booking.reservation.lock.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_RequiresATransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        assertThatThrownBy(() -> provider.acquire(propertyId, roomTypeId))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,47 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AtomicReservationStrategyTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 6, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2025, 6, 4);
+
+    private final AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+    private final AtomicReservationStrategy strategy = new AtomicReservationStrategy(availabilityRepository);
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    @Test
+    void reserve_TakesEveryNightInOneStatement() {
+        when(availabilityRepository.decrementAvailabilityAllNights(any(), any(), any(), any(), anyLong(), anyInt()))
+                .thenReturn(3);
+
+        assertThat(strategy.reserve(propertyId, roomTypeId, CHECK_IN, CHECK_OUT, 2)).isTrue();
+
+        verify(availabilityRepository).insertMissingAvailability(propertyId, roomTypeId, CHECK_IN, CHECK_OUT.minusDays(1));
+        verify(availabilityRepository).decrementAvailabilityAllNights(
+                propertyId, roomTypeId, CHECK_IN, CHECK_OUT.minusDays(1), 3L, 2);
+        verify(availabilityRepository, never()).decrementAvailability(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reserve_ReturnsFalseWhenShortWithoutTouchingTheTransaction() {
+        // No transaction is active here: marking one rollback-only would throw
+        when(availabilityRepository.decrementAvailabilityAllNights(any(), any(), any(), any(), anyLong(), anyInt()))
+                .thenReturn(0);
+
+        assertThat(strategy.reserve(propertyId, roomTypeId, CHECK_IN, CHECK_OUT, 2)).isFalse();
+        verify(availabilityRepository, never()).incrementAvailability(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,68 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AvailabilityHorizonJobTest {
+
+    private final RoomTypeRepository roomTypeRepository = mock(RoomTypeRepository.class);
+    private final AvailabilityInitializer availabilityInitializer = mock(AvailabilityInitializer.class);
+    private final AvailabilityHorizonJob job =
+            new AvailabilityHorizonJob(roomTypeRepository, availabilityInitializer, 30, 2);
+
+    @Test
+    void rollForward_InitializesTheHorizonOneChunkAtATime() {
+        List<UUID> roomTypeIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID());
+        when(roomTypeRepository.findAllIds()).thenReturn(roomTypeIds);
+        List<List<UUID>> chunks = new ArrayList<>();
+        when(availabilityInitializer.initializeRoomTypes(anyList(), any(), any())).thenAnswer(invocation -> {
+            chunks.add(List.copyOf(invocation.getArgument(0)));
+            return 1;
+        });
+
+        job.rollForward();
+
+        assertThat(chunks).containsExactly(roomTypeIds.subList(0, 2), roomTypeIds.subList(2, 4),
+                roomTypeIds.subList(4, 5));
+        LocalDate today = LocalDate.now();
+        verify(availabilityInitializer, times(3))
+                .initializeRoomTypes(anyList(), eq(today), eq(today.plusDays(29)));
+    }
+
+    @Test
+    void rollForward_CoversExactlyHorizonDaysNights() {
+        List<UUID> roomTypeIds = List.of(UUID.randomUUID());
+        when(roomTypeRepository.findAllIds()).thenReturn(roomTypeIds);
+        AvailabilityHorizonJob oneNight = new AvailabilityHorizonJob(roomTypeRepository, availabilityInitializer, 1, 2);
+
+        oneNight.rollForward();
+
+        // An inclusive range of one night starts and ends today
+        LocalDate today = LocalDate.now();
+        verify(availabilityInitializer).initializeRoomTypes(roomTypeIds, today, today);
+    }
+
+    @Test
+    void rollForward_ContinuesPastAFailingChunk() {
+        List<UUID> roomTypeIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(roomTypeRepository.findAllIds()).thenReturn(roomTypeIds);
+        when(availabilityInitializer.initializeRoomTypes(eq(roomTypeIds.subList(0, 2)), any(), any()))
+                .thenThrow(new IllegalStateException("statement timeout"));
+
+        job.rollForward();
+
+        verify(availabilityInitializer).initializeRoomTypes(eq(roomTypeIds.subList(2, 3)), any(), any());
+    }
+}
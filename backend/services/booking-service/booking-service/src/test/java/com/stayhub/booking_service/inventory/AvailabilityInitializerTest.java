@@ -0,0 +1,51 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AvailabilityInitializerTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    private final AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+    private final RoomTypeRepository roomTypeRepository = mock(RoomTypeRepository.class);
+    private final AvailabilityInitializer initializer =
+            new AvailabilityInitializer(availabilityRepository, roomTypeRepository);
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    @Test
+    void initialize_InsertsMissingNightsForTheOwningProperty() {
+        when(roomTypeRepository.existsByIdAndPropertyId(roomTypeId, propertyId)).thenReturn(true);
+        when(availabilityRepository.insertMissingAvailability(propertyId, roomTypeId, START, END)).thenReturn(30);
+
+        assertThat(initializer.initialize(propertyId, roomTypeId, START, END)).isEqualTo(30);
+    }
+
+    @Test
+    void initialize_RejectsRoomTypeOfAnotherProperty() {
+        when(roomTypeRepository.existsById(roomTypeId)).thenReturn(true);
+        when(roomTypeRepository.existsByIdAndPropertyId(roomTypeId, propertyId)).thenReturn(false);
+
+        assertThatThrownBy(() -> initializer.initialize(propertyId, roomTypeId, START, END))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(propertyId.toString());
+        verify(availabilityRepository, never()).insertMissingAvailability(any(), any(), any(), any());
+    }
+
+    @Test
+    void initializeRoomTypes_SkipsTheInsertForAnEmptyBatch() {
+        assertThat(initializer.initializeRoomTypes(List.of(), START, END)).isZero();
+        verifyNoInteractions(availabilityRepository);
+    }
+}
@@ -0,0 +1,131 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.entity.Availability;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AvailabilityLedgerTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 6, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2025, 6, 4);
+
+    private final AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+    private final AvailabilityLedger ledger = new AvailabilityLedger(availabilityRepository);
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    @Test
+    void lockLoaded_CreatesMissingNightsWithOnConflictInsertOutsideTheLock() {
+        // Given one night on record, the other two created by the insert
+        List<Availability> stored = new ArrayList<>(List.of(row(CHECK_IN, 7)));
+        when(availabilityRepository.findByPropertyIdAndRoomTypeIdAndDateBetween(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    assertUnlocked();
+                    return List.copyOf(stored);
+                });
+        when(availabilityRepository.insertMissingAvailability(any(), any(), any(), any())).thenAnswer(invocation -> {
+            assertUnlocked();
+            stored.add(row(CHECK_IN.plusDays(1), 10));
+            stored.add(row(CHECK_IN.plusDays(2), 10));
+            return 2;
+        });
+
+        RoomTypeCalendar calendar = ledger.lockLoaded(propertyId, roomTypeId, CHECK_IN, CHECK_OUT);
+        try {
+            assertThat(calendar.lock().isHeldByCurrentThread()).isTrue();
+            assertThat(calendar.minAvailable(RoomTypeCalendar.epochDay(CHECK_IN),
+                    RoomTypeCalendar.epochDay(CHECK_OUT))).isEqualTo(7);
+        } finally {
+            calendar.lock().unlock();
+        }
+        verify(availabilityRepository).insertMissingAvailability(propertyId, roomTypeId, CHECK_IN, CHECK_OUT.minusDays(1));
+        verify(availabilityRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void lockLoaded_RejectsRoomTypeTheInsertCannotInitialize() {
+        // The room type belongs to another property, so the insert matches nothing
+        when(availabilityRepository.findByPropertyIdAndRoomTypeIdAndDateBetween(any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(availabilityRepository.insertMissingAvailability(any(), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> ledger.lockLoaded(propertyId, roomTypeId, CHECK_IN, CHECK_OUT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ledger.find(propertyId, roomTypeId).lock().isLocked()).isFalse();
+    }
+
+    @Test
+    void getMinimumAvailability_ServesLoadedNightsFromMemory() {
+        ReflectionTestUtils.setField(ledger, "authoritative", true);
+        when(availabilityRepository.findByPropertyIdAndRoomTypeIdAndDateBetween(any(), any(), any(), any()))
+                .thenReturn(List.of(row(CHECK_IN, 4), row(CHECK_IN.plusDays(1), 2), row(CHECK_IN.plusDays(2), 9)));
+
+        assertThat(ledger.getMinimumAvailability(propertyId, roomTypeId, CHECK_IN, CHECK_OUT)).isEqualTo(2);
+        assertThat(ledger.getMinimumAvailability(propertyId, roomTypeId, CHECK_IN, CHECK_IN.plusDays(1))).isEqualTo(4);
+        assertThat(ledger.getMinimumAvailability(propertyId, roomTypeId, CHECK_OUT, CHECK_OUT.plusDays(1))).isNull();
+        verify(availabilityRepository, times(2)).findByPropertyIdAndRoomTypeIdAndDateBetween(any(), any(), any(), any());
+        verify(availabilityRepository, never()).insertMissingAvailability(any(), any(), any(), any());
+    }
+
+    @Test
+    void lockLoaded_RereadsWhenAReleaseCommitsWhileTheRowsAreRead() {
+        // Given the first read sees the rows before a cancellation committed, and the cancellation's
+        // after-commit release reaches the calendar before those rows are installed
+        List<List<Availability>> reads = List.of(
+                List.of(row(CHECK_IN, 2), row(CHECK_IN.plusDays(1), 2), row(CHECK_IN.plusDays(2), 2)),
+                List.of(row(CHECK_IN, 5), row(CHECK_IN.plusDays(1), 5), row(CHECK_IN.plusDays(2), 5)));
+        int[] calls = {0};
+        when(availabilityRepository.findByPropertyIdAndRoomTypeIdAndDateBetween(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    List<Availability> rows = reads.get(calls[0]++);
+                    if (calls[0] == 1) {
+                        RoomTypeCalendar calendar = ledger.find(propertyId, roomTypeId);
+                        calendar.lock().lock();
+                        try {
+                            calendar.release(RoomTypeCalendar.epochDay(CHECK_IN),
+                                    RoomTypeCalendar.epochDay(CHECK_OUT), 3);
+                        } finally {
+                            calendar.lock().unlock();
+                        }
+                    }
+                    return rows;
+                });
+
+        RoomTypeCalendar calendar = ledger.lockLoaded(propertyId, roomTypeId, CHECK_IN, CHECK_OUT);
+        try {
+            assertThat(calendar.minAvailable(RoomTypeCalendar.epochDay(CHECK_IN),
+                    RoomTypeCalendar.epochDay(CHECK_OUT))).isEqualTo(5);
+        } finally {
+            calendar.lock().unlock();
+        }
+        verify(availabilityRepository, times(2)).findByPropertyIdAndRoomTypeIdAndDateBetween(any(), any(), any(), any());
+    }
+
+    private void assertUnlocked() {
+        RoomTypeCalendar calendar = ledger.find(propertyId, roomTypeId);
+        assertThat(calendar == null || !calendar.lock().isLocked())
+                .as("calendar lock held during a query").isTrue();
+    }
+
+    private Availability row(LocalDate date, int available) {
+        return Availability.builder()
+                .propertyId(propertyId)
+                .roomTypeId(roomTypeId)
+                .date(date)
+                .totalRooms(10)
+                .availableRooms(available)
+                .bookedRooms(10 - available)
+                .build();
+    }
+}
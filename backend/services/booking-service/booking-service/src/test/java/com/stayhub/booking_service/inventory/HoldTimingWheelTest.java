@@ -0,0 +1,87 @@
+package com.stayhub.booking_service.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HoldTimingWheelTest {
+
+    private final long start = 1_750_000_000_000L;
+
+    @Test
+    void advance_FiresOnlyDueHolds() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 8, start);
+        UUID soon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+
+        wheel.schedule(soon, start + 2_000);
+        wheel.schedule(later, start + 5_000);
+
+        assertThat(wheel.advance(start + 1_000)).isEmpty();
+        assertThat(wheel.advance(start + 2_000)).containsExactly(soon);
+        assertThat(wheel.advance(start + 4_999)).isEmpty();
+        assertThat(wheel.advance(start + 5_000)).containsExactly(later);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_HoldsBeyondOneLapWaitForTheirRound() {
+        // Given a wheel of 8 one-second buckets
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 8, start);
+        UUID hold = UUID.randomUUID();
+
+        // When the deadline shares a bucket with an earlier tick
+        wheel.schedule(hold, start + 11_000);
+
+        // Then it only fires on its own lap
+        assertThat(wheel.advance(start + 3_000)).isEmpty();
+        assertThat(wheel.advance(start + 10_000)).isEmpty();
+        assertThat(wheel.advance(start + 11_000)).containsExactly(hold);
+    }
+
+    @Test
+    void advance_AfterLongPauseFiresEverythingDue() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 8, start);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID notYet = UUID.randomUUID();
+        wheel.schedule(first, start + 1_000);
+        wheel.schedule(second, start + 30_000);
+        wheel.schedule(notYet, start + 90_000);
+
+        List<UUID> expired = wheel.advance(start + 60_000);
+
+        assertThat(expired).containsExactlyInAnyOrder(first, second);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelAndReschedule() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 8, start);
+        UUID cancelled = UUID.randomUUID();
+        UUID extended = UUID.randomUUID();
+        wheel.schedule(cancelled, start + 2_000);
+        wheel.schedule(extended, start + 2_000);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        wheel.schedule(extended, start + 4_000);
+
+        assertThat(wheel.advance(start + 3_000)).isEmpty();
+        assertThat(wheel.advance(start + 4_000)).containsExactly(extended);
+    }
+
+    @Test
+    void schedule_PastDeadlineFiresOnNextTick() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 8, start);
+        wheel.advance(start + 5_000);
+        UUID overdue = UUID.randomUUID();
+
+        wheel.schedule(overdue, start - 60_000);
+
+        assertThat(wheel.advance(start + 6_000)).containsExactly(overdue);
+    }
+}
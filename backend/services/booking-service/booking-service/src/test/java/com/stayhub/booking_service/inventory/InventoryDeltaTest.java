@@ -0,0 +1,56 @@
+package com.stayhub.booking_service.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InventoryDeltaTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2025, 7, 1);
+
+    @Test
+    void between_ExtensionReservesOnlyNewNights() {
+        InventoryDelta delta = InventoryDelta.between(JULY_1, day(3), 2, JULY_1, day(5), 2);
+
+        assertThat(delta.reservations()).containsExactly(new InventoryDelta.Run(day(3), day(5), 2));
+        assertThat(delta.releases()).isEmpty();
+    }
+
+    @Test
+    void between_ShortenedStayReleasesTrailingNights() {
+        InventoryDelta delta = InventoryDelta.between(JULY_1, day(5), 1, JULY_1, day(3), 1);
+
+        assertThat(delta.reservations()).isEmpty();
+        assertThat(delta.releases()).containsExactly(new InventoryDelta.Run(day(3), day(5), 1));
+    }
+
+    @Test
+    void between_ShiftedStayWithMoreRoomsTouchesEachRangeOnce() {
+        // Given 2 rooms for July 1-4 moved to 3 rooms for July 3-6
+        InventoryDelta delta = InventoryDelta.between(JULY_1, day(4), 2, day(3), day(6), 3);
+
+        // Then the overlap only takes the extra room and the dropped nights are returned
+        assertThat(delta.reservations()).containsExactly(
+                new InventoryDelta.Run(day(3), day(4), 1),
+                new InventoryDelta.Run(day(4), day(6), 3));
+        assertThat(delta.releases()).containsExactly(new InventoryDelta.Run(JULY_1, day(3), 2));
+    }
+
+    @Test
+    void between_RoomDecreaseIsOneRange() {
+        InventoryDelta delta = InventoryDelta.between(JULY_1, day(4), 3, JULY_1, day(4), 1);
+
+        assertThat(delta.runs()).containsExactly(new InventoryDelta.Run(JULY_1, day(4), -2));
+    }
+
+    @Test
+    void between_UnchangedStayIsEmpty() {
+        assertThat(InventoryDelta.between(JULY_1, day(4), 2, JULY_1, day(4), 2).isEmpty()).isTrue();
+    }
+
+    private static LocalDate day(int dayOfMonth) {
+        return JULY_1.withDayOfMonth(dayOfMonth);
+    }
+}
@@ -0,0 +1,239 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.event.BookingEventPublisher;
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import com.stayhub.booking_service.exception.RoomNotAvailableException;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.service.AvailabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReservationPipelineTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 6, 1);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingEventPublisher eventPublisher = mock(BookingEventPublisher.class);
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    // A copy of every batch passed to saveAll
+    private final List<List<Booking>> saved = new ArrayList<>();
+    private final CountDownLatch writerBusy = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private ReservationPipeline pipeline;
+
+    ReservationPipelineTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(bookingRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Booking> batch = new ArrayList<>(invocation.getArgument(0));
+            synchronized (saved) {
+                saved.add(batch);
+            }
+            return batch;
+        });
+        // The first booking (one room) holds the writer until the test lets it go
+        when(availabilityService.reserveRooms(any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            if (invocation.<Integer>getArgument(4) == 1 && writerBusy.getCount() > 0) {
+                writerBusy.countDown();
+                releaseWriter.await(5, TimeUnit.SECONDS);
+            }
+            return invocation.<Integer>getArgument(4) < 9;
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        releaseWriter.countDown();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void submit_GroupsQueuedRequestsIntoOneCommit() throws Exception {
+        start(16, 5_000);
+        CompletableFuture<Booking> blocker = submitAsync(booking(1));
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Three requests queue up behind the busy writer, the last one short of rooms
+        List<CompletableFuture<Booking>> queued = List.of(
+                enqueue(booking(2), 1), enqueue(booking(3), 2), enqueue(booking(9), 3));
+        releaseWriter.countDown();
+
+        assertThat(blocker.get(5, TimeUnit.SECONDS).getNumberOfRooms()).isEqualTo(1);
+        assertThat(queued.get(0).get(5, TimeUnit.SECONDS).getNumberOfRooms()).isEqualTo(2);
+        assertThat(queued.get(1).get(5, TimeUnit.SECONDS).getNumberOfRooms()).isEqualTo(3);
+        assertThatThrownBy(() -> queued.get(2).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RoomNotAvailableException.class);
+
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(1)).extracting(Booking::getNumberOfRooms).containsExactly(2, 3);
+        verify(availabilityService, times(4)).reserveRooms(eq(propertyId), eq(roomTypeId), any(), any(), anyInt());
+        assertThat(meterRegistry.get("booking.reservation.pipeline.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void submit_RetriesIndividuallyWhenTheGroupCommitFails() throws Exception {
+        start(16, 5_000);
+        Booking duplicate = booking(3);
+        duplicate.setIdempotencyKey("taken");
+        doAnswer(invocation -> {
+            List<Booking> batch = invocation.getArgument(0);
+            if (batch.contains(duplicate)) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            synchronized (saved) {
+                saved.add(new ArrayList<>(batch));
+            }
+            return batch;
+        }).when(bookingRepository).saveAll(any());
+
+        CompletableFuture<Booking> blocker = submitAsync(booking(1));
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Booking> good = enqueue(booking(2), 1);
+        CompletableFuture<Booking> bad = enqueue(duplicate, 2);
+        releaseWriter.countDown();
+
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(good.get(5, TimeUnit.SECONDS).getNumberOfRooms()).isEqualTo(2);
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        // The failed pair was retried one booking per transaction
+        assertThat(saved).extracting(List::size).containsExactly(1, 1);
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void submit_DoesNotRetryIndividuallyPastTheCallersDeadline() throws Exception {
+        start(16, 500);
+        Booking duplicate = booking(3);
+        duplicate.setIdempotencyKey("taken");
+        doAnswer(invocation -> {
+            List<Booking> batch = invocation.getArgument(0);
+            if (batch.contains(duplicate)) {
+                // The group commit fails only after its callers' deadline
+                Thread.sleep(800);
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            synchronized (saved) {
+                saved.add(new ArrayList<>(batch));
+            }
+            return batch;
+        }).when(bookingRepository).saveAll(any());
+
+        CompletableFuture<Booking> blocker = submitAsync(booking(1));
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Booking> good = enqueue(booking(2), 1);
+        CompletableFuture<Booking> bad = enqueue(duplicate, 2);
+        releaseWriter.countDown();
+
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> good.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ConcurrentBookingException.class)
+                .hasMessageContaining("please retry");
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ConcurrentBookingException.class);
+        // Only the blocker's batch was saved, the failed pair was not retried
+        assertThat(saved).extracting(List::size).containsExactly(1);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void submit_RejectsWhenThePartitionQueueIsFull() throws Exception {
+        start(1, 5_000);
+        submitAsync(booking(1));
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        enqueue(booking(2), 1);
+
+        assertThatThrownBy(() -> pipeline.submit(booking(3)))
+                .isInstanceOf(ConcurrentBookingException.class)
+                .hasMessageContaining("queue is full");
+    }
+
+    @Test
+    void submit_TimedOutRequestIsNeverWritten() throws Exception {
+        start(16, 200);
+        CompletableFuture<Booking> blocker = submitAsync(booking(1));
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Still queued when its caller gives up, so the writer must skip it
+        assertThatThrownBy(() -> pipeline.submit(booking(2)))
+                .isInstanceOf(ConcurrentBookingException.class)
+                .hasMessageContaining("please retry");
+        releaseWriter.countDown();
+        // The blocker was picked up before the timeout, so its caller waits for the commit instead
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isNotNull();
+
+        // Another request through the same writer proves the skipped one was drained
+        assertThat(pipeline.submit(booking(4)).getNumberOfRooms()).isEqualTo(4);
+        verify(availabilityService, never()).reserveRooms(any(), any(), any(), any(), eq(2));
+        assertThat(saved).flatMap(batch -> batch).extracting(Booking::getNumberOfRooms).containsExactly(1, 4);
+    }
+
+    private void start(int queueCapacity, long timeoutMillis) {
+        pipeline = new ReservationPipeline(bookingRepository, eventPublisher, availabilityService,
+                transactionManager, meterRegistry, 1, 64, queueCapacity, timeoutMillis);
+        pipeline.start();
+    }
+
+    private CompletableFuture<Booking> submitAsync(Booking booking) {
+        return CompletableFuture.supplyAsync(() -> pipeline.submit(booking), callers);
+    }
+
+    /**
+     * Submit on another thread and wait until the queue holds {@code depth} requests, so arrival
+     * order is deterministic
+     */
+    private CompletableFuture<Booking> enqueue(Booking booking, int depth) throws InterruptedException {
+        CompletableFuture<Booking> result = submitAsync(booking);
+        awaitQueued(depth);
+        return result;
+    }
+
+    private void awaitQueued(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("booking.reservation.pipeline.queue.depth").gauge().value() < depth) {
+            assertThat(System.nanoTime()).as("queue depth %d", depth).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private Booking booking(int rooms) {
+        return Booking.builder()
+                .propertyId(propertyId)
+                .roomTypeId(roomTypeId)
+                .userId(UUID.randomUUID())
+                .checkInDate(CHECK_IN)
+                .checkOutDate(CHECK_IN.plusDays(2))
+                .numberOfRooms(rooms)
+                .numberOfGuests(rooms)
+                .build();
+    }
+}
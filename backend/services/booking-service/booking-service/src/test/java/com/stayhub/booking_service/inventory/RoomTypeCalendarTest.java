@@ -0,0 +1,162 @@
+package com.stayhub.booking_service.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RoomTypeCalendarTest {
+    
+    private final int today = RoomTypeCalendar.epochDay(LocalDate.of(2025, 7, 1));
+    
+    @Test
+    void isLoaded_OnlyForPutDays() {
+        RoomTypeCalendar calendar = new RoomTypeCalendar();
+        
+        calendar.put(today, 10, 10, 0);
+        calendar.put(today + 1, 10, 10, 0);
+        
+        assertThat(calendar.isLoaded(today, today + 2)).isTrue();
+        assertThat(calendar.isLoaded(today, today + 3)).isFalse();
+        assertThat(calendar.isLoaded(today - 1, today + 1)).isFalse();
+    }
+    
+    @Test
+    void reserve_ThenShortfallDetected() {
+        RoomTypeCalendar calendar = loaded(today, 3, 2);
+        
+        assertThat(calendar.firstShortfall(today, today + 3, 2)).isEqualTo(-1);
+        calendar.reserve(today + 1, today + 2, 2);
+        
+        // Given one night is sold out, a stay covering it is rejected on that night
+        assertThat(calendar.firstShortfall(today, today + 3, 1)).isEqualTo(today + 1);
+        assertThat(calendar.getAvailable(today + 1)).isZero();
+        assertThat(calendar.getBooked(today + 1)).isEqualTo(2);
+        assertThat(calendar.getAvailable(today)).isEqualTo(2);
+    }
+    
+    @Test
+    void release_SkipsUnknownDays() {
+        RoomTypeCalendar calendar = loaded(today, 2, 5);
+        calendar.reserve(today, today + 2, 3);
+        
+        calendar.release(today - 5, today + 10, 3);
+        
+        assertThat(calendar.getAvailable(today)).isEqualTo(5);
+        assertThat(calendar.getBooked(today + 1)).isZero();
+        assertThat(calendar.isLoaded(today + 2, today + 3)).isFalse();
+    }
+    
+    @Test
+    void release_CountsReleasesThatSkipNights() {
+        RoomTypeCalendar calendar = loaded(today, 3, 5);
+        calendar.reserve(today, today + 3, 1);
+        
+        calendar.release(today, today + 3, 1);
+        assertThat(calendar.skippedReleases()).isZero();
+        
+        calendar.release(today + 2, today + 4, 1);
+        assertThat(calendar.skippedReleases()).isEqualTo(1);
+        
+        new RoomTypeCalendar().release(today, today + 1, 1);
+    }
+    
+    @Test
+    void trimBefore_DropsPastNightsAndKeepsTheRest() {
+        RoomTypeCalendar calendar = loaded(today, 40, 5);
+        calendar.reserve(today + 30, today + 31, 2);
+        
+        calendar.trimBefore(today + 30);
+        
+        assertThat(calendar.isLoaded(today + 29, today + 30)).isFalse();
+        assertThat(calendar.isLoaded(today + 30, today + 40)).isTrue();
+        assertThat(calendar.getAvailable(today + 30)).isEqualTo(3);
+        assertThat(calendar.minAvailable(today + 30, today + 40)).isEqualTo(3);
+        
+        calendar.trimBefore(today + 1000);
+        assertThat(calendar.isLoaded(today + 1000, today + 1001)).isFalse();
+    }
+    
+    @Test
+    void trimBefore_KeepsCapacityBoundedForACalendarSlidingForward() {
+        RoomTypeCalendar calendar = new RoomTypeCalendar();
+        
+        // A year-long window moving forward one day at a time for ten years
+        for (int day = today; day < today + 3650; day++) {
+            calendar.trimBefore(day);
+            calendar.put(day + 365, 5, 5, 0);
+        }
+        
+        assertThat(calendar.isLoaded(today + 3649 + 365, today + 3650 + 365)).isTrue();
+        assertThat(((int[]) ReflectionTestUtils.getField(calendar, "total")).length)
+                .isLessThanOrEqualTo(1024);
+    }
+    
+    @Test
+    void put_GrowsInBothDirectionsAndKeepsData() {
+        RoomTypeCalendar calendar = loaded(today, 5, 4);
+        calendar.reserve(today, today + 5, 1);
+        
+        calendar.put(today + 400, 7, 7, 0);
+        calendar.put(today - 300, 6, 6, 0);
+        
+        assertThat(calendar.getAvailable(today + 4)).isEqualTo(3);
+        assertThat(calendar.getTotal(today + 400)).isEqualTo(7);
+        assertThat(calendar.getTotal(today - 300)).isEqualTo(6);
+        assertThat(calendar.isLoaded(today + 5, today + 6)).isFalse();
+    }
+    
+    @Test
+    void minAvailableAndShortfalls_MatchLinearScan() {
+        Random random = new Random(42);
+        RoomTypeCalendar calendar = loaded(today, 500, 20);
+        int[] expected = new int[500];
+        Arrays.fill(expected, 20);
+        
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(499);
+            int to = from + 1 + random.nextInt(Math.min(30, 500 - from - 1) + 1);
+            int rooms = 1 + random.nextInt(3);
+            if (calendar.firstShortfall(today + from, today + to, rooms) < 0) {
+                calendar.reserve(today + from, today + to, rooms);
+                for (int d = from; d < to; d++) {
+                    expected[d] -= rooms;
+                }
+            }
+        }
+        
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(499);
+            int to = from + 1 + random.nextInt(500 - from);
+            int rooms = 1 + random.nextInt(5);
+            
+            int min = Integer.MAX_VALUE;
+            List<Integer> below = new ArrayList<>();
+            for (int d = from; d < to; d++) {
+                min = Math.min(min, expected[d]);
+                if (expected[d] < rooms) {
+                    below.add(today + d);
+                }
+            }
+            
+            assertThat(calendar.minAvailable(today + from, today + to)).isEqualTo(min);
+            assertThat(calendar.shortfalls(today + from, today + to, rooms)).isEqualTo(below);
+            assertThat(calendar.firstShortfall(today + from, today + to, rooms))
+                    .isEqualTo(below.isEmpty() ? -1 : below.get(0));
+        }
+    }
+    
+    private RoomTypeCalendar loaded(int from, int nights, int rooms) {
+        RoomTypeCalendar calendar = new RoomTypeCalendar();
+        for (int day = from; day < from + nights; day++) {
+            calendar.put(day, rooms, rooms, 0);
+        }
+        return calendar;
+    }
+}
@@ -0,0 +1,70 @@
+package com.stayhub.booking_service.inventory;
+
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StripedReservationLockProviderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StripedReservationLockProvider provider = new StripedReservationLockProvider(1000, 100, meterRegistry);
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    @Test
+    void acquire_IsReentrantAndReleasedOnClose() throws Exception {
+        try (ReservationLockProvider.ReservationLock outer = provider.acquire(propertyId, roomTypeId);
+             ReservationLockProvider.ReservationLock inner = provider.acquire(propertyId, roomTypeId)) {
+            assertThat(inner).isSameAs(outer);
+        }
+
+        // Released, so another thread gets it straight away
+        CompletableFuture.runAsync(() -> provider.acquire(propertyId, roomTypeId).close()).get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("booking.reservation.lock.timeouts").counter().count()).isZero();
+    }
+
+    @Test
+    void acquire_TimesOutWhileAnotherThreadHoldsTheStripe() throws Exception {
+        try (ReservationLockProvider.ReservationLock held = provider.acquire(propertyId, roomTypeId)) {
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() -> provider.acquire(propertyId, roomTypeId));
+
+            assertThatThrownBy(() -> other.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ConcurrentBookingException.class);
+        }
+        assertThat(meterRegistry.get("booking.reservation.lock.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stripeIndex_IsStableAndWithinThePowerOfTwoStripeCount() {
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            UUID property = UUID.randomUUID();
+            UUID roomType = UUID.randomUUID();
+            int index = provider.stripeIndex(property, roomType);
+            assertThat(index).isBetween(0, 1023).isEqualTo(provider.stripeIndex(property, roomType));
+            used.add(index);
+        }
+        // 50k random pairs over 1024 stripes leave none empty unless the key is badly spread
+        assertThat(used).hasSize(1024);
+    }
+
+    @Test
+    void lockKey_DependsOnBothIdsAndTheirOrder() {
+        UUID other = UUID.randomUUID();
+
+        assertThat(ReservationLockProvider.lockKey(propertyId, roomTypeId))
+                .isEqualTo(ReservationLockProvider.lockKey(
+                        new UUID(propertyId.getMostSignificantBits(), propertyId.getLeastSignificantBits()), roomTypeId))
+                .isNotEqualTo(ReservationLockProvider.lockKey(roomTypeId, propertyId))
+                .isNotEqualTo(ReservationLockProvider.lockKey(propertyId, other))
+                .isNotEqualTo(ReservationLockProvider.lockKey(other, roomTypeId));
+    }
+}
@@ -0,0 +1,105 @@
+package com.stayhub.booking_service.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BacktestTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 4, 1);
+    // A Tuesday in March: seasonal, weekend and holiday factors are all 1
+    private static final long TUESDAY = LocalDate.of(2025, 3, 4).toEpochDay();
+    private static final long BOOKED = LocalDate.of(2025, 2, 2).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+    @Test
+    void evaluate_PricesDemandFromTheRoomsHeldWhenEachStayWasBooked() {
+        // Ten one-night stays filling a ten-room type, the first cancelled before the last is booked
+        List<PropertyHistory.Stay> stays = new ArrayList<>();
+        for (int k = 0; k < 10; k++) {
+            long cancelledAt = k == 0 ? BOOKED + 8_500 : Long.MAX_VALUE;
+            stays.add(new PropertyHistory.Stay(BOOKED + k * 1_000L, cancelledAt, TUESDAY, TUESDAY + 1, 1, 10_000));
+        }
+        PricingStrategy flatDemand = PricingStrategy.CURRENT.toBuilder().lowDemand(100).build();
+        Backtest backtest = new Backtest(List.of(PricingStrategy.CURRENT, flatDemand), HolidayCalendar.DEFAULT,
+                FROM, TO, 0.0, 1.0);
+
+        Backtest.Outcome outcome = backtest.evaluate(property(10, stays));
+
+        // Stays 1-2 see low demand, 3-8 normal, 9 sees 8 of 10 rooms held: not above 80%
+        assertThat(outcome.getStays()).isEqualTo(9);
+        assertThat(outcome.getRevenueCents(0)).isEqualTo(2 * 8_000 + 7 * 10_000);
+        assertThat(outcome.getRevenueCents(1)).isEqualTo(9 * 10_000);
+        assertThat(outcome.getBookedRevenueCents()).isEqualTo(90_000);
+        assertThat(outcome.getCapacityRoomNights()).isEqualTo(31 * 10);
+    }
+
+    @Test
+    void evaluate_WeighsStaysByPriceElasticity() {
+        List<PropertyHistory.Stay> stays = List.of(
+                new PropertyHistory.Stay(BOOKED, Long.MAX_VALUE, TUESDAY, TUESDAY + 1, 1, 10_000));
+        PricingStrategy doubled = PricingStrategy.CURRENT.toBuilder().lowDemand(200).build();
+        PricingStrategy halved = PricingStrategy.CURRENT.toBuilder().lowDemand(50).build();
+        Backtest backtest = new Backtest(List.of(doubled, halved), HolidayCalendar.DEFAULT, FROM, TO, 1.0, 1.5);
+
+        Backtest.Outcome outcome = backtest.evaluate(property(10, stays));
+
+        assertThat(outcome.getRevenueCents(0)).isCloseTo(10_000, within(1e-6));
+        assertThat(outcome.getRoomNights(0)).isCloseTo(0.5, within(1e-9));
+        // Twice as likely at half the price, capped at 1.5
+        assertThat(outcome.getRevenueCents(1)).isCloseTo(7_500, within(1e-6));
+        assertThat(outcome.getRoomNights(1)).isCloseTo(1.5, within(1e-9));
+    }
+
+    @Test
+    void evaluate_ForkJoinMatchesSequentialReplay() throws Exception {
+        Random random = new Random(11);
+        List<PropertyHistory> properties = new ArrayList<>();
+        for (int p = 0; p < 50; p++) {
+            List<PropertyHistory.Stay> stays = new ArrayList<>();
+            for (int s = 0; s < 200; s++) {
+                long checkIn = FROM.toEpochDay() + random.nextInt(31);
+                long bookedAt = BOOKED + random.nextInt(40 * 86_400);
+                long cancelledAt = random.nextInt(5) == 0 ? bookedAt + random.nextInt(86_400) : Long.MAX_VALUE;
+                stays.add(new PropertyHistory.Stay(bookedAt, cancelledAt, checkIn, checkIn + 1 + random.nextInt(10),
+                        1 + random.nextInt(2), 5_000 + random.nextInt(50_000)));
+            }
+            properties.add(property(60, stays));
+        }
+        PricingStrategy weekendHeavy = PricingStrategy.CURRENT.toBuilder().weekend(150).build();
+        Backtest backtest = new Backtest(List.of(PricingStrategy.CURRENT, weekendHeavy), HolidayCalendar.DEFAULT,
+                FROM, TO, 1.2, 1.0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Backtest.Outcome[] parallel = pool.submit(() -> backtest.evaluate(properties)).get();
+
+            for (int p = 0; p < properties.size(); p++) {
+                Backtest.Outcome sequential = backtest.evaluate(properties.get(p));
+                assertThat(parallel[p].getPropertyId()).isEqualTo(sequential.getPropertyId());
+                for (int s = 0; s < backtest.strategies(); s++) {
+                    assertThat(parallel[p].getRevenueCents(s)).isEqualTo(sequential.getRevenueCents(s));
+                    assertThat(parallel[p].getRoomNights(s)).isEqualTo(sequential.getRoomNights(s));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static PropertyHistory property(int rooms, List<PropertyHistory.Stay> stays) {
+        int[] capacity = new int[60];
+        Arrays.fill(capacity, rooms);
+        return new PropertyHistory(UUID.randomUUID(), List.of(new PropertyHistory.RoomTypeHistory(
+                UUID.randomUUID(), 10_000, rooms, SeasonIndex.EMPTY, capacity, stays)));
+    }
+}
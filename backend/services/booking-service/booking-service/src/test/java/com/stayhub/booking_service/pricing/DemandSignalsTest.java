@@ -0,0 +1,105 @@
+package com.stayhub.booking_service.pricing;
+
+import com.stayhub.booking_service.inventory.InventoryDelta;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.NightAvailability;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DemandSignalsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private final AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+    private final RoomTypeRepository roomTypeRepository = mock(RoomTypeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DemandSignals signals = new DemandSignals(availabilityRepository, roomTypeRepository,
+            meterRegistry, TODAY::toEpochDay, 30, 200);
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    @Test
+    void minAvailable_LoadsOnceThenServesFromMemory() {
+        // Given three nights on record, the middle one busiest
+        when(availabilityRepository.findNightsByRoomTypes(any(), any(), any())).thenReturn(List.of(
+                night(TODAY, 8), night(TODAY.plusDays(1), 3), night(TODAY.plusDays(2), 6)));
+
+        // Then the first quote loads the room type and later ones stay in memory
+        assertThat(signals.minAvailable(roomTypeId, TODAY, TODAY.plusDays(3))).isEqualTo(3);
+        assertThat(signals.minAvailable(roomTypeId, TODAY.plusDays(2), TODAY.plusDays(5))).isEqualTo(6);
+        assertThat(signals.minAvailable(roomTypeId, TODAY.plusDays(3), TODAY.plusDays(5))).isNull();
+        verify(availabilityRepository, times(1)).findNightsByRoomTypes(any(), any(), any());
+        assertThat(meterRegistry.get("pricing.demand.misses").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reservationsReleasesAndDeltas_AdjustKnownNights() {
+        when(availabilityRepository.findNightsByRoomTypes(any(), any(), any())).thenReturn(List.of(
+                night(TODAY, 5), night(TODAY.plusDays(1), 5), night(TODAY.plusDays(2), 5)));
+        signals.minAvailable(roomTypeId, TODAY, TODAY.plusDays(1));
+
+        // When two rooms are reserved for the first two nights and one given back on the first
+        signals.reservedAfterCommit(roomTypeId, TODAY, TODAY.plusDays(2), 2);
+        signals.releasedAfterCommit(roomTypeId, TODAY, TODAY.plusDays(1), 1);
+
+        assertThat(signals.minAvailable(roomTypeId, TODAY, TODAY.plusDays(1))).isEqualTo(4);
+        assertThat(signals.minAvailable(roomTypeId, TODAY.plusDays(1), TODAY.plusDays(2))).isEqualTo(3);
+
+        // And a modification moves one room from the second night to the third
+        signals.appliedAfterCommit(roomTypeId, InventoryDelta.between(
+                TODAY.plusDays(1), TODAY.plusDays(2), 1, TODAY.plusDays(2), TODAY.plusDays(3), 1));
+
+        assertThat(signals.minAvailable(roomTypeId, TODAY.plusDays(1), TODAY.plusDays(2))).isEqualTo(4);
+        assertThat(signals.minAvailable(roomTypeId, TODAY.plusDays(2), TODAY.plusDays(3))).isEqualTo(4);
+    }
+
+    @Test
+    void reconcile_ReplacesDriftedSnapshotsAndDropsDeletedRoomTypes() {
+        UUID deleted = UUID.randomUUID();
+        when(availabilityRepository.findNightsByRoomTypes(any(), any(), any()))
+                .thenReturn(List.of(night(TODAY, 5)))
+                .thenReturn(List.of(night(deleted, TODAY, 7)))
+                .thenReturn(List.of(night(TODAY, 2)));
+        signals.minAvailable(roomTypeId, TODAY, TODAY.plusDays(1));
+        signals.minAvailable(deleted, TODAY, TODAY.plusDays(1));
+
+        // When another instance has booked three rooms and the other room type is gone
+        when(roomTypeRepository.findAllIds()).thenReturn(List.of(roomTypeId));
+        signals.reconcile();
+
+        assertThat(signals.minAvailable(roomTypeId, TODAY, TODAY.plusDays(1))).isEqualTo(2);
+        assertThat(meterRegistry.get("pricing.demand.drift").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("pricing.demand.room-types").gauge().value()).isEqualTo(1.0);
+    }
+
+    private NightAvailability night(LocalDate date, int availableRooms) {
+        return night(roomTypeId, date, availableRooms);
+    }
+
+    private static NightAvailability night(UUID roomTypeId, LocalDate date, int availableRooms) {
+        return new NightAvailability() {
+            @Override
+            public UUID getRoomTypeId() {
+                return roomTypeId;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public Integer getAvailableRooms() {
+                return availableRooms;
+            }
+        };
+    }
+}
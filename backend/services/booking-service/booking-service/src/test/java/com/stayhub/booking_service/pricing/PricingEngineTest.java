@@ -0,0 +1,233 @@
+package com.stayhub.booking_service.pricing;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PricingEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private final PricingEngine engine = new PricingEngine(
+            new PricingCalendar(2024, 2028, PricingEngine.SEASONAL), TODAY::toEpochDay, 730);
+    private final UUID roomTypeId = UUID.randomUUID();
+
+    @Test
+    void quote_MatchesPerNightBigDecimalPricingExactly() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Stays partly outside the rate horizon and calendar window too, to cover the direct paths
+            LocalDate checkIn = TODAY.plusDays(random.nextInt(1500) - 30);
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(30));
+            BigDecimal basePrice = BigDecimal.valueOf(1 + random.nextInt(2_000_000), 2);
+            int rooms = 1 + random.nextInt(10);
+            int totalRooms = 1 + random.nextInt(50);
+            Integer minAvailable = random.nextInt(10) == 0 ? null : random.nextInt(totalRooms + 1);
+
+            long cents = engine.quote(roomTypeId, PricingEngine.toCents(basePrice), checkIn, checkOut,
+                    rooms, minAvailable, totalRooms);
+
+            assertThat(BigDecimal.valueOf(cents, 2))
+                    .as("%s %s-%s x%d avail %s/%d", basePrice, checkIn, checkOut, rooms, minAvailable, totalRooms)
+                    .isEqualTo(PerNightPricing.price(basePrice, checkIn, checkOut, rooms, minAvailable, totalRooms));
+        }
+    }
+
+    @Test
+    void mulDivHalfUp_RoundsBeyond64Bits() {
+        long a = 30_000_000_000_000L;
+        long b = 95_000_000_000_000_000L;
+
+        BigDecimal expected = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                .divide(BigDecimal.valueOf(10_000_000_000_000_000L), 0, RoundingMode.HALF_UP);
+
+        assertThat(PricingEngine.mulDivHalfUp(a, b, 10_000_000_000_000_000L)).isEqualTo(expected.longValueExact());
+        assertThat(PricingEngine.mulDivHalfUp(5, 1, 10)).isEqualTo(1);
+        assertThat(PricingEngine.mulDivHalfUp(4, 1, 10)).isZero();
+    }
+
+    @Test
+    void quote_StayAcrossSeasonBoundaryIsPricedPerNight() {
+        // Sun 29 Jun - Wed 2 Jul 2025: two June nights at 1.30 and one July night at 1.35
+        LocalDate checkIn = LocalDate.of(2025, 6, 29);
+        LocalDate checkOut = LocalDate.of(2025, 7, 2);
+        RateCalendar rates = engine.rates(roomTypeId, 10_000);
+
+        assertThat(RateCalendar.toDecimal(rates.stayTotal(checkIn.toEpochDay(), checkOut.toEpochDay())))
+                .isEqualByComparingTo("395.00");
+        assertThat(RateCalendar.toDecimal(rates.nightlyRate(LocalDate.of(2025, 7, 4).toEpochDay())))
+                .as("Friday and Independence Day")
+                .isEqualByComparingTo("253.13");
+    }
+
+    @Test
+    void rates_RebuiltWhenBasePriceChanges() {
+        RateCalendar first = engine.rates(roomTypeId, 10_000);
+
+        assertThat(engine.rates(roomTypeId, 10_000)).isSameAs(first);
+        assertThat(engine.rates(roomTypeId, 12_000).getBasePriceCents()).isEqualTo(12_000);
+    }
+
+    @Test
+    void rates_OwnerSeasonsAndHolidayReloadRebuildTheTable() {
+        LocalDate saturday = LocalDate.of(2025, 7, 5);
+        AtomicReference<SeasonIndex> seasons = new AtomicReference<>(SeasonIndex.EMPTY);
+        AtomicReference<HolidayCalendar> holidays = new AtomicReference<>(HolidayCalendar.DEFAULT);
+        PricingEngine ownerEngine = new PricingEngine(
+                new PricingCalendar(2024, 2028, PricingEngine.SEASONAL, holidays.get()),
+                holidays::get, id -> seasons.get(), TODAY::toEpochDay, 730);
+
+        // July 1.35 x weekend 1.25
+        assertThat(RateCalendar.toDecimal(ownerEngine.rates(roomTypeId, 10_000).nightlyRate(saturday.toEpochDay())))
+                .isEqualByComparingTo("168.75");
+
+        // Owner season 2.00 replaces the July factor, the weekend surcharge stays
+        seasons.set(SeasonIndex.compile(List.of(new SeasonIndex.Season(
+                saturday.toEpochDay(), saturday.toEpochDay() + 1, SeasonIndex.ALL_WEEKDAYS, 200))));
+        assertThat(RateCalendar.toDecimal(ownerEngine.rates(roomTypeId, 10_000).nightlyRate(saturday.toEpochDay())))
+                .isEqualByComparingTo("250.00");
+
+        // And a reloaded holiday file adds the holiday surcharge
+        holidays.set(HolidayCalendar.parse(List.of("holidays.txt"), List.of(List.of("07-05 Local festival"))));
+        assertThat(RateCalendar.toDecimal(ownerEngine.rates(roomTypeId, 10_000).nightlyRate(saturday.toEpochDay())))
+                .isEqualByComparingTo("375.00");
+        assertThat(RateCalendar.toDecimal(ownerEngine.rates(roomTypeId, 10_000)
+                .nightlyRate(LocalDate.of(2025, 12, 25).toEpochDay())))
+                .as("Christmas no longer in the holiday file")
+                .isEqualByComparingTo("125.00");
+    }
+
+    @Test
+    void oneNightPrices_MatchSingleNightQuotes() {
+        // A year and a half from a week before the rate table starts, so rated night by night
+        LocalDate from = TODAY.minusDays(7);
+        int nights = 548;
+        long[] rates = engine.rates(roomTypeId, 14_999).nightlyRates(from.toEpochDay(), nights);
+        int[] available = new int[nights];
+        for (int night = 0; night < nights; night++) {
+            available[night] = night % 5 == 0 ? -1 : night % 21;
+        }
+
+        long[] prices = engine.oneNightPrices(from.toEpochDay(), rates, available, 20);
+
+        for (int night = 0; night < nights; night++) {
+            LocalDate date = from.plusDays(night);
+            assertThat(rates[night]).isEqualTo(engine.rates(roomTypeId, 14_999).nightlyRate(date.toEpochDay()));
+            assertThat(prices[night]).as("%s", date).isEqualTo(engine.quote(roomTypeId, 14_999, date,
+                    date.plusDays(1), 1, available[night] < 0 ? null : available[night], 20));
+        }
+    }
+
+    /**
+     * Timing only, excluded from the default build; run with {@code mvn test -Pbenchmark}
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmark_FixedPointAgainstBigDecimal() {
+        int quotes = 2_000_000;
+        LocalDate[] checkIns = new LocalDate[1024];
+        for (int i = 0; i < checkIns.length; i++) {
+            checkIns[i] = TODAY.plusDays(i % 400);
+        }
+        BigDecimal basePrice = new BigDecimal("149.99");
+        long baseCents = PricingEngine.toCents(basePrice);
+
+        long sink = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < quotes; i++) {
+            LocalDate checkIn = checkIns[i & 1023];
+            sink += engine.quote(roomTypeId, baseCents, checkIn, checkIn.plusDays(1 + (i & 7)), 1 + (i & 3), i & 15, 20);
+        }
+        long fixedNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < quotes / 10; i++) {
+            LocalDate checkIn = checkIns[i & 1023];
+            sink += PerNightPricing.price(basePrice, checkIn, checkIn.plusDays(1 + (i & 7)), 1 + (i & 3), i & 15, 20)
+                    .unscaledValue().longValue();
+        }
+        long bigDecimalNanos = (System.nanoTime() - started) * 10;
+
+        assertThat(sink).isNotZero();
+        assertThat(fixedNanos / quotes).as("fixed-point ns per quote").isLessThan(bigDecimalNanos / quotes);
+    }
+
+    /**
+     * Straightforward BigDecimal version of the pricing model, kept as the oracle
+     */
+    private static final class PerNightPricing {
+
+        private static final BigDecimal WEEKEND_MULTIPLIER = new BigDecimal("1.25");
+        private static final BigDecimal HOLIDAY_MULTIPLIER = new BigDecimal("1.50");
+
+        private static final Map<Integer, BigDecimal> SEASONAL_MULTIPLIERS = Map.ofEntries(
+                Map.entry(1, new BigDecimal("0.85")), Map.entry(2, new BigDecimal("0.90")),
+                Map.entry(3, new BigDecimal("1.00")), Map.entry(4, new BigDecimal("1.10")),
+                Map.entry(5, new BigDecimal("1.15")), Map.entry(6, new BigDecimal("1.30")),
+                Map.entry(7, new BigDecimal("1.35")), Map.entry(8, new BigDecimal("1.35")),
+                Map.entry(9, new BigDecimal("1.20")), Map.entry(10, new BigDecimal("1.10")),
+                Map.entry(11, new BigDecimal("0.95")), Map.entry(12, new BigDecimal("1.25")));
+
+        private static final Set<MonthDay> HOLIDAYS = Set.of(
+                MonthDay.of(1, 1), MonthDay.of(7, 4), MonthDay.of(12, 25), MonthDay.of(12, 31));
+
+        static BigDecimal price(BigDecimal basePrice, LocalDate checkIn, LocalDate checkOut, int rooms,
+                                Integer minAvailable, Integer totalRooms) {
+            BigDecimal nightly = BigDecimal.ZERO;
+            for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+                BigDecimal rate = basePrice.multiply(SEASONAL_MULTIPLIERS.get(date.getMonthValue()));
+                if (date.getDayOfWeek() == DayOfWeek.FRIDAY || date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+                    rate = rate.multiply(WEEKEND_MULTIPLIER);
+                }
+                if (HOLIDAYS.contains(MonthDay.from(date))) {
+                    rate = rate.multiply(HOLIDAY_MULTIPLIER);
+                }
+                nightly = nightly.add(rate);
+            }
+
+            BigDecimal multiplier = BigDecimal.ONE;
+            if (minAvailable != null && totalRooms != null && totalRooms > 0) {
+                BigDecimal occupancyRate = BigDecimal.ONE.subtract(BigDecimal.valueOf(minAvailable)
+                        .divide(BigDecimal.valueOf(totalRooms), 4, RoundingMode.HALF_UP));
+                if (occupancyRate.compareTo(new BigDecimal("0.80")) > 0) {
+                    multiplier = multiplier.multiply(new BigDecimal("1.40"));
+                } else if (occupancyRate.compareTo(new BigDecimal("0.30")) < 0) {
+                    multiplier = multiplier.multiply(new BigDecimal("0.80"));
+                }
+            }
+
+            long daysUntilCheckIn = ChronoUnit.DAYS.between(TODAY, checkIn);
+            if (daysUntilCheckIn <= 3) {
+                multiplier = multiplier.multiply(new BigDecimal("0.85"));
+            } else if (daysUntilCheckIn > 60) {
+                multiplier = multiplier.multiply(new BigDecimal("0.90"));
+            }
+
+            long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+            if (nights >= 28) {
+                multiplier = multiplier.multiply(new BigDecimal("0.80"));
+            } else if (nights >= 7) {
+                multiplier = multiplier.multiply(new BigDecimal("0.90"));
+            } else if (nights >= 3) {
+                multiplier = multiplier.multiply(new BigDecimal("0.95"));
+            }
+
+            return nightly.multiply(BigDecimal.valueOf(rooms)).multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.stayhub.booking_service.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SeasonIndexTest {
+
+    private static final int WEEKENDS = 0b0110000;
+
+    @Test
+    void factor_FirstSeasonInPrecedenceOrderWins() {
+        long july = LocalDate.of(2025, 7, 1).toEpochDay();
+        long august = LocalDate.of(2025, 8, 1).toEpochDay();
+        long september = LocalDate.of(2025, 9, 1).toEpochDay();
+
+        // Given a weekend surcharge in August over a summer season
+        SeasonIndex index = SeasonIndex.compile(List.of(
+                new SeasonIndex.Season(august, september, WEEKENDS, 180),
+                new SeasonIndex.Season(july, september, SeasonIndex.ALL_WEEKDAYS, 150)));
+
+        assertThat(index.factor(LocalDate.of(2025, 8, 1).toEpochDay())).as("Friday").isEqualTo(180);
+        assertThat(index.factor(LocalDate.of(2025, 8, 4).toEpochDay())).as("Monday").isEqualTo(150);
+        assertThat(index.factor(LocalDate.of(2025, 7, 5).toEpochDay())).as("July Saturday").isEqualTo(150);
+        assertThat(index.factor(september)).isZero();
+        assertThat(index.factor(july - 1)).isZero();
+    }
+
+    @Test
+    void factor_MatchesLinearScanOfRandomSeasons() {
+        Random random = new Random(7);
+        long origin = LocalDate.of(2025, 1, 1).toEpochDay();
+        List<SeasonIndex.Season> seasons = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            long start = origin + random.nextInt(700);
+            seasons.add(new SeasonIndex.Season(start, start + 1 + random.nextInt(90),
+                    1 + random.nextInt(SeasonIndex.ALL_WEEKDAYS), 50 + random.nextInt(200)));
+        }
+
+        SeasonIndex index = SeasonIndex.compile(seasons);
+
+        for (long day = origin - 10; day < origin + 800; day++) {
+            int expected = 0;
+            for (SeasonIndex.Season season : seasons) {
+                if (season.startDay() <= day && day < season.endDay()
+                        && (season.weekdayMask() & (1 << SeasonIndex.weekday(day))) != 0) {
+                    expected = season.factor();
+                    break;
+                }
+            }
+            assertThat(index.factor(day)).as("%s", LocalDate.ofEpochDay(day)).isEqualTo(expected);
+        }
+        assertThat(index.intervals()).isLessThanOrEqualTo(2 * seasons.size());
+    }
+
+    @Test
+    void holidayCalendar_ParsesRecurringAndDatedEntries() {
+        HolidayCalendar holidays = HolidayCalendar.parse(List.of("holidays.txt"), List.of(List.of(
+                "# comment", "", "12-25 Christmas", "2026-04-05 Easter Sunday")));
+
+        assertThat(holidays.isHoliday(LocalDate.of(2031, 12, 25))).isTrue();
+        assertThat(holidays.isHoliday(LocalDate.of(2026, 4, 5))).isTrue();
+        assertThat(holidays.isHoliday(LocalDate.of(2027, 4, 5))).isFalse();
+        assertThatThrownBy(() -> HolidayCalendar.parse(List.of("bad.txt"), List.of(List.of("13-40 Nope"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("bad.txt:1");
+    }
+}
@@ -0,0 +1,191 @@
+package com.stayhub.booking_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stayhub.booking_service.dto.BookingIntakeResponse;
+import com.stayhub.booking_service.dto.BookingRequest;
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.BookingIntake;
+import com.stayhub.booking_service.entity.IntakeStatus;
+import com.stayhub.booking_service.exception.ConcurrentBookingException;
+import com.stayhub.booking_service.repository.BookingIntakeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class AsyncBookingIntakeServiceTest {
+
+    private static final long LEASE_MILLIS = 60_000;
+
+    private final BookingIntakeService bookingIntakeService = mock(BookingIntakeService.class);
+    private final BookingService bookingService = mock(BookingService.class);
+    private final BookingIntakeRepository intakeRepository = mock(BookingIntakeRepository.class);
+    private final AsyncBookingIntakeService intake = new AsyncBookingIntakeService(bookingIntakeService,
+            bookingService, intakeRepository, new ObjectMapper().findAndRegisterModules(),
+            new SimpleMeterRegistry(), 1, 10, 3, 2_000, 30_000, LEASE_MILLIS);
+
+    // The stored row, updated by the claim and finish mocks like the database would
+    private final BookingIntake row = BookingIntake.builder()
+            .id(UUID.randomUUID())
+            .status(IntakeStatus.QUEUED)
+            .attempts(0)
+            .createdAt(LocalDateTime.now())
+            .build();
+
+    AsyncBookingIntakeServiceTest() {
+        when(intakeRepository.save(any())).thenAnswer(invocation -> {
+            row.setPayload(invocation.<BookingIntake>getArgument(0).getPayload());
+            return row;
+        });
+        when(intakeRepository.findById(row.getId())).thenAnswer(invocation -> Optional.of(copy(row)));
+        when(intakeRepository.claim(eq(row.getId()), eq(IntakeStatus.QUEUED), eq(IntakeStatus.PROCESSING), any()))
+                .thenAnswer(invocation -> {
+                    synchronized (row) {
+                        if (row.getStatus() != IntakeStatus.QUEUED) {
+                            return 0;
+                        }
+                        row.setStatus(IntakeStatus.PROCESSING);
+                        row.setAttempts(row.getAttempts() + 1);
+                        return 1;
+                    }
+                });
+        when(intakeRepository.finish(eq(row.getId()), any(), any(), any(), any())).thenAnswer(invocation -> {
+            synchronized (row) {
+                row.setStatus(invocation.getArgument(1));
+                row.setBookingId(invocation.getArgument(2));
+                row.setErrorMessage(invocation.getArgument(3));
+                return 1;
+            }
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        intake.stop();
+    }
+
+    @Test
+    void submit_ClaimsAndCompletesTheRequest() {
+        UUID bookingId = UUID.randomUUID();
+        when(bookingIntakeService.createBooking(any())).thenReturn(BookingResponse.builder().id(bookingId).build());
+
+        BookingIntakeResponse accepted = intake.submit(request());
+
+        assertThat(accepted.getToken()).isEqualTo(row.getId());
+        verify(intakeRepository, timeout(5_000))
+                .finish(eq(row.getId()), eq(IntakeStatus.COMPLETED), eq(bookingId), isNull(), any());
+        assertThat(row.getAttempts()).isEqualTo(1);
+        // The stored payload carries a generated key, so a rerun after a lost lease books nothing twice
+        verify(bookingIntakeService).createBooking(argThat(r -> r.getIdempotencyKey().startsWith("intake:")));
+    }
+
+    @Test
+    void submit_RequeuesOnContentionUntilAttemptsRunOut() {
+        when(bookingIntakeService.createBooking(any()))
+                .thenThrow(new ConcurrentBookingException("Another booking is in progress"));
+        when(intakeRepository.findIdsByStatusUpdatedBefore(eq(IntakeStatus.QUEUED), any(), any()))
+                .thenAnswer(invocation -> row.getStatus() == IntakeStatus.QUEUED ? List.of(row.getId()) : List.of());
+
+        intake.submit(request());
+        verify(intakeRepository, timeout(5_000))
+                .finish(eq(row.getId()), eq(IntakeStatus.QUEUED), isNull(), any(), any());
+
+        // The sweep redelivers it until the third attempt fails for good
+        for (int attempt = 2; attempt <= 3; attempt++) {
+            intake.sweep();
+            verify(intakeRepository, timeout(5_000).times(attempt)).finish(any(), any(), any(), any(), any());
+        }
+
+        assertThat(row.getStatus()).isEqualTo(IntakeStatus.FAILED);
+        assertThat(row.getAttempts()).isEqualTo(3);
+        verify(bookingIntakeService, times(3)).createBooking(any());
+    }
+
+    @Test
+    void submit_SkipsARequestAnotherWorkerClaimed() {
+        row.setStatus(IntakeStatus.PROCESSING);
+
+        intake.submit(request());
+
+        verify(intakeRepository, timeout(5_000)).claim(eq(row.getId()), any(), any(), any());
+        verifyNoInteractions(bookingIntakeService);
+        verify(intakeRepository, never()).finish(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void poll_CompletesWhenTheWorkerFinishes() throws Exception {
+        CountDownLatch booking = new CountDownLatch(1);
+        UUID bookingId = UUID.randomUUID();
+        when(bookingIntakeService.createBooking(any())).thenAnswer(invocation -> {
+            booking.await(5, TimeUnit.SECONDS);
+            return BookingResponse.builder().id(bookingId).build();
+        });
+
+        intake.submit(request());
+        verify(bookingIntakeService, timeout(5_000)).createBooking(any());
+        DeferredResult<BookingIntakeResponse> result = intake.poll(row.getId(), 10_000);
+        assertThat(result.hasResult()).isFalse();
+
+        booking.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        BookingIntakeResponse response = (BookingIntakeResponse) result.getResult();
+        assertThat(response.getStatus()).isEqualTo(IntakeStatus.COMPLETED);
+        assertThat(response.getBookingId()).isEqualTo(bookingId);
+    }
+
+    @Test
+    void recover_RequeuesOnlyRequestsWhoseLeaseExpired() {
+        LocalDateTime before = LocalDateTime.now();
+
+        intake.recover();
+
+        verify(intakeRepository).moveUpdatedBefore(eq(IntakeStatus.PROCESSING), eq(IntakeStatus.QUEUED),
+                argThat(cutoff -> !cutoff.isAfter(LocalDateTime.now().minusSeconds(59))
+                        && !cutoff.isBefore(before.minusNanos(TimeUnit.MILLISECONDS.toNanos(LEASE_MILLIS)))),
+                any());
+    }
+
+    private BookingRequest request() {
+        return BookingRequest.builder()
+                .propertyId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .roomTypeId(UUID.randomUUID())
+                .checkIn(LocalDate.now().plusDays(5))
+                .checkOut(LocalDate.now().plusDays(7))
+                .numberOfRooms(1)
+                .numberOfGuests(2)
+                .build();
+    }
+
+    private static BookingIntake copy(BookingIntake intake) {
+        synchronized (intake) {
+            return BookingIntake.builder()
+                    .id(intake.getId())
+                    .payload(intake.getPayload())
+                    .status(intake.getStatus())
+                    .attempts(intake.getAttempts())
+                    .bookingId(intake.getBookingId())
+                    .errorMessage(intake.getErrorMessage())
+                    .createdAt(intake.getCreatedAt())
+                    .build();
+        }
+    }
+}
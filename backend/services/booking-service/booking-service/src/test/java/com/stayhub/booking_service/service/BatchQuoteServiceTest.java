@@ -0,0 +1,139 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.cache.BookingReadCache;
+import com.stayhub.booking_service.dto.BatchQuoteRequest;
+import com.stayhub.booking_service.dto.BatchQuoteResponse;
+import com.stayhub.booking_service.dto.BookingRequest;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.event.BookingEventPublisher;
+import com.stayhub.booking_service.inventory.HoldTimingWheel;
+import com.stayhub.booking_service.pricing.DemandSignals;
+import com.stayhub.booking_service.pricing.HolidayCalendar;
+import com.stayhub.booking_service.pricing.HolidayFiles;
+import com.stayhub.booking_service.pricing.PricingEngine;
+import com.stayhub.booking_service.pricing.PricingRules;
+import com.stayhub.booking_service.pricing.SeasonIndex;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchQuoteServiceTest {
+    
+    private final RoomTypeRepository roomTypeRepository = mock(RoomTypeRepository.class);
+    private final DemandSignals demandSignals = mock(DemandSignals.class);
+    private final DynamicPricingService dynamicPricingService;
+    private final BookingService bookingService;
+    private final BatchQuoteService batchQuoteService;
+    
+    private final UUID propertyId = UUID.randomUUID();
+    private final RoomType doubleRoom = roomType("Double", "120.00");
+    private final RoomType suite = roomType("Suite", "310.00");
+    private final LocalDate checkIn = LocalDate.now().plusDays(20);
+    private final LocalDate checkOut = checkIn.plusDays(3);
+    
+    BatchQuoteServiceTest() {
+        HolidayFiles holidayFiles = mock(HolidayFiles.class);
+        when(holidayFiles.current()).thenReturn(HolidayCalendar.DEFAULT);
+        PricingRules pricingRules = mock(PricingRules.class);
+        when(pricingRules.forRoomType(any())).thenReturn(SeasonIndex.EMPTY);
+        dynamicPricingService = new DynamicPricingService(demandSignals,
+                new PricingEngine(holidayFiles, pricingRules, 730));
+        bookingService = new BookingService(mock(BookingRepository.class), mock(AvailabilityRepository.class),
+                roomTypeRepository, mock(BookingEventPublisher.class), dynamicPricingService,
+                mock(AvailabilityService.class), mock(HoldTimingWheel.class), mock(BookingReadCache.class));
+        batchQuoteService = new BatchQuoteService(roomTypeRepository, demandSignals, dynamicPricingService,
+                bookingService);
+        
+        when(roomTypeRepository.findAllById(any())).thenReturn(List.of(doubleRoom, suite));
+        when(roomTypeRepository.findById(doubleRoom.getId())).thenReturn(Optional.of(doubleRoom));
+        when(demandSignals.minAvailable(doubleRoom.getId(), checkIn, checkOut)).thenReturn(1);
+        when(demandSignals.minAvailable(suite.getId(), checkIn, checkOut)).thenReturn(4);
+    }
+    
+    @Test
+    void quote_ReturnsOneResultPerItemInRequestOrder() {
+        BatchQuoteResponse response = batchQuoteService.quote(request(
+                item(suite, checkIn, checkOut, 1), item(doubleRoom, checkIn, checkOut, 2),
+                item(suite, checkIn, checkOut, 5)));
+        
+        assertThat(response.getQuotes()).extracting(BatchQuoteResponse.Quote::getIndex).containsExactly(0, 1, 2);
+        assertThat(response.getQuotes()).extracting(BatchQuoteResponse.Quote::getRoomTypeId)
+                .containsExactly(suite.getId(), doubleRoom.getId(), suite.getId());
+        assertThat(response.getQuotes()).extracting(BatchQuoteResponse.Quote::getAvailable)
+                .containsExactly(true, false, false);
+        assertThat(response.getSucceeded()).isEqualTo(3);
+    }
+    
+    @Test
+    void quote_InvalidItemsFailAloneWithBookingValidationMessages() {
+        BatchQuoteResponse response = batchQuoteService.quote(request(
+                item(doubleRoom, checkIn, checkOut, 1),
+                item(doubleRoom, LocalDate.now().minusDays(1), checkOut, 1),
+                item(doubleRoom, checkIn, checkIn.plusDays(31), 1),
+                item(doubleRoom, checkIn, checkOut, 11),
+                BatchQuoteRequest.Item.builder().propertyId(propertyId).roomTypeId(UUID.randomUUID())
+                        .checkIn(checkIn).checkOut(checkOut).build(),
+                null));
+        
+        assertThat(response.getQuotes()).extracting(BatchQuoteResponse.Quote::getErrorCode)
+                .containsExactly(null, "VALIDATION", "VALIDATION", "VALIDATION", "NOT_FOUND", "VALIDATION");
+        assertThat(response.getQuotes().get(1).getErrorMessage()).isEqualTo("Check-in date cannot be in the past");
+        assertThat(response.getQuotes().get(2).getErrorMessage()).isEqualTo("Booking duration cannot exceed 30 days");
+        assertThat(response.getQuotes().get(3).getErrorMessage()).isEqualTo("Room count must be between 1 and 10");
+        assertThat(response.getQuotes().get(0).getTotalPrice()).isNotNull();
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(5);
+    }
+    
+    @Test
+    void quote_MatchesTheSingleBookingPricePreview() {
+        BatchQuoteResponse response = batchQuoteService.quote(request(item(doubleRoom, checkIn, checkOut, 2)));
+        
+        BigDecimal preview = bookingService.getBookingPricePreview(BookingRequest.builder()
+                .propertyId(propertyId)
+                .roomTypeId(doubleRoom.getId())
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .numberOfRooms(2)
+                .build()).getTotalPrice();
+        
+        assertThat(response.getQuotes().get(0).getTotalPrice()).isEqualByComparingTo(preview);
+    }
+    
+    private BatchQuoteRequest request(BatchQuoteRequest.Item... items) {
+        return BatchQuoteRequest.builder().items(Arrays.asList(items)).build();
+    }
+    
+    private BatchQuoteRequest.Item item(RoomType roomType, LocalDate in, LocalDate out, int rooms) {
+        return BatchQuoteRequest.Item.builder()
+                .propertyId(propertyId)
+                .roomTypeId(roomType.getId())
+                .checkIn(in)
+                .checkOut(out)
+                .numberOfRooms(rooms)
+                .build();
+    }
+    
+    private RoomType roomType(String name, String basePrice) {
+        return RoomType.builder()
+                .id(UUID.randomUUID())
+                .propertyId(propertyId)
+                .name(name)
+                .maxOccupancy(2)
+                .basePrice(new BigDecimal(basePrice))
+                .totalRooms(5)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BookingHistoryResponse;
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.exception.ErrorResponse;
+import com.stayhub.booking_service.exception.GlobalExceptionHandler;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingHistoryTest {
+    
+    // Postgres orders uuid bytewise, which matches the order of the lowercase hex strings
+    private static final Comparator<Booking> NEWEST_FIRST = Comparator
+            .comparing(Booking::getCreatedAt)
+            .thenComparing(booking -> booking.getId().toString())
+            .reversed();
+    
+    @Mock
+    private BookingRepository bookingRepository;
+    
+    @InjectMocks
+    private BookingService bookingService;
+    
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.of(2025, 5, 1, 12, 0, 0, 123_456_000);
+    
+    @Test
+    void bookingCursor_RoundTripsThroughAnUrlSafeToken() {
+        BookingCursor cursor = new BookingCursor(createdAt, UUID.randomUUID());
+        
+        String token = cursor.encode();
+        
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(BookingCursor.decode(token)).isEqualTo(cursor);
+    }
+    
+    @Test
+    void bookingCursor_MalformedOrTamperedTokensAreRejected() {
+        for (String token : List.of("not base64!", encode("no separator"), encode(createdAt + "|not-a-uuid"),
+                encode("yesterday|" + UUID.randomUUID()), encode("|"))) {
+            assertThatThrownBy(() -> BookingCursor.decode(token))
+                    .as(token)
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+    
+    @Test
+    void getUserBookingHistory_BadCursorIsABadRequest() {
+        ValidationException invalid = catchThrowableOfType(
+                () -> bookingService.getUserBookingHistory(userId, encode("tampered"), 10), ValidationException.class);
+        
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleValidation(invalid);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(bookingRepository);
+    }
+    
+    @Test
+    void getUserBookingHistory_LimitMustBeBetweenOneAndOneHundred() {
+        assertThatThrownBy(() -> bookingService.getUserBookingHistory(userId, null, 0))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.getUserBookingHistory(userId, null, 101))
+                .isInstanceOf(ValidationException.class);
+        
+        bookingService.getUserBookingHistory(userId, null, 1);
+        bookingService.getUserBookingHistory(userId, null, 100);
+        verify(bookingRepository).findLatestByUserId(userId, Pageable.ofSize(2));
+        verify(bookingRepository).findLatestByUserId(userId, Pageable.ofSize(101));
+    }
+    
+    @Test
+    void getUserBookingHistory_PagesAcrossBookingsCreatedAtTheSameInstant() {
+        // Four bookings share a timestamp, so the id decides their order and the page boundary
+        List<Booking> stored = new ArrayList<>();
+        stored.add(booking(createdAt.plusSeconds(1)));
+        for (int i = 0; i < 4; i++) {
+            stored.add(booking(createdAt));
+        }
+        stored.add(booking(createdAt.minusSeconds(1)));
+        stored.sort(NEWEST_FIRST);
+        
+        when(bookingRepository.findLatestByUserId(eq(userId), any())).thenAnswer(invocation ->
+                stored.stream().limit(invocation.<Pageable>getArgument(1).getPageSize()).toList());
+        when(bookingRepository.findByUserIdBefore(eq(userId), any(), any(), any())).thenAnswer(invocation -> {
+            Booking after = Booking.builder()
+                    .createdAt(invocation.getArgument(1))
+                    .id(invocation.getArgument(2))
+                    .build();
+            return stored.stream()
+                    .filter(booking -> NEWEST_FIRST.compare(booking, after) > 0)
+                    .limit(invocation.<Pageable>getArgument(3).getPageSize())
+                    .toList();
+        });
+        
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            BookingHistoryResponse page = bookingService.getUserBookingHistory(userId, cursor, 2);
+            page.getBookings().stream().map(BookingResponse::getId).forEach(seen::add);
+            assertThat(page.isHasMore()).isEqualTo(page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(stored.stream().map(Booking::getId).toList());
+    }
+    
+    private Booking booking(LocalDateTime created) {
+        return Booking.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .createdAt(created)
+                .build();
+    }
+    
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,171 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BookingModificationRequest;
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.entity.BookingStatus;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.RoomNotAvailableException;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.inventory.InventoryDelta;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingModificationTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private DynamicPricingService dynamicPricingService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final UUID propertyId = UUID.randomUUID();
+    private final LocalDate checkIn = LocalDate.now().plusDays(20);
+    private final RoomType roomType = RoomType.builder()
+            .id(UUID.randomUUID())
+            .propertyId(propertyId)
+            .name("Double")
+            .maxOccupancy(2)
+            .basePrice(new BigDecimal("100.00"))
+            .totalRooms(10)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        // Not reached by the rejected changes
+        lenient().when(roomTypeRepository.findById(roomType.getId())).thenReturn(Optional.of(roomType));
+        lenient().when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void extendBooking_PricesOnlyTheAddedNights() {
+        // Three nights booked at 300.00, extended by two
+        Booking booking = booking(3, 1, "300.00");
+        LocalDate checkOut = checkIn.plusDays(3);
+        when(availabilityService.applyDelta(eq(propertyId), eq(roomType.getId()), any())).thenReturn(true);
+        when(dynamicPricingService.calculateDynamicPrice(roomType, checkOut, checkOut.plusDays(2), propertyId, 1))
+                .thenReturn(new BigDecimal("180.00"));
+
+        BookingResponse response = bookingService.extendBooking(booking.getId(), checkOut.plusDays(2));
+
+        assertThat(response.getCheckOut()).isEqualTo(checkOut.plusDays(2));
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("480.00");
+        verify(availabilityService).applyDelta(eq(propertyId), eq(roomType.getId()), argThat(delta ->
+                delta.runs().equals(List.of(new InventoryDelta.Run(checkOut, checkOut.plusDays(2), 1)))));
+        verify(dynamicPricingService, times(1)).calculateDynamicPrice(any(), any(), any(), any(UUID.class), anyInt());
+    }
+
+    @Test
+    void extendBooking_RejectsACheckoutThatDoesNotExtend() {
+        Booking booking = booking(3, 1, "300.00");
+
+        assertThatThrownBy(() -> bookingService.extendBooking(booking.getId(), checkIn.plusDays(3)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(availabilityService, dynamicPricingService);
+    }
+
+    @Test
+    void modifyBooking_CreditsRemovedNightsAtTheStoredRate() {
+        // 100.00 for three nights, one night dropped: 33.33 back
+        Booking booking = booking(3, 1, "100.00");
+        when(availabilityService.applyDelta(any(), any(), any())).thenReturn(true);
+
+        BookingResponse response = bookingService.modifyBooking(booking.getId(), BookingModificationRequest.builder()
+                .newCheckOut(checkIn.plusDays(2))
+                .build());
+
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("66.67");
+        verifyNoInteractions(dynamicPricingService);
+    }
+
+    @Test
+    void modifyBooking_KeepsStoredPriceForUnchangedRoomNights() {
+        // Four nights of one room at 400.00 become three nights of two rooms
+        Booking booking = booking(4, 1, "400.00");
+        when(availabilityService.applyDelta(any(), any(), any())).thenReturn(true);
+        when(dynamicPricingService.calculateDynamicPrice(roomType, checkIn, checkIn.plusDays(3), propertyId, 1))
+                .thenReturn(new BigDecimal("330.00"));
+
+        BookingResponse response = bookingService.modifyBooking(booking.getId(), BookingModificationRequest.builder()
+                .newCheckOut(checkIn.plusDays(3))
+                .newRoomCount(2)
+                .build());
+
+        // 400 - 100 for the dropped night + 330 for the second room at today's rate
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("630.00");
+        assertThat(response.getNumberOfRooms()).isEqualTo(2);
+    }
+
+    @Test
+    void modifyBooking_GuestChangeKeepsThePrice() {
+        Booking booking = booking(3, 1, "300.00");
+        when(availabilityService.applyDelta(any(), any(), any())).thenReturn(true);
+
+        BookingResponse response = bookingService.modifyBooking(booking.getId(), BookingModificationRequest.builder()
+                .newGuestCount(1)
+                .build());
+
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("300.00");
+        assertThat(response.getNumberOfGuests()).isEqualTo(1);
+        verifyNoInteractions(dynamicPricingService);
+    }
+
+    @Test
+    void modifyBooking_LeavesTheBookingAloneWhenRoomsAreShort() {
+        Booking booking = booking(3, 1, "300.00");
+        when(availabilityService.applyDelta(any(), any(), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> bookingService.modifyBooking(booking.getId(), BookingModificationRequest.builder()
+                .newRoomCount(3)
+                .build()))
+                .isInstanceOf(RoomNotAvailableException.class);
+        assertThat(booking.getNumberOfRooms()).isEqualTo(1);
+        assertThat(booking.getTotalAmount()).isEqualByComparingTo("300.00");
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(dynamicPricingService);
+    }
+
+    private Booking booking(int nights, int rooms, String totalAmount) {
+        Booking booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .propertyId(propertyId)
+                .userId(UUID.randomUUID())
+                .roomTypeId(roomType.getId())
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(nights))
+                .numberOfRooms(rooms)
+                .numberOfGuests(2)
+                .totalAmount(new BigDecimal(totalAmount))
+                .currency("USD")
+                .status(BookingStatus.CONFIRMED)
+                .build();
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        return booking;
+    }
+}
@@ -0,0 +1,115 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BulkAvailabilityRequest;
+import com.stayhub.booking_service.dto.BulkAvailabilityResponse;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.exception.ErrorResponse;
+import com.stayhub.booking_service.exception.GlobalExceptionHandler;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.AvailabilitySummary;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkAvailabilityTest {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private DynamicPricingService dynamicPricingService;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final UUID propertyId = UUID.randomUUID();
+    private final LocalDate checkIn = LocalDate.now().plusDays(30);
+    private final LocalDate checkOut = checkIn.plusDays(2);
+    private final RoomType roomType = RoomType.builder()
+            .id(UUID.randomUUID())
+            .propertyId(propertyId)
+            .name("Double")
+            .maxOccupancy(2)
+            .basePrice(new BigDecimal("100.00"))
+            .totalRooms(10)
+            .build();
+
+    @Test
+    void checkAvailabilityBulk_PricesUninitializedNightsLikeABooking() {
+        when(availabilityRepository.summarizeByRoomType(any(), any(), any())).thenReturn(List.of());
+        when(roomTypeRepository.findByPropertyIdIn(List.of(propertyId))).thenReturn(List.of(roomType));
+        when(dynamicPricingService.calculateDynamicPrice(roomType, checkIn, checkOut, propertyId, 1))
+                .thenReturn(new BigDecimal("200.00"));
+
+        BulkAvailabilityResponse response = bookingService.checkAvailabilityBulk(request());
+
+        // No rows means full inventory for the flag, but the price gets no low-demand discount
+        BulkAvailabilityResponse.RoomTypeAvailability result = response.getResults().get(0);
+        assertThat(result.getAvailableRooms()).isEqualTo(10);
+        assertThat(result.isAvailable()).isTrue();
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("200.00");
+        verify(dynamicPricingService).preloadDemand(List.of(roomType.getId()));
+        verify(dynamicPricingService, never())
+                .calculateDynamicPrice(any(), any(), any(), anyInt(), any(Integer.class));
+    }
+
+    @Test
+    void checkAvailabilityBulk_FlagsRoomTypeShortOnAnyNight() {
+        AvailabilitySummary summary = mock(AvailabilitySummary.class);
+        when(summary.getRoomTypeId()).thenReturn(roomType.getId());
+        when(summary.getMinAvailable()).thenReturn(0);
+        when(summary.getNights()).thenReturn(2L);
+        when(availabilityRepository.summarizeByRoomType(any(), any(), any())).thenReturn(List.of(summary));
+        when(roomTypeRepository.findByPropertyIdIn(List.of(propertyId))).thenReturn(List.of(roomType));
+        when(dynamicPricingService.calculateDynamicPrice(roomType, checkIn, checkOut, propertyId, 1))
+                .thenReturn(new BigDecimal("240.00"));
+
+        BulkAvailabilityResponse.RoomTypeAvailability result =
+                bookingService.checkAvailabilityBulk(request()).getResults().get(0);
+
+        assertThat(result.getAvailableRooms()).isZero();
+        assertThat(result.isAvailable()).isFalse();
+        assertThat(result.getPricePerNight()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    void queryTimeout_IsAServiceUnavailableToRetry() {
+        when(availabilityRepository.summarizeByRoomType(any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        QueryTimeoutException timeout = catchThrowableOfType(
+                () -> bookingService.checkAvailabilityBulk(request()), QueryTimeoutException.class);
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleQueryTimeout(timeout);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    }
+
+    private BulkAvailabilityRequest request() {
+        return BulkAvailabilityRequest.builder()
+                .propertyIds(List.of(propertyId))
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .numberOfRooms(1)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.dto.CartBookingRequest;
+import com.stayhub.booking_service.dto.CartBookingResponse;
+import com.stayhub.booking_service.entity.Booking;
+import com.stayhub.booking_service.entity.BookingStatus;
+import com.stayhub.booking_service.entity.RoomType;
+import com.stayhub.booking_service.event.BookingEventPublisher;
+import com.stayhub.booking_service.exception.RoomNotAvailableException;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartBookingTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private BookingEventPublisher eventPublisher;
+
+    @Mock
+    private DynamicPricingService dynamicPricingService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    // Lines are reserved in room type id order, so the suite goes second
+    private final RoomType single = roomType(new UUID(0, 1));
+    private final RoomType suite = roomType(new UUID(0, 2));
+    private final LocalDate checkIn = LocalDate.now().plusDays(10);
+
+    @Test
+    void createCartBooking_SavesNothingWhenALineIsSoldOut() {
+        when(bookingRepository.findByIdempotencyKeyIn(anyList())).thenReturn(List.of());
+        when(roomTypeRepository.findAllById(anySet())).thenReturn(List.of(single, suite));
+        when(availabilityService.reserveRooms(any(), eq(single.getId()), any(), any(), anyInt())).thenReturn(true);
+        when(availabilityService.reserveRooms(any(), eq(suite.getId()), any(), any(), anyInt())).thenReturn(false);
+
+        assertThatThrownBy(() -> bookingService.createCartBooking(cart("cart-1")))
+                .isInstanceOf(RoomNotAvailableException.class)
+                .hasMessageContaining(suite.getId().toString());
+        verify(availabilityService).reserveRooms(any(), eq(single.getId()), any(), any(), anyInt());
+        verify(bookingRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher, dynamicPricingService);
+    }
+
+    @Test
+    void createCartBooking_ReplaysEveryLineOfACommittedCart() {
+        Booking first = booking(single, "cart-1:0", "100.00");
+        Booking second = booking(suite, "cart-1:1", "250.00");
+        // Returned in whatever order the database likes
+        when(bookingRepository.findByIdempotencyKeyIn(List.of("cart-1:0", "cart-1:1")))
+                .thenReturn(List.of(second, first));
+
+        CartBookingResponse response = bookingService.createCartBooking(cart("cart-1"));
+
+        assertThat(response.getBookings()).extracting(BookingResponse::getId).containsExactly(first.getId(), second.getId());
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("350.00");
+        verifyNoInteractions(availabilityService, eventPublisher);
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createCartBooking_RejectsKeyReusedForADifferentCart() {
+        // Only the first line's key exists, left by an earlier one-line cart
+        when(bookingRepository.findByIdempotencyKeyIn(anyList()))
+                .thenReturn(List.of(booking(single, "cart-1:0", "100.00")));
+
+        assertThatThrownBy(() -> bookingService.createCartBooking(cart("cart-1")))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("different cart");
+        verifyNoInteractions(availabilityService, eventPublisher);
+    }
+
+    private CartBookingRequest cart(String idempotencyKey) {
+        return CartBookingRequest.builder()
+                .userId(userId)
+                .idempotencyKey(idempotencyKey)
+                .lines(List.of(line(single), line(suite)))
+                .build();
+    }
+
+    private CartBookingRequest.CartLine line(RoomType roomType) {
+        return CartBookingRequest.CartLine.builder()
+                .propertyId(propertyId)
+                .roomTypeId(roomType.getId())
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .numberOfRooms(1)
+                .numberOfGuests(2)
+                .build();
+    }
+
+    private RoomType roomType(UUID id) {
+        return RoomType.builder()
+                .id(id)
+                .propertyId(propertyId)
+                .name("Room")
+                .maxOccupancy(2)
+                .basePrice(new BigDecimal("100.00"))
+                .totalRooms(10)
+                .build();
+    }
+
+    private Booking booking(RoomType roomType, String idempotencyKey, String totalAmount) {
+        return Booking.builder()
+                .id(UUID.randomUUID())
+                .propertyId(propertyId)
+                .userId(userId)
+                .roomTypeId(roomType.getId())
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .numberOfRooms(1)
+                .numberOfGuests(2)
+                .totalAmount(new BigDecimal(totalAmount))
+                .currency("USD")
+                .status(BookingStatus.CONFIRMED)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.dto.BookingResponse;
+import com.stayhub.booking_service.entity.BookingStatus;
+import com.stayhub.booking_service.exception.RoomNotAvailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyStore store = new IdempotencyStore(
+            new SimpleMeterRegistry(), 2, TimeUnit.SECONDS.toNanos(60), 5000, clock::get);
+    // Bookings as they are now, by id
+    private final Map<UUID, BookingResponse> bookings = new ConcurrentHashMap<>();
+
+    @Test
+    void execute_RepeatReturnsStoredResponse() {
+        AtomicInteger runs = new AtomicInteger();
+
+        BookingResponse first = store.execute("key-1", () -> booking(runs), bookings::get);
+        BookingResponse second = store.execute("key-1", () -> booking(runs), bookings::get);
+
+        assertThat(second).isSameAs(first);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_ConcurrentRetryAttachesToInFlightRequest() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Given a booking that is still running
+        CompletableFuture<BookingResponse> leader = CompletableFuture.supplyAsync(() ->
+                store.execute("key-1", () -> {
+                    started.countDown();
+                    await(release);
+                    return booking(runs);
+                }, bookings::get));
+        started.await();
+
+        // When a retry with the same key arrives
+        CompletableFuture<BookingResponse> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("key-1", () -> booking(runs), bookings::get));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then both get the result of the single execution
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_FailureIsNotStored() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThatThrownBy(() -> store.execute("key-1", () -> {
+            throw new RoomNotAvailableException("Rooms not available for selected dates");
+        }, bookings::get)).isInstanceOf(RoomNotAvailableException.class);
+
+        store.execute("key-1", () -> booking(runs), bookings::get);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_ExpiredAndOverflowingEntriesAreDropped() {
+        AtomicInteger runs = new AtomicInteger();
+        store.execute("key-1", () -> booking(runs), bookings::get);
+
+        // After the TTL the key runs again
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        store.execute("key-1", () -> booking(runs), bookings::get);
+        assertThat(runs).hasValue(2);
+
+        // Beyond the size bound the oldest completed key is evicted first
+        store.execute("key-2", () -> booking(runs), bookings::get);
+        store.execute("key-3", () -> booking(runs), bookings::get);
+        assertThat(store.size()).isEqualTo(2);
+        store.execute("key-1", () -> booking(runs), bookings::get);
+        assertThat(runs).hasValue(5);
+    }
+
+    @Test
+    void execute_RepeatAfterAStatusChangeReturnsTheCurrentBooking() {
+        AtomicInteger runs = new AtomicInteger();
+        BookingResponse created = store.execute("key-1", () -> booking(runs), bookings::get);
+
+        // The booking is cancelled after the first response was sent
+        BookingResponse cancelled = BookingResponse.builder().id(created.getId()).status(BookingStatus.CANCELLED).build();
+        bookings.put(created.getId(), cancelled);
+
+        assertThat(store.execute("key-1", () -> booking(runs), bookings::get).getStatus())
+                .isEqualTo(BookingStatus.CANCELLED);
+        assertThat(runs).hasValue(1);
+    }
+
+    private BookingResponse booking(AtomicInteger runs) {
+        runs.incrementAndGet();
+        BookingResponse response = BookingResponse.builder().id(UUID.randomUUID()).status(BookingStatus.CONFIRMED).build();
+        bookings.put(response.getId(), response);
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
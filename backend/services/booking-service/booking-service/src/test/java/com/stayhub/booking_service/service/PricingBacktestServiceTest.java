@@ -0,0 +1,118 @@
+package com.stayhub.booking_service.service;
+
+import com.stayhub.booking_service.config.Bulkhead;
+import com.stayhub.booking_service.dto.BacktestJobResponse;
+import com.stayhub.booking_service.dto.BacktestRequest;
+import com.stayhub.booking_service.exception.BulkheadFullException;
+import com.stayhub.booking_service.exception.ResourceNotFoundException;
+import com.stayhub.booking_service.exception.ValidationException;
+import com.stayhub.booking_service.pricing.HolidayCalendar;
+import com.stayhub.booking_service.pricing.HolidayFiles;
+import com.stayhub.booking_service.pricing.PricingRules;
+import com.stayhub.booking_service.repository.AvailabilityRepository;
+import com.stayhub.booking_service.repository.BookingRepository;
+import com.stayhub.booking_service.repository.RoomTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PricingBacktestServiceTest {
+    
+    private final RoomTypeRepository roomTypeRepository = mock(RoomTypeRepository.class);
+    private final HolidayFiles holidayFiles = mock(HolidayFiles.class);
+    private final Bulkhead bulkhead = new Bulkhead("backtest", 1, 1, new SimpleMeterRegistry());
+    private final PricingBacktestService service = new PricingBacktestService(
+            mock(BookingRepository.class), roomTypeRepository, mock(AvailabilityRepository.class),
+            mock(PricingRules.class), holidayFiles, bulkhead, 20, 1, 100, 5000, 2, 3660);
+    
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    PricingBacktestServiceTest() {
+        when(holidayFiles.current()).thenReturn(HolidayCalendar.DEFAULT);
+        when(roomTypeRepository.findAllPropertyIds()).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkhead.shutdown();
+        service.stop();
+    }
+    
+    @Test
+    void start_ReturnsAJobThatCanBePolledUntilItCompletes() throws Exception {
+        BacktestJobResponse started = service.start(request());
+        
+        assertThat(started.getStatus()).isEqualTo(BacktestJobResponse.Status.RUNNING);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.getJob(started.getId()).getStatus()).isEqualTo(BacktestJobResponse.Status.RUNNING);
+        
+        release.countDown();
+        BacktestJobResponse done = awaitDone(started.getId());
+        assertThat(done.getStatus()).isEqualTo(BacktestJobResponse.Status.COMPLETED);
+        assertThat(done.getResult().getStrategies()).containsExactly("current", "summer");
+    }
+    
+    @Test
+    void start_RejectsRunsBeyondTheBulkhead() throws Exception {
+        // Given one backtest running and one queued
+        service.start(request());
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        service.start(request());
+        
+        assertThatThrownBy(() -> service.start(request())).isInstanceOf(BulkheadFullException.class);
+    }
+    
+    @Test
+    void start_ValidatesBeforeStartingAJob() {
+        BacktestRequest request = request();
+        request.setTo(request.getFrom());
+        
+        assertThatThrownBy(() -> service.start(request)).isInstanceOf(ValidationException.class);
+        verify(roomTypeRepository, never()).findAllPropertyIds();
+    }
+    
+    @Test
+    void getJob_UnknownIdIsNotFound() {
+        assertThatThrownBy(() -> service.getJob(UUID.randomUUID())).isInstanceOf(ResourceNotFoundException.class);
+    }
+    
+    private BacktestJobResponse awaitDone(UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BacktestJobResponse job = service.getJob(id);
+        while (job.getStatus() == BacktestJobResponse.Status.RUNNING) {
+            assertThat(System.nanoTime()).as("backtest %s finished", id).isLessThan(deadline);
+            Thread.sleep(10);
+            job = service.getJob(id);
+        }
+        return job;
+    }
+    
+    private static BacktestRequest request() {
+        return BacktestRequest.builder()
+                .from(LocalDate.of(2025, 3, 1))
+                .to(LocalDate.of(2025, 4, 1))
+                .strategies(List.of(BacktestRequest.Strategy.builder()
+                        .name("summer")
+                        .weekend(new BigDecimal("1.20"))
+                        .build()))
+                .elasticity(BigDecimal.ONE)
+                .maxUplift(BigDecimal.ONE)
+                .build();
+    }
+}
@@ -5,7 +5,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -15,4 +18,9 @@ public class SeasonalPricingRequest {
     private LocalDate endDate;
     private BigDecimal priceMultiplier;
     private String seasonName;
+    // Optional: one room type instead of the whole property, some weekdays only, and precedence
+    // over overlapping seasons
+    private UUID roomTypeId;
+    private Set<DayOfWeek> daysOfWeek;
+    private Integer priority;
 }
\ No newline at end of file
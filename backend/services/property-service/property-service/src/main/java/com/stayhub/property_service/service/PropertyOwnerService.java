@@ -265,9 +265,25 @@ public class PropertyOwnerService {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new RuntimeException("Property not found"));
         
-        // In a real system, we'd store this in a seasonal_pricing table
-        log.info("Setting seasonal pricing for property: {} from {} to {} with multiplier: {}", 
-                propertyId, request.getStartDate(), request.getEndDate(), request.getPriceMultiplier());
+        // Pricing rules are stored and applied by the booking service
+        String url = bookingServiceUrl + "/api/v1/properties/" + propertyId + "/pricing-rules";
+        Map<String, Object> rule = new HashMap<>();
+        rule.put("name", request.getSeasonName());
+        rule.put("roomTypeId", request.getRoomTypeId());
+        rule.put("startDate", request.getStartDate());
+        rule.put("endDate", request.getEndDate());
+        rule.put("daysOfWeek", request.getDaysOfWeek());
+        rule.put("multiplier", request.getPriceMultiplier());
+        rule.put("priority", request.getPriority() != null ? request.getPriority() : 0);
+        
+        try {
+            restTemplate.postForObject(url, rule, String.class);
+            log.info("Set seasonal pricing for property: {} from {} to {} with multiplier: {}", 
+                    propertyId, request.getStartDate(), request.getEndDate(), request.getPriceMultiplier());
+        } catch (Exception e) {
+            log.error("Failed to set seasonal pricing", e);
+            throw new RuntimeException("Failed to set seasonal pricing");
+        }
     }
     
     /**